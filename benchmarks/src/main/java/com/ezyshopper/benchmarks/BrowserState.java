@@ -0,0 +1,44 @@
+package com.ezyshopper.benchmarks;
+
+import com.ezyshopper.utils.SeleniumUtils;
+import com.ezyshopper.utils.TestConfig;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+
+/**
+ * One browser and one static site server per benchmark trial.
+ * The implicit wait is switched off so a benchmark measures a single lookup,
+ * not the 10 s implicit wait of a failing one.
+ */
+@State(Scope.Benchmark)
+public class BrowserState {
+
+    public StaticSiteServer site;
+    public WebDriver driver;
+
+    @Setup
+    public void startBrowser() {
+        site = new StaticSiteServer();
+        driver = SeleniumUtils.initializeDriver(TestConfig.BROWSER);
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+    }
+
+    public void open(String path) {
+        driver.get(site.getBaseUrl() + path);
+    }
+
+    @TearDown
+    public void stopBrowser() {
+        if (driver != null) {
+            driver.quit();
+        }
+        if (site != null) {
+            site.close();
+        }
+    }
+}
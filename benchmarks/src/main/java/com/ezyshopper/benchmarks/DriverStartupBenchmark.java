@@ -0,0 +1,31 @@
+package com.ezyshopper.benchmarks;
+
+import com.ezyshopper.utils.SeleniumUtils;
+import com.ezyshopper.utils.TestConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start-up and shutdown of a browser session through SeleniumUtils.initializeDriver
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DriverStartupBenchmark {
+
+    @Benchmark
+    public void startAndQuit() {
+        WebDriver driver = SeleniumUtils.initializeDriver(TestConfig.BROWSER);
+        driver.quit();
+    }
+}
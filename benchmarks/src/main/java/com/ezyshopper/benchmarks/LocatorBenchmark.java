@@ -0,0 +1,72 @@
+package com.ezyshopper.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the XPath contains(@class, ...) locators used by CategoryPage against
+ * equivalent CSS selectors, evaluated on the static category page
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocatorBenchmark {
+
+    @Param({"productCards", "productNames", "productPrices", "addToCartButtons"})
+    public String target;
+
+    private By xpath;
+    private By css;
+
+    @Setup(Level.Trial)
+    public void openCategoryPage(BrowserState browser) {
+        switch (target) {
+            case "productCards":
+                xpath = By.xpath("//div[contains(@class, 'flex w-full relative flex-col')]");
+                css = By.cssSelector("div.flex.w-full.relative.flex-col");
+                break;
+            case "productNames":
+                xpath = By.xpath("//h5[contains(@class, 'text-xl font-semibold')]");
+                css = By.cssSelector("h5.text-xl.font-semibold");
+                break;
+            case "productPrices":
+                xpath = By.xpath("//span[contains(@class, 'text-3xl font-bold text-emerald-400')]");
+                css = By.cssSelector("span.text-3xl.font-bold.text-emerald-400");
+                break;
+            default:
+                xpath = By.xpath("//button[contains(., 'Add to cart')]");
+                // No CSS equivalent for text matching; compare against the structural selector
+                css = By.cssSelector("div.flex.w-full.relative.flex-col button");
+                break;
+        }
+        browser.open("/category/jeans");
+    }
+
+    @Benchmark
+    public List<WebElement> xpathLocator(BrowserState browser) {
+        return browser.driver.findElements(xpath);
+    }
+
+    @Benchmark
+    public List<WebElement> cssLocator(BrowserState browser) {
+        return browser.driver.findElements(css);
+    }
+}
@@ -0,0 +1,66 @@
+package com.ezyshopper.benchmarks;
+
+import com.ezyshopper.utils.ElementPresence;
+import com.ezyshopper.utils.SeleniumUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of the SeleniumUtils actions used by every page object,
+ * measured on the static login page
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeleniumUtilsBenchmark {
+
+    private static final By EMAIL_INPUT = By.id("email");
+    private static final By LOGIN_BUTTON = By.xpath("//button[@type='submit']");
+    private static final By LOGOUT_BUTTON = By.xpath("//button[contains(., 'Log Out')]");
+
+    @Setup(Level.Trial)
+    public void openLoginPage(BrowserState browser) {
+        browser.open("/login");
+    }
+
+    @Benchmark
+    public void safeClick(BrowserState browser) {
+        SeleniumUtils.safeClick(browser.driver, LOGIN_BUTTON);
+    }
+
+    @Benchmark
+    public void safeSendKeys(BrowserState browser) {
+        SeleniumUtils.safeSendKeys(browser.driver, EMAIL_INPUT, "bench@test.com");
+    }
+
+    @Benchmark
+    public boolean isElementPresentHit(BrowserState browser) {
+        return SeleniumUtils.isElementPresent(browser.driver, EMAIL_INPUT);
+    }
+
+    @Benchmark
+    public boolean isElementPresentMiss(BrowserState browser) {
+        return SeleniumUtils.isElementPresent(browser.driver, LOGOUT_BUTTON);
+    }
+
+    @Benchmark
+    public boolean fastPresenceMiss(BrowserState browser) {
+        return ElementPresence.isPresent(browser.driver, LOGOUT_BUTTON, Duration.ZERO);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ezyshopper.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Embedded HTTP server for the static copy of the EzyShopper pages under /site,
+ * so benchmarks measure the framework rather than the network or the live app
+ */
+public class StaticSiteServer implements AutoCloseable {
+
+    private static final Map<String, String> ROUTES = new LinkedHashMap<>();
+
+    static {
+        ROUTES.put("/category/", "category.html");
+        ROUTES.put("/login", "login.html");
+        ROUTES.put("/cart", "cart.html");
+        ROUTES.put("/", "home.html");
+    }
+
+    private final HttpServer server;
+
+    public StaticSiteServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start static site server", e);
+        }
+        server.createContext("/", this::serve);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String page = null;
+        for (Map.Entry<String, String> route : ROUTES.entrySet()) {
+            if (path.startsWith(route.getKey())) {
+                page = route.getValue();
+                break;
+            }
+        }
+
+        byte[] body;
+        try (InputStream in = page == null ? null : getClass().getResourceAsStream("/site/" + page)) {
+            if (in == null) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            body = in.readAllBytes();
+        }
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ezyshopper.benchmarks;
+
+import com.ezyshopper.utils.SeleniumUtils;
+import com.ezyshopper.utils.TestConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the explicit waits: an already-satisfied wait measures the fixed cost,
+ * and a delayed element measures how much the 500 ms polling interval adds on top of the delay
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaitPollingBenchmark {
+
+    private static final By PAGE_TITLE = By.xpath("//h2[contains(text(), 'Login to your account')]");
+    private static final By DELAYED = By.id("delayed");
+
+    private static final String ADD_DELAYED_ELEMENT =
+            "var old = document.getElementById('delayed'); if (old) { old.remove(); }"
+            + "setTimeout(function() {"
+            + "  var el = document.createElement('div'); el.id = 'delayed'; el.textContent = 'ready';"
+            + "  document.body.appendChild(el);"
+            + "}, 50);";
+
+    @Setup(Level.Trial)
+    public void openLoginPage(BrowserState browser) {
+        browser.open("/login");
+    }
+
+    @Benchmark
+    public WebElement satisfiedVisibilityWait(BrowserState browser) {
+        return SeleniumUtils.waitForElementToBeVisible(browser.driver, PAGE_TITLE, TestConfig.EXPLICIT_WAIT);
+    }
+
+    @Benchmark
+    public WebElement elementAppearingAfter50ms(BrowserState browser) {
+        ((JavascriptExecutor) browser.driver).executeScript(ADD_DELAYED_ELEMENT);
+        return SeleniumUtils.waitForElementToBePresent(browser.driver, DELAYED, TestConfig.EXPLICIT_WAIT);
+    }
+
+    @Benchmark
+    public void pageLoadWait(BrowserState browser) {
+        SeleniumUtils.waitForPageLoad(browser.driver);
+    }
+}
@@ -2,120 +2,207 @@ package com.ezyshopper.pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import com.ezyshopper.utils.ActionTimer;
+import com.ezyshopper.utils.DomBatch;
+import com.ezyshopper.utils.DriverManager;
+import com.ezyshopper.utils.ElementPresence;
+import com.ezyshopper.utils.Locators;
+import com.ezyshopper.utils.PageMetrics;
 import com.ezyshopper.utils.SeleniumUtils;
+import com.ezyshopper.utils.TestImpact;
 
 /**
  * Page Object Model for Admin Dashboard Page
  */
 public class AdminPage {
     
+    private static final String PAGE = "AdminPage";
+    
     private WebDriver driver;
     
     // Locators
-    private By pageTitle = By.xpath("//h1[contains(text(), 'Admin Dashboard')]");
-    private By createProductTab = By.xpath("//button[contains(., 'Create Product')]");
-    private By productsTab = By.xpath("//button[contains(., 'Products')]");
-    private By analyticsTab = By.xpath("//button[contains(., 'Analytics')]");
+    private static final By pageTitle = Locators.xpath("//h1[contains(text(), 'Admin Dashboard')]");
+    private static final By createProductTab = Locators.xpath("//button[contains(., 'Create Product')]");
+    private static final By productsTab = Locators.xpath("//button[contains(., 'Products')]");
+    private static final By analyticsTab = Locators.xpath("//button[contains(., 'Analytics')]");
     
     // Create Product Form Locators
-    private By productNameInput = By.id("name");
-    private By productDescriptionInput = By.id("description");
-    private By productPriceInput = By.id("price");
-    private By productCategorySelect = By.id("category");
-    private By productImageInput = By.id("image");
-    private By createProductButton = By.xpath("//button[contains(., 'Create Product')][@type='submit']");
+    private static final By productNameInput = Locators.id("name");
+    private static final By productDescriptionInput = Locators.id("description");
+    private static final By productPriceInput = Locators.id("price");
+    private static final By productCategorySelect = Locators.id("category");
+    private static final By productImageInput = Locators.id("image");
+    private static final Locators.Template categoryOption = Locators.cssTemplate("option[value='%s']");
+    private static final By createProductButton = Locators.xpath("//button[contains(., 'Create Product')][@type='submit']");
     
     // Products List Locators
-    private By productsList = By.xpath("//div[contains(@class, 'product-list')]");
-    private By deleteProductButtons = By.xpath("//button[contains(., 'Delete')]");
-    private By toggleFeaturedButtons = By.xpath("//button[contains(., 'Featured')]");
+    private static final By productsList = Locators.xpath("//div[contains(@class, 'product-list')]");
+    private static final By deleteProductButtons = Locators.xpath("//button[contains(., 'Delete')]");
+    private static final By toggleFeaturedButtons = Locators.xpath("//button[contains(., 'Featured')]");
     
     // Analytics Locators
-    private By totalSalesCard = By.xpath("//div[contains(text(), 'Total Sales')]");
-    private By totalUsersCard = By.xpath("//div[contains(text(), 'Total Users')]");
-    private By totalProductsCard = By.xpath("//div[contains(text(), 'Total Products')]");
-    private By totalOrdersCard = By.xpath("//div[contains(text(), 'Total Orders')]");
+    private static final By totalSalesCard = Locators.xpath("//div[contains(text(), 'Total Sales')]");
+    private static final By totalUsersCard = Locators.xpath("//div[contains(text(), 'Total Users')]");
+    private static final By totalProductsCard = Locators.xpath("//div[contains(text(), 'Total Products')]");
+    private static final By totalOrdersCard = Locators.xpath("//div[contains(text(), 'Total Orders')]");
     
     // Constructor
     public AdminPage(WebDriver driver) {
         this.driver = driver;
+        TestImpact.usePage(PAGE);
+    }
+    
+    public AdminPage() {
+        this(DriverManager.getDriver());
     }
     
     // Actions
     public boolean isAdminPageLoaded() {
-        return SeleniumUtils.isElementPresent(driver, pageTitle);
+        return ActionTimer.call(PAGE, "isAdminPageLoaded", () ->
+                PageMetrics.recordLoad(driver, PAGE, ElementPresence.awaitPresent(driver, pageTitle)));
     }
     
     public void clickCreateProductTab() {
-        SeleniumUtils.safeClick(driver, createProductTab);
+        ActionTimer.run(PAGE, "clickCreateProductTab", () -> SeleniumUtils.safeClick(driver, createProductTab));
     }
     
     public void clickProductsTab() {
-        SeleniumUtils.safeClick(driver, productsTab);
+        ActionTimer.run(PAGE, "clickProductsTab", () -> SeleniumUtils.safeClick(driver, productsTab));
     }
     
     public void clickAnalyticsTab() {
-        SeleniumUtils.safeClick(driver, analyticsTab);
+        ActionTimer.run(PAGE, "clickAnalyticsTab", () -> SeleniumUtils.safeClick(driver, analyticsTab));
     }
     
     // Create Product Actions
     public void enterProductName(String name) {
-        SeleniumUtils.safeSendKeys(driver, productNameInput, name);
+        ActionTimer.run(PAGE, "enterProductName", () -> SeleniumUtils.safeSendKeys(driver, productNameInput, name));
     }
     
     public void enterProductDescription(String description) {
-        SeleniumUtils.safeSendKeys(driver, productDescriptionInput, description);
+        ActionTimer.run(PAGE, "enterProductDescription", () ->
+                SeleniumUtils.safeSendKeys(driver, productDescriptionInput, description));
     }
     
     public void enterProductPrice(String price) {
-        SeleniumUtils.safeSendKeys(driver, productPriceInput, price);
+        ActionTimer.run(PAGE, "enterProductPrice", () -> SeleniumUtils.safeSendKeys(driver, productPriceInput, price));
     }
     
     public void selectProductCategory(String category) {
-        SeleniumUtils.safeClick(driver, productCategorySelect);
-        By categoryOption = By.xpath("//option[@value='" + category + "']");
-        SeleniumUtils.safeClick(driver, categoryOption);
+        ActionTimer.run(PAGE, "selectProductCategory", () -> {
+            SeleniumUtils.safeClick(driver, productCategorySelect);
+            SeleniumUtils.safeClick(driver, categoryOption.with(category));
+        });
     }
     
     public void uploadProductImage(String imagePath) {
-        driver.findElement(productImageInput).sendKeys(imagePath);
+        ActionTimer.run(PAGE, "uploadProductImage", () -> driver.findElement(productImageInput).sendKeys(imagePath));
     }
     
     public void clickCreateProductButton() {
-        SeleniumUtils.safeClick(driver, createProductButton);
+        ActionTimer.run(PAGE, "clickCreateProductButton", () -> SeleniumUtils.safeClick(driver, createProductButton));
     }
     
     public void createProduct(String name, String description, String price, String category) {
-        enterProductName(name);
-        enterProductDescription(description);
-        enterProductPrice(price);
-        selectProductCategory(category);
-        clickCreateProductButton();
+        ActionTimer.run(PAGE, "createProduct", () -> {
+            enterProductName(name);
+            enterProductDescription(description);
+            enterProductPrice(price);
+            selectProductCategory(category);
+            clickCreateProductButton();
+        });
     }
     
     // Products List Actions
     public boolean isProductsListDisplayed() {
-        return SeleniumUtils.isElementPresent(driver, productsList);
+        return ActionTimer.call(PAGE, "isProductsListDisplayed", () -> ElementPresence.awaitPresent(driver, productsList));
     }
     
     public void clickDeleteFirstProduct() {
-        SeleniumUtils.safeClick(driver, deleteProductButtons);
+        ActionTimer.run(PAGE, "clickDeleteFirstProduct", () -> SeleniumUtils.safeClick(driver, deleteProductButtons));
     }
     
     // Analytics Actions
     public boolean isTotalSalesCardDisplayed() {
-        return SeleniumUtils.isElementPresent(driver, totalSalesCard);
+        return ActionTimer.call(PAGE, "isTotalSalesCardDisplayed", () ->
+                ElementPresence.awaitPresent(driver, totalSalesCard));
     }
     
     public boolean isTotalUsersCardDisplayed() {
-        return SeleniumUtils.isElementPresent(driver, totalUsersCard);
+        return ActionTimer.call(PAGE, "isTotalUsersCardDisplayed", () ->
+                ElementPresence.awaitPresent(driver, totalUsersCard));
     }
     
     public boolean isTotalProductsCardDisplayed() {
-        return SeleniumUtils.isElementPresent(driver, totalProductsCard);
+        return ActionTimer.call(PAGE, "isTotalProductsCardDisplayed", () ->
+                ElementPresence.awaitPresent(driver, totalProductsCard));
     }
     
     public boolean isTotalOrdersCardDisplayed() {
-        return SeleniumUtils.isElementPresent(driver, totalOrdersCard);
+        return ActionTimer.call(PAGE, "isTotalOrdersCardDisplayed", () ->
+                ElementPresence.awaitPresent(driver, totalOrdersCard));
+    }
+    
+    // Snapshot - reads the dashboard title, product list and analytics cards in one round trip
+    public Snapshot snapshot() {
+        return ActionTimer.call(PAGE, "snapshot", () -> {
+            DomBatch.Result result = DomBatch.query(driver)
+                    .first("title", pageTitle)
+                    .first("productsList", productsList)
+                    .first("totalSales", totalSalesCard)
+                    .first("totalUsers", totalUsersCard)
+                    .first("totalProducts", totalProductsCard)
+                    .first("totalOrders", totalOrdersCard)
+                    .execute();
+            return new Snapshot(result);
+        });
+    }
+    
+    public static class Snapshot {
+        private final DomBatch.Result result;
+        
+        Snapshot(DomBatch.Result result) {
+            this.result = result;
+        }
+        
+        public boolean isLoaded() {
+            return result.isPresent("title");
+        }
+        
+        public boolean isProductsListDisplayed() {
+            return result.isPresent("productsList");
+        }
+        
+        public boolean isTotalSalesCardDisplayed() {
+            return result.isPresent("totalSales");
+        }
+        
+        public boolean isTotalUsersCardDisplayed() {
+            return result.isPresent("totalUsers");
+        }
+        
+        public boolean isTotalProductsCardDisplayed() {
+            return result.isPresent("totalProducts");
+        }
+        
+        public boolean isTotalOrdersCardDisplayed() {
+            return result.isPresent("totalOrders");
+        }
+        
+        public String getTotalSalesText() {
+            return result.text("totalSales");
+        }
+        
+        public String getTotalUsersText() {
+            return result.text("totalUsers");
+        }
+        
+        public String getTotalProductsText() {
+            return result.text("totalProducts");
+        }
+        
+        public String getTotalOrdersText() {
+            return result.text("totalOrders");
+        }
     }
 }
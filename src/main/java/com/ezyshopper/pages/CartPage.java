@@ -3,7 +3,13 @@ package com.ezyshopper.pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import com.ezyshopper.utils.SeleniumUtils;
+import com.ezyshopper.utils.ActionTimer;
+import com.ezyshopper.utils.DomBatch;
+import com.ezyshopper.utils.DriverManager;
+import com.ezyshopper.utils.Locators;
+import com.ezyshopper.utils.PageBackend;
+import com.ezyshopper.utils.PageMetrics;
+import com.ezyshopper.utils.TestImpact;
 
 import java.util.List;
 
@@ -12,75 +18,147 @@ import java.util.List;
  */
 public class CartPage {
     
-    private WebDriver driver;
+    private static final String PAGE = "CartPage";
+    
+    private final PageBackend backend;
+    private final WebDriver driver;
     
     // Locators
-    private By emptyCartMessage = By.xpath("//div[contains(text(), 'cart is empty')]");
-    private By cartItems = By.xpath("//div[contains(@class, 'space-y-6')]/div");
-    private By removeButtons = By.xpath("//button[contains(., 'Remove')]");
-    private By quantityInputs = By.xpath("//input[@type='number']");
-    private By subtotalAmount = By.xpath("//span[contains(text(), 'Subtotal')]");
-    private By totalAmount = By.xpath("//span[contains(text(), 'Total')]");
-    private By checkoutButton = By.xpath("//button[contains(., 'Proceed to Checkout')]");
-    private By couponInput = By.xpath("//input[@placeholder='Enter coupon code']");
-    private By applyCouponButton = By.xpath("//button[contains(., 'Apply Coupon')]");
+    private static final By emptyCartMessage = Locators.xpath("//div[contains(text(), 'cart is empty')]");
+    private static final By cartItems = Locators.xpath("//div[contains(@class, 'space-y-6')]/div");
+    private static final By removeButtons = Locators.xpath("//button[contains(., 'Remove')]");
+    private static final By quantityInputs = Locators.xpath("//input[@type='number']");
+    private static final By subtotalAmount = Locators.xpath("//span[contains(text(), 'Subtotal')]");
+    private static final By totalAmount = Locators.xpath("//span[contains(text(), 'Total')]");
+    private static final By checkoutButton = Locators.xpath("//button[contains(., 'Proceed to Checkout')]");
+    private static final By couponInput = Locators.xpath("//input[@placeholder='Enter coupon code']");
+    private static final By applyCouponButton = Locators.xpath("//button[contains(., 'Apply Coupon')]");
     
     // Constructor
     public CartPage(WebDriver driver) {
-        this.driver = driver;
+        this(PageBackend.selenium(driver));
+    }
+    
+    public CartPage(PageBackend backend) {
+        this.backend = backend;
+        this.driver = backend.getDriver();
+        TestImpact.usePage(PAGE);
+    }
+    
+    public CartPage() {
+        this(DriverManager.getDriver());
     }
     
     // Actions
     public boolean isCartPageLoaded() {
-        return driver.getCurrentUrl().contains("/cart");
+        return ActionTimer.call(PAGE, "isCartPageLoaded", () ->
+                PageMetrics.recordLoad(driver, PAGE, backend.isAt(PAGE, "/cart")));
     }
     
     public boolean isCartEmpty() {
-        return SeleniumUtils.isElementPresent(driver, emptyCartMessage);
+        return ActionTimer.call(PAGE, "isCartEmpty", () -> backend.isPresent(PAGE, "emptyCart", emptyCartMessage));
     }
     
     public int getCartItemCount() {
-        List<WebElement> items = driver.findElements(cartItems);
-        return items.size();
+        return ActionTimer.call(PAGE, "getCartItemCount", () -> backend.awaitCount(PAGE, "items", cartItems));
     }
     
     public void clickRemoveFirstItem() {
-        List<WebElement> buttons = driver.findElements(removeButtons);
-        if (!buttons.isEmpty()) {
-            buttons.get(0).click();
-        }
+        ActionTimer.run(PAGE, "clickRemoveFirstItem", () -> {
+            List<WebElement> buttons = backend.requireDriver(PAGE, "clickRemoveFirstItem").findElements(removeButtons);
+            if (!buttons.isEmpty()) {
+                buttons.get(0).click();
+            }
+        });
     }
     
     public void updateQuantityForFirstItem(String quantity) {
-        List<WebElement> inputs = driver.findElements(quantityInputs);
-        if (!inputs.isEmpty()) {
-            inputs.get(0).clear();
-            inputs.get(0).sendKeys(quantity);
-        }
+        ActionTimer.run(PAGE, "updateQuantityForFirstItem", () -> {
+            List<WebElement> inputs = backend.requireDriver(PAGE, "updateQuantityForFirstItem").findElements(quantityInputs);
+            if (!inputs.isEmpty()) {
+                inputs.get(0).clear();
+                inputs.get(0).sendKeys(quantity);
+            }
+        });
     }
     
     public String getSubtotal() {
-        return SeleniumUtils.getTextSafely(driver, subtotalAmount);
+        return ActionTimer.call(PAGE, "getSubtotal", () -> backend.text(PAGE, "subtotal", subtotalAmount));
     }
     
     public String getTotal() {
-        return SeleniumUtils.getTextSafely(driver, totalAmount);
+        return ActionTimer.call(PAGE, "getTotal", () -> backend.text(PAGE, "total", totalAmount));
     }
     
     public void clickCheckout() {
-        SeleniumUtils.safeClick(driver, checkoutButton);
+        ActionTimer.run(PAGE, "clickCheckout", () -> backend.click(PAGE, "checkout", checkoutButton));
     }
     
     public void enterCouponCode(String couponCode) {
-        SeleniumUtils.safeSendKeys(driver, couponInput, couponCode);
+        ActionTimer.run(PAGE, "enterCouponCode", () -> backend.type(PAGE, "coupon", couponInput, couponCode));
     }
     
     public void clickApplyCoupon() {
-        SeleniumUtils.safeClick(driver, applyCouponButton);
+        ActionTimer.run(PAGE, "clickApplyCoupon", () -> backend.click(PAGE, "applyCoupon", applyCouponButton));
     }
     
     public void applyCoupon(String couponCode) {
-        enterCouponCode(couponCode);
-        clickApplyCoupon();
+        ActionTimer.run(PAGE, "applyCoupon", () -> {
+            enterCouponCode(couponCode);
+            clickApplyCoupon();
+        });
+    }
+    
+    // Snapshot - reads cart items and totals in one round trip
+    public Snapshot snapshot() {
+        return ActionTimer.call(PAGE, "snapshot", () -> {
+            DomBatch.Result result = DomBatch.query(backend.requireDriver(PAGE, "snapshot"))
+                    .first("empty", emptyCartMessage)
+                    .all("items", cartItems)
+                    .first("subtotal", subtotalAmount)
+                    .first("total", totalAmount)
+                    .first("checkout", checkoutButton)
+                    .execute();
+            // Not isCartPageLoaded: reading a snapshot must not record another page-load sample
+            return new Snapshot(backend.isAt(PAGE, "/cart"), result);
+        });
+    }
+    
+    public static class Snapshot {
+        private final boolean loaded;
+        private final DomBatch.Result result;
+        
+        Snapshot(boolean loaded, DomBatch.Result result) {
+            this.loaded = loaded;
+            this.result = result;
+        }
+        
+        public boolean isLoaded() {
+            return loaded;
+        }
+        
+        public boolean isEmpty() {
+            return result.isPresent("empty");
+        }
+        
+        public int getItemCount() {
+            return result.count("items");
+        }
+        
+        public List<String> getItemTexts() {
+            return result.texts("items");
+        }
+        
+        public String getSubtotal() {
+            return result.text("subtotal");
+        }
+        
+        public String getTotal() {
+            return result.text("total");
+        }
+        
+        public boolean isCheckoutButtonVisible() {
+            return result.isVisible("checkout");
+        }
     }
 }
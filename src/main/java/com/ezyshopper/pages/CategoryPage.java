@@ -3,75 +3,190 @@ package com.ezyshopper.pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import com.ezyshopper.utils.ActionTimer;
+import com.ezyshopper.utils.DomBatch;
+import com.ezyshopper.utils.DriverManager;
+import com.ezyshopper.utils.ElementCache;
+import com.ezyshopper.utils.ElementPresence;
+import com.ezyshopper.utils.Locators;
+import com.ezyshopper.utils.PageMetrics;
 import com.ezyshopper.utils.SeleniumUtils;
+import com.ezyshopper.utils.TestImpact;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object Model for Category Page
  */
 public class CategoryPage {
     
+    private static final String PAGE = "CategoryPage";
+    
     private WebDriver driver;
     
     // Locators
-    private By pageTitle = By.xpath("//h1[contains(@class, 'text-emerald-400')]");
-    private By productCards = By.xpath("//div[contains(@class, 'flex w-full relative flex-col')]");
-    private By noProductsMessage = By.xpath("//h2[contains(text(), 'No products found')]");
-    private By addToCartButtons = By.xpath("//button[contains(., 'Add to cart')]");
-    private By productNames = By.xpath("//h5[contains(@class, 'text-xl font-semibold')]");
-    private By productPrices = By.xpath("//span[contains(@class, 'text-3xl font-bold text-emerald-400')]");
+    private static final By pageTitle = Locators.xpath("//h1[contains(@class, 'text-emerald-400')]");
+    private static final By productCards = Locators.xpath("//div[contains(@class, 'flex w-full relative flex-col')]");
+    private static final By noProductsMessage = Locators.xpath("//h2[contains(text(), 'No products found')]");
+    private static final By addToCartButtons = Locators.xpath("//button[contains(., 'Add to cart')]");
+    private static final By productNames = Locators.xpath("//h5[contains(@class, 'text-xl font-semibold')]");
+    private static final By productPrices = Locators.xpath("//span[contains(@class, 'text-3xl font-bold text-emerald-400')]");
     
     // Constructor
     public CategoryPage(WebDriver driver) {
         this.driver = driver;
+        TestImpact.usePage(PAGE);
+    }
+    
+    public CategoryPage() {
+        this(DriverManager.getDriver());
     }
     
     // Actions
     public boolean isCategoryPageLoaded() {
-        return SeleniumUtils.isElementPresent(driver, pageTitle);
+        return ActionTimer.call(PAGE, "isCategoryPageLoaded", () ->
+                PageMetrics.recordLoad(driver, PAGE, ElementPresence.awaitPresent(driver, pageTitle)));
     }
     
     public String getCategoryTitle() {
-        return SeleniumUtils.getTextSafely(driver, pageTitle);
+        return ActionTimer.call(PAGE, "getCategoryTitle", () -> SeleniumUtils.getTextSafely(driver, pageTitle));
     }
     
     public int getProductCount() {
-        List<WebElement> products = driver.findElements(productCards);
-        return products.size();
+        return ActionTimer.call(PAGE, "getProductCount", () -> {
+            List<WebElement> products = ElementCache.awaitAll(driver, productCards);
+            return products.size();
+        });
     }
     
     public boolean isNoProductsMessageDisplayed() {
-        return SeleniumUtils.isElementPresent(driver, noProductsMessage);
+        return ActionTimer.call(PAGE, "isNoProductsMessageDisplayed", () ->
+                ElementPresence.isPresent(driver, noProductsMessage));
     }
     
     public void clickAddToCartForFirstProduct() {
-        List<WebElement> buttons = driver.findElements(addToCartButtons);
-        if (!buttons.isEmpty()) {
-            buttons.get(0).click();
-        }
+        ActionTimer.run(PAGE, "clickAddToCartForFirstProduct", () -> {
+            List<WebElement> buttons = driver.findElements(addToCartButtons);
+            if (!buttons.isEmpty()) {
+                buttons.get(0).click();
+            }
+        });
     }
     
     public void clickAddToCartForProduct(int index) {
-        List<WebElement> buttons = driver.findElements(addToCartButtons);
-        if (index < buttons.size()) {
-            buttons.get(index).click();
-        }
+        ActionTimer.run(PAGE, "clickAddToCartForProduct", () -> {
+            List<WebElement> buttons = driver.findElements(addToCartButtons);
+            if (index < buttons.size()) {
+                buttons.get(index).click();
+            }
+        });
     }
     
     public String getFirstProductName() {
-        List<WebElement> names = driver.findElements(productNames);
-        if (!names.isEmpty()) {
-            return names.get(0).getText();
-        }
-        return "";
+        return ActionTimer.call(PAGE, "getFirstProductName", () -> {
+            List<WebElement> names = ElementCache.awaitAll(driver, productNames);
+            if (!names.isEmpty()) {
+                return names.get(0).getText();
+            }
+            return "";
+        });
     }
     
     public String getFirstProductPrice() {
-        List<WebElement> prices = driver.findElements(productPrices);
-        if (!prices.isEmpty()) {
-            return prices.get(0).getText();
+        return ActionTimer.call(PAGE, "getFirstProductPrice", () -> {
+            List<WebElement> prices = ElementCache.awaitAll(driver, productPrices);
+            if (!prices.isEmpty()) {
+                return prices.get(0).getText();
+            }
+            return "";
+        });
+    }
+    
+    // Snapshot - reads title and each product card's name and price in one round trip
+    public Snapshot snapshot() {
+        return ActionTimer.call(PAGE, "snapshot", () -> {
+            Map<String, By> fields = new LinkedHashMap<>();
+            fields.put("name", productNames);
+            fields.put("price", productPrices);
+            DomBatch.Result result = DomBatch.query(driver)
+                    .first("title", pageTitle)
+                    .first("noProducts", noProductsMessage)
+                    .records("cards", productCards, fields)
+                    .execute();
+        
+            List<Product> products = new ArrayList<>();
+            for (DomBatch.ElementSnapshot card : result.get("cards")) {
+                products.add(new Product(card.getField("name"), card.getField("price")));
+            }
+            return new Snapshot(result.isPresent("title"), result.text("title"), result.count("cards"),
+                    result.isPresent("noProducts"), products);
+        });
+    }
+    
+    public static class Snapshot {
+        private final boolean loaded;
+        private final String title;
+        private final int productCount;
+        private final boolean noProductsMessageDisplayed;
+        private final List<Product> products;
+        
+        Snapshot(boolean loaded, String title, int productCount, boolean noProductsMessageDisplayed,
+                 List<Product> products) {
+            this.loaded = loaded;
+            this.title = title;
+            this.productCount = productCount;
+            this.noProductsMessageDisplayed = noProductsMessageDisplayed;
+            this.products = Collections.unmodifiableList(products);
+        }
+        
+        public boolean isLoaded() {
+            return loaded;
+        }
+        
+        public String getTitle() {
+            return title;
+        }
+        
+        public int getProductCount() {
+            return productCount;
+        }
+        
+        public boolean isNoProductsMessageDisplayed() {
+            return noProductsMessageDisplayed;
+        }
+        
+        public List<Product> getProducts() {
+            return products;
+        }
+    }
+    
+    /**
+     * One product card; name or price is null when the card does not show it
+     */
+    public static class Product {
+        private final String name;
+        private final String price;
+        
+        Product(String name, String price) {
+            this.name = name;
+            this.price = price;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getPrice() {
+            return price;
+        }
+        
+        @Override
+        public String toString() {
+            return name + " (" + price + ")";
         }
-        return "";
     }
 }
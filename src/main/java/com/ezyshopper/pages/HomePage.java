@@ -2,69 +2,129 @@ package com.ezyshopper.pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import com.ezyshopper.utils.ActionTimer;
+import com.ezyshopper.utils.DomBatch;
+import com.ezyshopper.utils.DriverManager;
+import com.ezyshopper.utils.ElementPresence;
+import com.ezyshopper.utils.Locators;
+import com.ezyshopper.utils.PageMetrics;
 import com.ezyshopper.utils.SeleniumUtils;
+import com.ezyshopper.utils.TestImpact;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Page Object Model for Home Page
  */
 public class HomePage {
     
+    private static final String PAGE = "HomePage";
+    
     private WebDriver driver;
     
     // Locators
-    private By pageTitle = By.xpath("//h1[contains(text(), 'Explore Our Categories')]");
-    private By categoryJeans = By.xpath("//a[@href='/category/jeans']");
-    private By categoryTshirts = By.xpath("//a[@href='/category/t-shirts']");
-    private By categoryShoes = By.xpath("//a[@href='/category/shoes']");
-    private By categoryGlasses = By.xpath("//a[@href='/category/glasses']");
-    private By categoryJackets = By.xpath("//a[@href='/category/jackets']");
-    private By categorySuits = By.xpath("//a[@href='/category/suits']");
-    private By categoryBags = By.xpath("//a[@href='/category/bags']");
-    private By featuredProductsSection = By.xpath("//section[contains(@class, 'featured')]");
+    private static final By pageTitle = Locators.xpath("//h1[contains(text(), 'Explore Our Categories')]");
+    private static final By categoryJeans = Locators.xpath("//a[@href='/category/jeans']");
+    private static final By categoryTshirts = Locators.xpath("//a[@href='/category/t-shirts']");
+    private static final By categoryShoes = Locators.xpath("//a[@href='/category/shoes']");
+    private static final By categoryGlasses = Locators.xpath("//a[@href='/category/glasses']");
+    private static final By categoryJackets = Locators.xpath("//a[@href='/category/jackets']");
+    private static final By categorySuits = Locators.xpath("//a[@href='/category/suits']");
+    private static final By categoryBags = Locators.xpath("//a[@href='/category/bags']");
+    private static final By categoryLinks = Locators.xpath("//a[starts-with(@href, '/category/')]");
+    private static final By featuredProductsSection = Locators.xpath("//section[contains(@class, 'featured')]");
     
     // Constructor
     public HomePage(WebDriver driver) {
         this.driver = driver;
+        TestImpact.usePage(PAGE);
+    }
+    
+    public HomePage() {
+        this(DriverManager.getDriver());
     }
     
     // Actions
     public boolean isHomePageLoaded() {
-        return SeleniumUtils.isElementPresent(driver, pageTitle);
+        return ActionTimer.call(PAGE, "isHomePageLoaded", () ->
+                PageMetrics.recordLoad(driver, PAGE, ElementPresence.awaitPresent(driver, pageTitle)));
     }
     
     public String getPageTitle() {
-        return SeleniumUtils.getTextSafely(driver, pageTitle);
+        return ActionTimer.call(PAGE, "getPageTitle", () -> SeleniumUtils.getTextSafely(driver, pageTitle));
     }
     
     public void clickCategoryJeans() {
-        SeleniumUtils.safeClick(driver, categoryJeans);
+        ActionTimer.run(PAGE, "clickCategoryJeans", () -> SeleniumUtils.safeClick(driver, categoryJeans));
     }
     
     public void clickCategoryTshirts() {
-        SeleniumUtils.safeClick(driver, categoryTshirts);
+        ActionTimer.run(PAGE, "clickCategoryTshirts", () -> SeleniumUtils.safeClick(driver, categoryTshirts));
     }
     
     public void clickCategoryShoes() {
-        SeleniumUtils.safeClick(driver, categoryShoes);
+        ActionTimer.run(PAGE, "clickCategoryShoes", () -> SeleniumUtils.safeClick(driver, categoryShoes));
     }
     
     public void clickCategoryGlasses() {
-        SeleniumUtils.safeClick(driver, categoryGlasses);
+        ActionTimer.run(PAGE, "clickCategoryGlasses", () -> SeleniumUtils.safeClick(driver, categoryGlasses));
     }
     
     public void clickCategoryJackets() {
-        SeleniumUtils.safeClick(driver, categoryJackets);
+        ActionTimer.run(PAGE, "clickCategoryJackets", () -> SeleniumUtils.safeClick(driver, categoryJackets));
     }
     
     public void clickCategorySuits() {
-        SeleniumUtils.safeClick(driver, categorySuits);
+        ActionTimer.run(PAGE, "clickCategorySuits", () -> SeleniumUtils.safeClick(driver, categorySuits));
     }
     
     public void clickCategoryBags() {
-        SeleniumUtils.safeClick(driver, categoryBags);
+        ActionTimer.run(PAGE, "clickCategoryBags", () -> SeleniumUtils.safeClick(driver, categoryBags));
     }
     
     public boolean isFeaturedProductsSectionDisplayed() {
-        return SeleniumUtils.isElementPresent(driver, featuredProductsSection);
+        return ActionTimer.call(PAGE, "isFeaturedProductsSectionDisplayed", () ->
+                ElementPresence.awaitPresent(driver, featuredProductsSection));
+    }
+    
+    // Snapshot - reads the title, category links and featured section in one round trip
+    public Snapshot snapshot() {
+        return ActionTimer.call(PAGE, "snapshot", () -> {
+            DomBatch.Result result = DomBatch.query(driver)
+                    .first("title", pageTitle)
+                    .all("categories", categoryLinks, "href")
+                    .first("featured", featuredProductsSection)
+                    .execute();
+            return new Snapshot(result);
+        });
+    }
+    
+    public static class Snapshot {
+        private final DomBatch.Result result;
+        
+        Snapshot(DomBatch.Result result) {
+            this.result = result;
+        }
+        
+        public boolean isLoaded() {
+            return result.isPresent("title");
+        }
+        
+        public String getTitle() {
+            return result.text("title");
+        }
+        
+        public List<String> getCategoryLinks() {
+            List<String> links = new ArrayList<>();
+            for (DomBatch.ElementSnapshot link : result.get("categories")) {
+                links.add(link.getAttribute("href"));
+            }
+            return links;
+        }
+        
+        public boolean isFeaturedProductsSectionDisplayed() {
+            return result.isPresent("featured");
+        }
     }
 }
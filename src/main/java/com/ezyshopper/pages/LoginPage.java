@@ -2,56 +2,109 @@ package com.ezyshopper.pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import com.ezyshopper.utils.SeleniumUtils;
+import com.ezyshopper.utils.ActionTimer;
+import com.ezyshopper.utils.DomBatch;
+import com.ezyshopper.utils.DriverManager;
+import com.ezyshopper.utils.Locators;
+import com.ezyshopper.utils.PageBackend;
+import com.ezyshopper.utils.PageMetrics;
+import com.ezyshopper.utils.TestImpact;
 
 /**
  * Page Object Model for Login Page
  */
 public class LoginPage {
     
-    private WebDriver driver;
+    private static final String PAGE = "LoginPage";
+    
+    private final PageBackend backend;
+    private final WebDriver driver;
     
     // Locators
-    private By pageTitle = By.xpath("//h2[contains(text(), 'Login to your account')]");
-    private By emailInput = By.id("email");
-    private By passwordInput = By.id("password");
-    private By loginButton = By.xpath("//button[@type='submit']");
-    private By signUpLink = By.xpath("//a[@href='/signup']");
-    private By errorMessage = By.xpath("//div[contains(@class, 'error')]");
+    private static final By pageTitle = Locators.xpath("//h2[contains(text(), 'Login to your account')]");
+    private static final By emailInput = Locators.id("email");
+    private static final By passwordInput = Locators.id("password");
+    private static final By loginButton = Locators.xpath("//button[@type='submit']");
+    private static final By signUpLink = Locators.xpath("//a[@href='/signup']");
+    private static final By errorMessage = Locators.xpath("//div[contains(@class, 'error')]");
     
     // Constructor
     public LoginPage(WebDriver driver) {
-        this.driver = driver;
+        this(PageBackend.selenium(driver));
+    }
+    
+    public LoginPage(PageBackend backend) {
+        this.backend = backend;
+        this.driver = backend.getDriver();
+        TestImpact.usePage(PAGE);
+    }
+    
+    public LoginPage() {
+        this(DriverManager.getDriver());
     }
     
     // Actions
     public boolean isLoginPageLoaded() {
-        return SeleniumUtils.isElementPresent(driver, pageTitle);
+        return ActionTimer.call(PAGE, "isLoginPageLoaded", () ->
+                PageMetrics.recordLoad(driver, PAGE, backend.awaitPresent(PAGE, "title", pageTitle)));
     }
     
     public void enterEmail(String email) {
-        SeleniumUtils.safeSendKeys(driver, emailInput, email);
+        ActionTimer.run(PAGE, "enterEmail", () -> backend.type(PAGE, "email", emailInput, email));
     }
     
     public void enterPassword(String password) {
-        SeleniumUtils.safeSendKeys(driver, passwordInput, password);
+        ActionTimer.run(PAGE, "enterPassword", () -> backend.type(PAGE, "password", passwordInput, password));
     }
     
     public void clickLoginButton() {
-        SeleniumUtils.safeClick(driver, loginButton);
+        ActionTimer.run(PAGE, "clickLoginButton", () -> backend.click(PAGE, "submit", loginButton));
     }
     
     public void login(String email, String password) {
-        enterEmail(email);
-        enterPassword(password);
-        clickLoginButton();
+        ActionTimer.run(PAGE, "login", () -> {
+            enterEmail(email);
+            enterPassword(password);
+            clickLoginButton();
+        });
     }
     
     public void clickSignUpLink() {
-        SeleniumUtils.safeClick(driver, signUpLink);
+        ActionTimer.run(PAGE, "clickSignUpLink", () -> backend.click(PAGE, "signUpLink", signUpLink));
     }
     
     public boolean isErrorMessageDisplayed() {
-        return SeleniumUtils.isElementPresent(driver, errorMessage);
+        return ActionTimer.call(PAGE, "isErrorMessageDisplayed", () -> backend.isPresent(PAGE, "error", errorMessage));
+    }
+    
+    // Snapshot - reads the page title and error message in one round trip
+    public Snapshot snapshot() {
+        return ActionTimer.call(PAGE, "snapshot", () -> {
+            DomBatch.Result result = DomBatch.query(backend.requireDriver(PAGE, "snapshot"))
+                    .first("title", pageTitle)
+                    .first("error", errorMessage)
+                    .execute();
+            return new Snapshot(result);
+        });
+    }
+    
+    public static class Snapshot {
+        private final DomBatch.Result result;
+        
+        Snapshot(DomBatch.Result result) {
+            this.result = result;
+        }
+        
+        public boolean isLoaded() {
+            return result.isPresent("title");
+        }
+        
+        public boolean isErrorMessageDisplayed() {
+            return result.isPresent("error");
+        }
+        
+        public String getErrorMessage() {
+            return result.text("error");
+        }
     }
 }
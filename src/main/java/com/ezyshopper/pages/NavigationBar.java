@@ -2,85 +2,146 @@ package com.ezyshopper.pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import com.ezyshopper.utils.ActionTimer;
+import com.ezyshopper.utils.DomBatch;
+import com.ezyshopper.utils.DriverManager;
+import com.ezyshopper.utils.ElementPresence;
+import com.ezyshopper.utils.Locators;
 import com.ezyshopper.utils.SeleniumUtils;
 import com.ezyshopper.utils.TestConfig;
+import com.ezyshopper.utils.TestImpact;
 
 /**
- * Page Object Model for Navigation Bar
+ * Page Object Model for Navigation Bar. The is*Visible checks wait for the control to render;
+ * snapshot() reads every control at once without waiting, for checks that expect one to be absent.
  */
 public class NavigationBar {
     
+    private static final String PAGE = "NavigationBar";
+    
     private WebDriver driver;
     
     // Locators
-    private By logo = By.xpath("//a[contains(text(), 'EzyShopper')]");
-    private By homeLink = By.xpath("//a[@href='/']");
-    private By cartLink = By.xpath("//a[@href='/cart']");
-    private By cartCount = By.xpath("//a[@href='/cart']//span[contains(@class, 'bg-emerald-500')]");
-    private By dashboardLink = By.xpath("//a[@href='/secret-dashboard']");
-    private By signUpButton = By.xpath("//a[@href='/signup']");
-    private By loginButton = By.xpath("//a[@href='/login']");
-    private By logoutButton = By.xpath("//button[contains(., 'Log Out')]");
+    private static final By logo = Locators.xpath("//a[contains(text(), 'EzyShopper')]");
+    private static final By homeLink = Locators.xpath("//a[@href='/']");
+    private static final By cartLink = Locators.xpath("//a[@href='/cart']");
+    private static final By cartCount = Locators.xpath("//a[@href='/cart']//span[contains(@class, 'bg-emerald-500')]");
+    private static final By dashboardLink = Locators.xpath("//a[@href='/secret-dashboard']");
+    private static final By signUpButton = Locators.xpath("//a[@href='/signup']");
+    private static final By loginButton = Locators.xpath("//a[@href='/login']");
+    private static final By logoutButton = Locators.xpath("//button[contains(., 'Log Out')]");
     
     // Constructor
     public NavigationBar(WebDriver driver) {
         this.driver = driver;
+        TestImpact.usePage(PAGE);
+    }
+    
+    public NavigationBar() {
+        this(DriverManager.getDriver());
     }
     
     // Actions
     public void clickLogo() {
-        SeleniumUtils.safeClick(driver, logo);
+        ActionTimer.run(PAGE, "clickLogo", () -> SeleniumUtils.safeClick(driver, logo));
     }
     
     public void clickHome() {
-        SeleniumUtils.safeClick(driver, homeLink);
+        ActionTimer.run(PAGE, "clickHome", () -> SeleniumUtils.safeClick(driver, homeLink));
     }
     
     public void clickCart() {
-        SeleniumUtils.safeClick(driver, cartLink);
+        ActionTimer.run(PAGE, "clickCart", () -> SeleniumUtils.safeClick(driver, cartLink));
     }
     
     public void clickDashboard() {
-        SeleniumUtils.safeClick(driver, dashboardLink);
+        ActionTimer.run(PAGE, "clickDashboard", () -> SeleniumUtils.safeClick(driver, dashboardLink));
     }
     
     public void clickSignUp() {
-        SeleniumUtils.safeClick(driver, signUpButton);
+        ActionTimer.run(PAGE, "clickSignUp", () -> SeleniumUtils.safeClick(driver, signUpButton));
     }
     
     public void clickLogin() {
-        SeleniumUtils.safeClick(driver, loginButton);
+        ActionTimer.run(PAGE, "clickLogin", () -> SeleniumUtils.safeClick(driver, loginButton));
     }
     
     public void clickLogout() {
-        SeleniumUtils.safeClick(driver, logoutButton);
+        ActionTimer.run(PAGE, "clickLogout", () -> SeleniumUtils.safeClick(driver, logoutButton));
     }
     
     public boolean isCartLinkVisible() {
-        return SeleniumUtils.isElementPresent(driver, cartLink);
+        return ActionTimer.call(PAGE, "isCartLinkVisible", () -> ElementPresence.awaitPresent(driver, cartLink));
     }
     
     public boolean isDashboardLinkVisible() {
-        return SeleniumUtils.isElementPresent(driver, dashboardLink);
+        return ActionTimer.call(PAGE, "isDashboardLinkVisible", () -> ElementPresence.awaitPresent(driver, dashboardLink));
     }
     
     public boolean isLogoutButtonVisible() {
-        return SeleniumUtils.isElementPresent(driver, logoutButton);
+        return ActionTimer.call(PAGE, "isLogoutButtonVisible", () -> ElementPresence.awaitPresent(driver, logoutButton));
     }
     
     public boolean isLoginButtonVisible() {
-        return SeleniumUtils.isElementPresent(driver, loginButton);
+        return ActionTimer.call(PAGE, "isLoginButtonVisible", () -> ElementPresence.awaitPresent(driver, loginButton));
     }
     
     public boolean isSignUpButtonVisible() {
-        return SeleniumUtils.isElementPresent(driver, signUpButton);
+        return ActionTimer.call(PAGE, "isSignUpButtonVisible", () -> ElementPresence.awaitPresent(driver, signUpButton));
     }
     
     public String getCartCount() {
-        return SeleniumUtils.getTextSafely(driver, cartCount);
+        return ActionTimer.call(PAGE, "getCartCount", () -> SeleniumUtils.getTextSafely(driver, cartCount));
     }
     
     public boolean isCartCountDisplayed() {
-        return SeleniumUtils.isElementPresent(driver, cartCount);
+        return ActionTimer.call(PAGE, "isCartCountDisplayed", () -> ElementPresence.awaitPresent(driver, cartCount));
+    }
+    
+    // Snapshot - reads every navbar link and the cart count in one round trip
+    public Snapshot snapshot() {
+        return ActionTimer.call(PAGE, "snapshot", () -> {
+            DomBatch.Result result = DomBatch.query(driver)
+                    .first("cart", cartLink)
+                    .first("cartCount", cartCount)
+                    .first("dashboard", dashboardLink)
+                    .first("signUp", signUpButton)
+                    .first("login", loginButton)
+                    .first("logout", logoutButton)
+                    .execute();
+            return new Snapshot(result);
+        });
+    }
+    
+    public static class Snapshot {
+        private final DomBatch.Result result;
+        
+        Snapshot(DomBatch.Result result) {
+            this.result = result;
+        }
+        
+        public boolean isLoggedIn() {
+            return result.isPresent("logout");
+        }
+        
+        public boolean isCartLinkVisible() {
+            return result.isPresent("cart");
+        }
+        
+        public boolean isDashboardLinkVisible() {
+            return result.isPresent("dashboard");
+        }
+        
+        public boolean isLoginButtonVisible() {
+            return result.isPresent("login");
+        }
+        
+        public boolean isSignUpButtonVisible() {
+            return result.isPresent("signUp");
+        }
+        
+        public String getCartCount() {
+            return result.text("cartCount");
+        }
     }
 }
@@ -2,68 +2,122 @@ package com.ezyshopper.pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import com.ezyshopper.utils.SeleniumUtils;
+import com.ezyshopper.utils.ActionTimer;
+import com.ezyshopper.utils.DomBatch;
+import com.ezyshopper.utils.DriverManager;
+import com.ezyshopper.utils.Locators;
+import com.ezyshopper.utils.PageBackend;
+import com.ezyshopper.utils.PageMetrics;
+import com.ezyshopper.utils.TestImpact;
 
 /**
  * Page Object Model for Sign Up Page
  */
 public class SignUpPage {
     
-    private WebDriver driver;
+    private static final String PAGE = "SignUpPage";
+    
+    private final PageBackend backend;
+    private final WebDriver driver;
     
     // Locators
-    private By pageTitle = By.xpath("//h2[contains(text(), 'Create your account')]");
-    private By nameInput = By.id("name");
-    private By emailInput = By.id("email");
-    private By passwordInput = By.id("password");
-    private By confirmPasswordInput = By.id("confirmPassword");
-    private By signUpButton = By.xpath("//button[@type='submit']");
-    private By loginLink = By.xpath("//a[@href='/login']");
-    private By errorMessage = By.xpath("//div[contains(@class, 'error')]");
+    private static final By pageTitle = Locators.xpath("//h2[contains(text(), 'Create your account')]");
+    private static final By nameInput = Locators.id("name");
+    private static final By emailInput = Locators.id("email");
+    private static final By passwordInput = Locators.id("password");
+    private static final By confirmPasswordInput = Locators.id("confirmPassword");
+    private static final By signUpButton = Locators.xpath("//button[@type='submit']");
+    private static final By loginLink = Locators.xpath("//a[@href='/login']");
+    private static final By errorMessage = Locators.xpath("//div[contains(@class, 'error')]");
     
     // Constructor
     public SignUpPage(WebDriver driver) {
-        this.driver = driver;
+        this(PageBackend.selenium(driver));
+    }
+    
+    public SignUpPage(PageBackend backend) {
+        this.backend = backend;
+        this.driver = backend.getDriver();
+        TestImpact.usePage(PAGE);
+    }
+    
+    public SignUpPage() {
+        this(DriverManager.getDriver());
     }
     
     // Actions
     public boolean isSignUpPageLoaded() {
-        return SeleniumUtils.isElementPresent(driver, pageTitle);
+        return ActionTimer.call(PAGE, "isSignUpPageLoaded", () ->
+                PageMetrics.recordLoad(driver, PAGE, backend.awaitPresent(PAGE, "title", pageTitle)));
     }
     
     public void enterName(String name) {
-        SeleniumUtils.safeSendKeys(driver, nameInput, name);
+        ActionTimer.run(PAGE, "enterName", () -> backend.type(PAGE, "name", nameInput, name));
     }
     
     public void enterEmail(String email) {
-        SeleniumUtils.safeSendKeys(driver, emailInput, email);
+        ActionTimer.run(PAGE, "enterEmail", () -> backend.type(PAGE, "email", emailInput, email));
     }
     
     public void enterPassword(String password) {
-        SeleniumUtils.safeSendKeys(driver, passwordInput, password);
+        ActionTimer.run(PAGE, "enterPassword", () -> backend.type(PAGE, "password", passwordInput, password));
     }
     
     public void enterConfirmPassword(String confirmPassword) {
-        SeleniumUtils.safeSendKeys(driver, confirmPasswordInput, confirmPassword);
+        ActionTimer.run(PAGE, "enterConfirmPassword", () ->
+                backend.type(PAGE, "confirmPassword", confirmPasswordInput, confirmPassword));
     }
     
     public void clickSignUpButton() {
-        SeleniumUtils.safeClick(driver, signUpButton);
+        ActionTimer.run(PAGE, "clickSignUpButton", () -> backend.click(PAGE, "submit", signUpButton));
     }
     
     public void signUp(String name, String email, String password, String confirmPassword) {
-        enterName(name);
-        enterEmail(email);
-        enterPassword(password);
-        enterConfirmPassword(confirmPassword);
-        clickSignUpButton();
+        ActionTimer.run(PAGE, "signUp", () -> {
+            enterName(name);
+            enterEmail(email);
+            enterPassword(password);
+            enterConfirmPassword(confirmPassword);
+            clickSignUpButton();
+        });
     }
     
     public void clickLoginLink() {
-        SeleniumUtils.safeClick(driver, loginLink);
+        ActionTimer.run(PAGE, "clickLoginLink", () -> backend.click(PAGE, "loginLink", loginLink));
     }
     
     public boolean isErrorMessageDisplayed() {
-        return SeleniumUtils.isElementPresent(driver, errorMessage);
+        return ActionTimer.call(PAGE, "isErrorMessageDisplayed", () -> backend.isPresent(PAGE, "error", errorMessage));
+    }
+    
+    // Snapshot - reads the page title and error message in one round trip
+    public Snapshot snapshot() {
+        return ActionTimer.call(PAGE, "snapshot", () -> {
+            DomBatch.Result result = DomBatch.query(backend.requireDriver(PAGE, "snapshot"))
+                    .first("title", pageTitle)
+                    .first("error", errorMessage)
+                    .execute();
+            return new Snapshot(result);
+        });
+    }
+    
+    public static class Snapshot {
+        private final DomBatch.Result result;
+        
+        Snapshot(DomBatch.Result result) {
+            this.result = result;
+        }
+        
+        public boolean isLoaded() {
+            return result.isPresent("title");
+        }
+        
+        public boolean isErrorMessageDisplayed() {
+            return result.isPresent("error");
+        }
+        
+        public String getErrorMessage() {
+            return result.text("error");
+        }
     }
 }
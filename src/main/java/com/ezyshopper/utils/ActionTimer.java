@@ -0,0 +1,162 @@
+package com.ezyshopper.utils;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Times page-object methods and SeleniumUtils actions into latency histograms keyed by
+ * page and action. SeleniumUtils actions are attributed to the page-object method that
+ * called them on the same thread, so a slow click shows up under e.g. LoginPage.click.
+ */
+public class ActionTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(ActionTimer.class);
+
+    static final String NO_PAGE = "SeleniumUtils";
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, Histogram>> HISTOGRAMS =
+            new ConcurrentHashMap<>();
+    private static final ThreadLocal<Deque<String>> PAGE_STACK = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private ActionTimer() {
+    }
+
+    /**
+     * Time an action that returns nothing
+     */
+    public static void run(String page, String action, Runnable body) {
+        call(page, action, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Time an action and return its result. While it runs, nested SeleniumUtils actions are
+     * recorded under the same page. Each action is also a step in the ResultStream.
+     */
+    public static <T> T call(String page, String action, Supplier<T> body) {
+        Deque<String> pages = PAGE_STACK.get();
+        pages.push(page);
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            T result = body.get();
+            ok = true;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            record(page, action, nanos);
+            ResultStream.step(page, action, nanos, ok);
+            pages.pop();
+        }
+    }
+
+    /**
+     * Time a SeleniumUtils action under the page currently calling it
+     */
+    static <T> T callUtility(String action, Supplier<T> body) {
+        return call(currentPage(), action, body);
+    }
+
+    static void runUtility(String action, Runnable body) {
+        run(currentPage(), action, body);
+    }
+
+    /**
+     * Record an externally measured duration
+     */
+    public static void record(String page, String action, long nanos) {
+        HISTOGRAMS.computeIfAbsent(page, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(action, k -> newHistogram())
+                .recordValue(Math.max(0, nanos / 1_000));
+    }
+
+    /**
+     * Copy of the histogram for one page and action, or null if it was never recorded
+     */
+    public static Histogram getHistogram(String page, String action) {
+        Map<String, Histogram> actions = HISTOGRAMS.get(page);
+        Histogram histogram = actions == null ? null : actions.get(action);
+        return histogram == null ? null : histogram.copy();
+    }
+
+    /**
+     * Percentile summary (in milliseconds) per page and action
+     */
+    public static Map<String, Map<String, Map<String, Object>>> summary() {
+        Map<String, Map<String, Map<String, Object>>> summary = new TreeMap<>();
+        HISTOGRAMS.forEach((page, actions) -> {
+            Map<String, Map<String, Object>> pageSummary = new TreeMap<>();
+            actions.forEach((action, histogram) -> pageSummary.put(action, summarize(histogram.copy())));
+            summary.put(page, pageSummary);
+        });
+        return summary;
+    }
+
+    /**
+     * Write the percentile summary as JSON, e.g. at the end of the run
+     */
+    public static void exportJson(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, new Json().toJson(summary()).getBytes(StandardCharsets.UTF_8));
+            log.info("Action latency report written to {}", file);
+        } catch (IOException e) {
+            log.warn("Failed to write action latency report {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop all recorded timings
+     */
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    private static String currentPage() {
+        String page = PAGE_STACK.get().peek();
+        return page == null ? NO_PAGE : page;
+    }
+
+    private static Histogram newHistogram() {
+        Histogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        histogram.setAutoResize(true);
+        return histogram;
+    }
+
+    private static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", histogram.getTotalCount());
+        stats.put("p50", millis(histogram.getValueAtPercentile(50)));
+        stats.put("p95", millis(histogram.getValueAtPercentile(95)));
+        stats.put("p99", millis(histogram.getValueAtPercentile(99)));
+        stats.put("max", millis(histogram.getMaxValue()));
+        stats.put("mean", Math.round(histogram.getMean()) / 1_000.0);
+        return stats;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,247 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Explicit waits that re-check their condition as soon as the DOM changes instead of every
+ * 500 ms. Between checks the wait parks in the browser on the PageReadiness tracker, whose
+ * single MutationObserver per page wakes it; without a tracker it falls back to sleeping.
+ * Either way the pause backs off exponentially from 10 ms up to the old 500 ms interval and
+ * restarts from 10 ms after a mutation. One wait object is kept per driver, holding it only
+ * weakly so a quit session can be collected, and each wait records how much sooner it
+ * returned than a fixed 500 ms poll would have.
+ */
+public class AdaptiveWait {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveWait.class);
+
+    private static final long MIN_BACKOFF_MILLIS = 10;
+    // WebDriverWait's default polling interval, which these waits replace
+    static final long LEGACY_POLL_MILLIS = 500;
+
+    // Resolves on the next mutation (or at once if there were mutations since the last check),
+    // else after the backoff; returns [woken by a mutation, mutation count] or null without a tracker
+    static final String WAKE_SCRIPT =
+            "var since = arguments[0], ms = arguments[1], done = arguments[arguments.length - 1];"
+            + "var s = window.__ezyReadiness;"
+            + "if (!s) { done(null); return; }"
+            + "if (!s.waiters) { s.waiters = []; }"
+            + "if (since >= 0 && s.mutations !== since) { done([true, s.mutations]); return; }"
+            + "var timer;"
+            + "var wake = function() { clearTimeout(timer); done([true, s.mutations]); };"
+            + "timer = setTimeout(function() {"
+            + "  var i = s.waiters.indexOf(wake); if (i >= 0) { s.waiters.splice(i, 1); }"
+            + "  done([false, s.mutations]);"
+            + "}, ms);"
+            + "s.waiters.push(wake);";
+
+    private static final Map<WebDriver, AdaptiveWait> WAITS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    // Weak, or this value would keep its own WeakHashMap key reachable
+    private final WeakReference<WebDriver> driver;
+    private volatile boolean wakeSupported;
+
+    AdaptiveWait(WebDriver driver) {
+        this.driver = new WeakReference<>(driver);
+        this.wakeSupported = driver instanceof JavascriptExecutor;
+    }
+
+    /**
+     * The wait object for this driver, created on first use
+     */
+    public static AdaptiveWait of(WebDriver driver) {
+        return WAITS.computeIfAbsent(driver, AdaptiveWait::new);
+    }
+
+    /**
+     * Drop the wait object of a driver that is being quit
+     */
+    public static void forget(WebDriver driver) {
+        WAITS.remove(driver);
+    }
+
+    /**
+     * Wait until the condition returns a non-null, non-false value, or throw TimeoutException.
+     * The implicit wait is off while waiting so each check is a single lookup.
+     */
+    public <T> T until(String name, Duration timeout, ExpectedCondition<T> condition) {
+        WebDriver driver = this.driver.get();
+        if (driver == null) {
+            throw new IllegalStateException("The driver of this wait has been garbage collected");
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long backoff = MIN_BACKOFF_MILLIS;
+        long mutations = -1;
+        int checks = 0;
+        int mutationWakes = 0;
+        boolean installed = false;
+        RuntimeException lastError = null;
+        Duration implicitWait = ElementPresence.disableImplicitWait(driver);
+        try {
+            while (true) {
+                checks++;
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        record(name, System.nanoTime() - start, checks, mutationWakes, true);
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    record(name, System.nanoTime() - start, checks, mutationWakes, false);
+                    throw new TimeoutException(String.format("Expected condition failed: waiting for %s (tried for %d ms, %d checks)",
+                            condition, timeout.toMillis(), checks), lastError);
+                }
+                long pause = Math.min(backoff, remainingMillis);
+                long[] wake = awaitMutation(driver, mutations, pause, remainingMillis);
+                if (wake == null) {
+                    // No tracker on this page; install it once and sleep this round
+                    if (!installed) {
+                        PageReadiness.install(driver);
+                        installed = true;
+                    }
+                    wake = sleep(mutations, pause);
+                }
+                mutations = wake[1];
+                if (wake[0] == 1) {
+                    mutationWakes++;
+                    backoff = MIN_BACKOFF_MILLIS;
+                } else {
+                    backoff = Math.min(backoff * 2, LEGACY_POLL_MILLIS);
+                }
+            }
+        } finally {
+            ElementPresence.restoreImplicitWait(driver, implicitWait);
+        }
+    }
+
+    /**
+     * Per wait name: count, time spent and latency saved against fixed 500 ms polling
+     */
+    public static Map<String, Stats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(STATS));
+    }
+
+    public static String getReport() {
+        StringBuilder report = new StringBuilder();
+        getStats().forEach((name, stats) -> report.append(name).append(": ").append(stats).append('\n'));
+        return report.toString();
+    }
+
+    // Park in the browser until a mutation or the pause ends; returns {woken, mutation count},
+    // or null when the page has no tracker
+    private long[] awaitMutation(WebDriver driver, long since, long pauseMillis, long remainingMillis) {
+        if (!wakeSupported) {
+            return sleep(since, pauseMillis);
+        }
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(WAKE_SCRIPT, since, pauseMillis);
+            if (result instanceof List && ((List<?>) result).size() == 2) {
+                List<?> wake = (List<?>) result;
+                return new long[] {Boolean.TRUE.equals(wake.get(0)) ? 1 : 0, ((Number) wake.get(1)).longValue()};
+            }
+            return null;
+        } catch (UnsupportedOperationException e) {
+            wakeSupported = false;
+            return sleep(since, pauseMillis);
+        } catch (WebDriverException e) {
+            // Usually the page is navigating; pause like the old poll so a failing script
+            // does not turn into a tight loop of driver calls, then re-check on the new page
+            log.debug("Wait wake-up interrupted: {}", e.getMessage());
+            return sleep(-1, Math.min(LEGACY_POLL_MILLIS, remainingMillis));
+        }
+    }
+
+    private static long[] sleep(long since, long pauseMillis) {
+        LockSupport.parkNanos(pauseMillis * 1_000_000);
+        return new long[] {0, since};
+    }
+
+    private static void record(String name, long nanos, int checks, int mutationWakes, boolean satisfied) {
+        long millis = nanos / 1_000_000;
+        // A fixed-interval wait checks at 0, 500, 1000 ms...; only waits that needed a second check save time
+        long legacyMillis = Math.max(LEGACY_POLL_MILLIS, (millis + LEGACY_POLL_MILLIS - 1) / LEGACY_POLL_MILLIS * LEGACY_POLL_MILLIS);
+        long saved = satisfied && checks > 1 ? legacyMillis - millis : 0;
+        STATS.computeIfAbsent(name, k -> new Stats()).add(millis, saved, checks, mutationWakes, satisfied);
+        log.debug("Wait {} {} after {} ms, {} checks, {} mutation wake-ups, saved {} ms", name,
+                satisfied ? "satisfied" : "timed out", millis, checks, mutationWakes, saved);
+    }
+
+    /**
+     * Accumulated results for one wait name
+     */
+    public static final class Stats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong savedMillis = new AtomicLong();
+        private final AtomicLong checks = new AtomicLong();
+        private final AtomicLong mutationWakes = new AtomicLong();
+
+        void add(long millis, long saved, int checks, int mutationWakes, boolean satisfied) {
+            count.incrementAndGet();
+            if (!satisfied) {
+                timeouts.incrementAndGet();
+            }
+            totalMillis.addAndGet(millis);
+            savedMillis.addAndGet(saved);
+            this.checks.addAndGet(checks);
+            this.mutationWakes.addAndGet(mutationWakes);
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getTimeouts() {
+            return timeouts.get();
+        }
+
+        public Duration getTotal() {
+            return Duration.ofMillis(totalMillis.get());
+        }
+
+        public Duration getSaved() {
+            return Duration.ofMillis(savedMillis.get());
+        }
+
+        public long getChecks() {
+            return checks.get();
+        }
+
+        public long getMutationWakes() {
+            return mutationWakes.get();
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count.get() + ", timeouts=" + timeouts.get() + ", totalMs=" + totalMillis.get()
+                    + ", savedMs=" + savedMillis.get() + ", checks=" + checks.get()
+                    + ", mutationWakes=" + mutationWakes.get();
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.ezyshopper.utils;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes test artifacts (screenshots, DOM dumps, ...) on background threads so the test
+ * thread only pays for capturing the bytes. The queue is bounded: when writers fall behind,
+ * submit blocks the caller until there is room, which keeps memory flat under bursts.
+ */
+public class ArtifactWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ArtifactWriter.class);
+
+    private static final Object POISON = new Object();
+
+    private static volatile ArtifactWriter shared;
+    // Guarded by ArtifactWriter.class; one hook stops whichever writer is shared at exit
+    private static boolean shutdownHookAdded;
+
+    /**
+     * How an artifact is encoded on its way to disk
+     */
+    public enum Encoding {
+        /** Bytes written unchanged, e.g. PNG screenshots which are already deflate-compressed */
+        RAW,
+        /** Screenshot re-encoded as JPEG at the configured quality */
+        JPEG,
+        /** Bytes gzip-compressed, e.g. HTML or JSON dumps */
+        GZIP
+    }
+
+    private final BlockingQueue<Object> queue;
+    private final List<Thread> writers = new ArrayList<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+    private final Histogram writeMicros = new ConcurrentHistogram(3);
+    private final float jpegQuality;
+    private volatile boolean closed;
+
+    public ArtifactWriter() {
+        this(TestConfig.ARTIFACT_QUEUE_SIZE, TestConfig.ARTIFACT_WRITER_THREADS, TestConfig.SCREENSHOT_JPEG_QUALITY);
+    }
+
+    public ArtifactWriter(int capacity, int threads, float jpegQuality) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.jpegQuality = jpegQuality;
+        writeMicros.setAutoResize(true);
+        for (int i = 0; i < threads; i++) {
+            Thread writer = new Thread(this::drain, "artifact-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Writer shared by the whole run. It is flushed and stopped by a shutdown hook if
+     * {@link #shutdown()} was not called explicitly.
+     */
+    public static ArtifactWriter shared() {
+        ArtifactWriter writer = shared;
+        if (writer == null) {
+            synchronized (ArtifactWriter.class) {
+                writer = shared;
+                if (writer == null) {
+                    writer = new ArtifactWriter();
+                    if (!shutdownHookAdded) {
+                        Runtime.getRuntime().addShutdownHook(
+                                new Thread(ArtifactWriter::shutdownShared, "artifact-writer-shutdown"));
+                        shutdownHookAdded = true;
+                    }
+                    shared = writer;
+                }
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * Flush and stop the shared writer, if it was ever used. Call at the end of the suite;
+     * a later {@link #shared()} call, e.g. from a test class still running, starts a new writer.
+     */
+    public static void shutdownShared() {
+        ArtifactWriter writer;
+        synchronized (ArtifactWriter.class) {
+            writer = shared;
+            shared = null;
+        }
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * Queue bytes to be encoded and written to the given file, blocking while the queue is full
+     */
+    public void submit(Path file, byte[] bytes, Encoding encoding) {
+        // Counted before the closed check, so a shutdown that has not seen this submit
+        // waits for it in flush before it queues the stop markers
+        pending.incrementAndGet();
+        if (closed) {
+            pending.decrementAndGet();
+            throw new IllegalStateException("Artifact writer has been shut down");
+        }
+        ResultStream.artifact(file);
+        Task task = new Task(file, bytes, encoding);
+        try {
+            if (!queue.offer(task)) {
+                blocked.incrementAndGet();
+                queue.put(task);
+            }
+        } catch (InterruptedException e) {
+            pending.decrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing artifact " + file, e);
+        }
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    /**
+     * Wait until every artifact queued so far has been written
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                log.warn("Timed out flushing artifacts, {} still pending", pending.get());
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write everything still queued and stop the writer threads
+     */
+    public void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flush(Duration.ofSeconds(TestConfig.PAGE_LOAD_TIMEOUT));
+        for (int i = 0; i < writers.size(); i++) {
+            queue.offer(POISON);
+        }
+        for (Thread writer : writers) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("Artifact writer: {}", getMetrics());
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(queue.size(), maxDepth.get(), written.get(), failed.get(), blocked.get(),
+                bytesIn.get(), bytesOut.get(), writeMicros.copy());
+    }
+
+    private void drain() {
+        while (true) {
+            Object next;
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (next == POISON) {
+                return;
+            }
+            write((Task) next);
+        }
+    }
+
+    private void write(Task task) {
+        long start = System.nanoTime();
+        try {
+            byte[] encoded = encode(task);
+            if (task.file.getParent() != null) {
+                Files.createDirectories(task.file.getParent());
+            }
+            Files.write(task.file, encoded);
+            written.incrementAndGet();
+            bytesIn.addAndGet(task.bytes.length);
+            bytesOut.addAndGet(encoded.length);
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            log.warn("Failed to write artifact {}: {}", task.file, e.getMessage());
+        } finally {
+            writeMicros.recordValue((System.nanoTime() - start) / 1_000);
+            pending.decrementAndGet();
+        }
+    }
+
+    private byte[] encode(Task task) throws IOException {
+        switch (task.encoding) {
+            case GZIP:
+                ByteArrayOutputStream gzipped = new ByteArrayOutputStream(task.bytes.length / 4 + 64);
+                try (OutputStream out = new GZIPOutputStream(gzipped)) {
+                    out.write(task.bytes);
+                }
+                return gzipped.toByteArray();
+            case JPEG:
+                return toJpeg(task.bytes);
+            case RAW:
+            default:
+                return task.bytes;
+        }
+    }
+
+    private byte[] toJpeg(byte[] image) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(image));
+        if (source == null) {
+            throw new IOException("Unreadable image");
+        }
+        // JPEG has no alpha channel; screenshots never use it
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        rgb.getGraphics().drawImage(source, 0, 0, null);
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream(image.length / 2);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(jpeg)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return jpeg.toByteArray();
+    }
+
+    private static final class Task {
+        private final Path file;
+        private final byte[] bytes;
+        private final Encoding encoding;
+
+        Task(Path file, byte[] bytes, Encoding encoding) {
+            this.file = file;
+            this.bytes = bytes;
+            this.encoding = encoding;
+        }
+    }
+
+    /**
+     * Queue depth, throughput, backpressure and write latency of the writer
+     */
+    public static final class Metrics {
+        private final int queueDepth;
+        private final int maxQueueDepth;
+        private final long written;
+        private final long failed;
+        private final long blockedSubmits;
+        private final long bytesIn;
+        private final long bytesOut;
+        private final Histogram writeMicros;
+
+        Metrics(int queueDepth, int maxQueueDepth, long written, long failed, long blockedSubmits,
+                long bytesIn, long bytesOut, Histogram writeMicros) {
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.written = written;
+            this.failed = failed;
+            this.blockedSubmits = blockedSubmits;
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            this.writeMicros = writeMicros;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth;
+        }
+
+        public long getWritten() {
+            return written;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getBlockedSubmits() {
+            return blockedSubmits;
+        }
+
+        public long getBytesIn() {
+            return bytesIn;
+        }
+
+        public long getBytesOut() {
+            return bytesOut;
+        }
+
+        public Duration getWriteLatency(double percentile) {
+            return Duration.ofNanos(writeMicros.getValueAtPercentile(percentile) * 1_000);
+        }
+
+        @Override
+        public String toString() {
+            return "written=" + written + ", failed=" + failed + ", queueDepth=" + queueDepth
+                    + ", maxQueueDepth=" + maxQueueDepth + ", blockedSubmits=" + blockedSubmits
+                    + ", kbIn=" + bytesIn / 1024 + ", kbOut=" + bytesOut / 1024
+                    + ", writeP50Ms=" + writeMicros.getValueAtPercentile(50) / 1_000.0
+                    + ", writeP99Ms=" + writeMicros.getValueAtPercentile(99) / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Record/replay of backend API responses through DevTools Fetch interception (Selenium's
+ * NetworkInterceptor). A record run stores GET responses under the configured backend paths in
+ * a gzipped JSON file; a replay run serves them from memory without touching the network, and
+ * falls through to the live backend for anything that was not recorded.
+ *
+ * <p>Only GET requests under {@link TestConfig#REPLAY_PATHS} are handled, since those are the
+ * same for every user; auth, cart and other per-user calls always go to the live backend.
+ */
+public class BackendReplay {
+
+    private static final Logger log = LoggerFactory.getLogger(BackendReplay.class);
+
+    // Recomputed or connection-specific; everything else (content type, CORS) is replayed as recorded
+    private static final Set<String> SKIPPED_HEADERS = new TreeSet<>(Arrays.asList(
+            "connection", "content-encoding", "content-length", "date", "keep-alive", "set-cookie",
+            "transfer-encoding"));
+
+    public enum Mode {
+        LIVE,
+        RECORD,
+        REPLAY
+    }
+
+    private final Mode mode;
+    private final String backendUrl;
+    private final List<String> paths;
+    private final Path store;
+    private final Map<String, Recording> recordings = new ConcurrentHashMap<>();
+    private final Map<WebDriver, NetworkInterceptor> interceptors = Collections.synchronizedMap(new WeakHashMap<>());
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+
+    public BackendReplay(Mode mode, String backendUrl, List<String> paths, Path store) {
+        this.mode = mode;
+        this.backendUrl = backendUrl.endsWith("/") ? backendUrl.substring(0, backendUrl.length() - 1) : backendUrl;
+        this.paths = new ArrayList<>(paths);
+        this.store = store;
+        if (Files.isRegularFile(store)) {
+            load();
+        } else if (mode == Mode.REPLAY) {
+            log.warn("Replay store {} does not exist; every backend call will go to the live API", store);
+        }
+    }
+
+    /**
+     * Record/replay configured from -DbackendMode, or null in live mode
+     */
+    public static BackendReplay fromConfig(String backendUrl) {
+        Mode mode = Mode.valueOf(TestConfig.BACKEND_MODE.toUpperCase(Locale.ROOT));
+        if (mode == Mode.LIVE) {
+            return null;
+        }
+        return new BackendReplay(mode, backendUrl, TestConfig.REPLAY_PATHS, Paths.get(TestConfig.REPLAY_STORE));
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Start intercepting the driver's requests. Called on every lease; each driver is attached once.
+     * Drivers without DevTools keep talking to the live backend.
+     */
+    public void attach(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        synchronized (interceptors) {
+            if (!interceptors.containsKey(driver)) {
+                interceptors.put(driver, new NetworkInterceptor(driver, filter()));
+            }
+        }
+    }
+
+    /**
+     * Handles backend GETs under the replay paths and passes everything else through untouched
+     */
+    Filter filter() {
+        return next -> request -> {
+            String key = keyFor(request);
+            if (key == null) {
+                return next.execute(request);
+            }
+            if (mode == Mode.REPLAY) {
+                Recording recording = recordings.get(key);
+                if (recording != null) {
+                    hits.incrementAndGet();
+                    return recording.toResponse();
+                }
+                misses.incrementAndGet();
+                log.debug("Replay miss, using live backend: {}", key);
+                return next.execute(request);
+            }
+            HttpResponse response = next.execute(request);
+            byte[] body = Contents.bytes(response.getContent());
+            response.setContent(Contents.bytes(body));
+            if (response.isSuccessful()) {
+                recordings.put(key, Recording.of(response, body));
+                recorded.incrementAndGet();
+            }
+            return response;
+        };
+    }
+
+    /**
+     * "GET /api/products?x=1" for backend requests handled by this layer, otherwise null
+     */
+    String keyFor(HttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return null;
+        }
+        String url = request.getUri();
+        if (!startsWithSegment(url, backendUrl)) {
+            return null;
+        }
+        String pathAndQuery = url.substring(backendUrl.length());
+        for (String path : paths) {
+            if (startsWithSegment(pathAndQuery, path)) {
+                return "GET " + pathAndQuery;
+            }
+        }
+        return null;
+    }
+
+    // Prefix match on whole path segments: /api/products matches /api/products/1 and
+    // /api/products?x=1 but not /api/products-admin
+    static boolean startsWithSegment(String value, String prefix) {
+        if (!value.startsWith(prefix)) {
+            return false;
+        }
+        if (value.length() == prefix.length() || prefix.endsWith("/")) {
+            return true;
+        }
+        char next = value.charAt(prefix.length());
+        return next == '/' || next == '?' || next == '#';
+    }
+
+    /**
+     * Write recorded responses to the store. Only does anything in record mode; entries from
+     * earlier recordings that were not requested again are kept.
+     */
+    public void save() {
+        if (mode != Mode.RECORD) {
+            return;
+        }
+        Map<String, Object> content = new TreeMap<>();
+        recordings.forEach((key, recording) -> content.put(key, recording.toMap()));
+        try {
+            if (store.getParent() != null) {
+                Files.createDirectories(store.getParent());
+            }
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(store))) {
+                out.write(new Json().toJson(content).getBytes(StandardCharsets.UTF_8));
+            }
+            log.info("Recorded {} backend responses ({} this run) to {}", content.size(), recorded.get(), store);
+        } catch (IOException e) {
+            log.warn("Failed to write replay store {}: {}", store, e.getMessage());
+        }
+    }
+
+    /**
+     * Re-fetch every recording from the live backend and list the ones whose status or body
+     * no longer match, or that are older than the given age
+     */
+    public Map<String, String> checkStaleness(Duration maxAge) {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        Map<String, String> stale = new TreeMap<>();
+        long now = System.currentTimeMillis();
+        recordings.forEach((key, recording) -> {
+            if (now - recording.recordedAt > maxAge.toMillis()) {
+                stale.put(key, "recorded " + TimeUnit.MILLISECONDS.toDays(now - recording.recordedAt) + " days ago");
+                return;
+            }
+            try {
+                java.net.http.HttpResponse<byte[]> live = client.send(
+                        java.net.http.HttpRequest.newBuilder(URI.create(backendUrl + key.substring(4)))
+                                .timeout(Duration.ofSeconds(TestConfig.PAGE_LOAD_TIMEOUT)).GET().build(),
+                        java.net.http.HttpResponse.BodyHandlers.ofByteArray());
+                if (live.statusCode() != recording.status) {
+                    stale.put(key, "status " + recording.status + " -> " + live.statusCode());
+                } else if (!sha256(live.body()).equals(recording.sha256)) {
+                    stale.put(key, "body changed");
+                }
+            } catch (IOException e) {
+                stale.put(key, "live request failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stale.put(key, "interrupted");
+            }
+        });
+        log.info("Replay staleness check: {} of {} recordings stale", stale.size(), recordings.size());
+        return stale;
+    }
+
+    /**
+     * Run the staleness check against the configured maximum age and write the result as JSON
+     */
+    public Map<String, String> exportStaleness(Path file) {
+        Map<String, String> stale = checkStaleness(Duration.ofDays(TestConfig.REPLAY_MAX_AGE_DAYS));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("store", store.toString());
+        report.put("recordings", recordings.size());
+        report.put("stale", stale);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Failed to write staleness report {}: {}", file, e.getMessage());
+        }
+        return stale;
+    }
+
+    public int size() {
+        return recordings.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRecorded() {
+        return recorded.get();
+    }
+
+    @Override
+    public String toString() {
+        return "mode=" + mode + ", stored=" + recordings.size() + ", hits=" + hits.get()
+                + ", misses=" + misses.get() + ", recorded=" + recorded.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(store))) {
+            Map<String, Object> content = new Json().toType(
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8), Json.MAP_TYPE);
+            content.forEach((key, value) -> recordings.put(key, Recording.fromMap((Map<String, Object>) value)));
+            log.info("Loaded {} backend recordings from {}", recordings.size(), store);
+        } catch (IOException | JsonException | ClassCastException e) {
+            log.warn("Ignoring unreadable replay store {}: {}", store, e.getMessage());
+        }
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One stored response. Text bodies are kept as strings so the store stays small and diffable
+     * once unzipped; anything else is base64.
+     */
+    static final class Recording {
+        private final int status;
+        private final Map<String, String> headers;
+        private final byte[] body;
+        private final String sha256;
+        private final long recordedAt;
+
+        Recording(int status, Map<String, String> headers, byte[] body, String sha256, long recordedAt) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.sha256 = sha256;
+            this.recordedAt = recordedAt;
+        }
+
+        static Recording of(HttpResponse response, byte[] body) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            response.forEachHeader((name, value) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.put(name, value);
+                }
+            });
+            return new Recording(response.getStatus(), headers, body, sha256(body), System.currentTimeMillis());
+        }
+
+        HttpResponse toResponse() {
+            HttpResponse response = new HttpResponse().setStatus(status);
+            headers.forEach(response::setHeader);
+            return response.setContent(Contents.bytes(body));
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("status", status);
+            map.put("headers", headers);
+            if (isText()) {
+                map.put("body", new String(body, StandardCharsets.UTF_8));
+            } else {
+                map.put("base64", Base64.getEncoder().encodeToString(body));
+            }
+            map.put("sha256", sha256);
+            map.put("recordedAt", recordedAt);
+            return map;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Recording fromMap(Map<String, Object> map) {
+            byte[] body = map.containsKey("body")
+                    ? String.valueOf(map.get("body")).getBytes(StandardCharsets.UTF_8)
+                    : Base64.getDecoder().decode(String.valueOf(map.get("base64")));
+            Map<String, String> headers = new LinkedHashMap<>();
+            ((Map<String, Object>) map.get("headers")).forEach((name, value) -> headers.put(name, String.valueOf(value)));
+            return new Recording(((Number) map.get("status")).intValue(), headers, body,
+                    String.valueOf(map.get("sha256")), ((Number) map.get("recordedAt")).longValue());
+        }
+
+        private boolean isText() {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                if (header.getKey().equalsIgnoreCase("content-type")) {
+                    String type = header.getValue().toLowerCase(Locale.ROOT);
+                    return type.startsWith("text/") || type.contains("json") || type.contains("xml");
+                }
+            }
+            return false;
+        }
+    }
+}
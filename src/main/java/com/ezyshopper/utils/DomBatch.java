@@ -0,0 +1,254 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads texts, attributes and visibility for several locators in a single executeScript
+ * round trip instead of one WebDriver call per element and property.
+ *
+ * <pre>
+ * DomBatch.Result result = DomBatch.query(driver)
+ *         .all("names", productNames)
+ *         .first("title", pageTitle, "class")
+ *         .execute();
+ * </pre>
+ */
+public class DomBatch {
+
+    // find(spec, root) returns the nodes matching a {using, value} locator spec, inside root when
+    // given (absolute XPaths are then made relative to it); shared with ElementCache
+    static final String FIND_FUNCTION =
+            "function find(spec, root) {"
+            + "  var scope = root || document;"
+            + "  if (spec.using === 'xpath') {"
+            + "    var expression = root && spec.value.charAt(0) === '/' ? '.' + spec.value : spec.value;"
+            + "    var snapshot = document.evaluate(expression, scope, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "    var nodes = [];"
+            + "    for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }"
+            + "    return nodes;"
+            + "  }"
+            + "  var list = function(nodes) { return Array.prototype.slice.call(nodes); };"
+            + "  switch (spec.using) {"
+            + "    case 'css selector': return list(scope.querySelectorAll(spec.value));"
+            + "    case 'id':"
+            + "      if (root) { return list(root.querySelectorAll('#' + CSS.escape(spec.value))); }"
+            + "      var el = document.getElementById(spec.value); return el ? [el] : [];"
+            + "    case 'class name': return list(scope.getElementsByClassName(spec.value));"
+            + "    case 'name': return list(scope.querySelectorAll('[name=\"' + CSS.escape(spec.value) + '\"]'));"
+            + "    case 'tag name': return list(scope.getElementsByTagName(spec.value));"
+            + "    case 'link text':"
+            + "      return list(scope.querySelectorAll('a')).filter(function(a) { return a.innerText.trim() === spec.value; });"
+            + "    case 'partial link text':"
+            + "      return list(scope.querySelectorAll('a')).filter(function(a) { return a.innerText.indexOf(spec.value) >= 0; });"
+            + "  }"
+            + "  throw new Error('Unsupported locator strategy for batch query: ' + spec.using);"
+            + "}";
+
+    static final String SCRIPT =
+            "var specs = arguments[0], out = {};"
+            + FIND_FUNCTION
+            + "function text(el) { return (el.innerText || el.textContent || '').trim(); }"
+            + "function visible(el) {"
+            + "  var style = window.getComputedStyle(el), rect = el.getBoundingClientRect();"
+            + "  return style.display !== 'none' && style.visibility !== 'hidden' && (rect.width > 0 || rect.height > 0);"
+            + "}"
+            + "specs.forEach(function(spec) {"
+            + "  var nodes = find(spec);"
+            + "  if (!spec.all) { nodes = nodes.slice(0, 1); }"
+            + "  out[spec.key] = nodes.map(function(el) {"
+            + "    var attributes = {};"
+            + "    spec.attributes.forEach(function(name) { attributes[name] = el.getAttribute(name); });"
+            + "    var fields = {};"
+            + "    (spec.fields || []).forEach(function(field) {"
+            + "      var match = find(field, el)[0]; fields[field.name] = match ? text(match) : null;"
+            + "    });"
+            + "    return { text: text(el), visible: visible(el), attributes: attributes, fields: fields };"
+            + "  });"
+            + "});"
+            + "return out;";
+
+    private final WebDriver driver;
+    private final List<Map<String, Object>> specs = new ArrayList<>();
+
+    private DomBatch(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Start a batch query against the given driver
+     */
+    public static DomBatch query(WebDriver driver) {
+        return new DomBatch(driver);
+    }
+
+    /**
+     * Read the first element matching the locator
+     */
+    public DomBatch first(String key, By locator, String... attributes) {
+        return add(key, locator, false, attributes);
+    }
+
+    /**
+     * Read every element matching the locator
+     */
+    public DomBatch all(String key, By locator, String... attributes) {
+        return add(key, locator, true, attributes);
+    }
+
+    /**
+     * Read every element matching the container locator as one record, with the text of the
+     * first match of each field locator inside it (null when a container has no such element).
+     * Absolute XPath field locators are evaluated relative to the container.
+     */
+    public DomBatch records(String key, By container, Map<String, By> fields) {
+        add(key, container, true);
+        List<Map<String, Object>> fieldSpecs = new ArrayList<>();
+        fields.forEach((name, locator) -> {
+            Map<String, Object> field = locatorSpec(locator);
+            field.put("name", name);
+            fieldSpecs.add(field);
+        });
+        specs.get(specs.size() - 1).put("fields", fieldSpecs);
+        return this;
+    }
+
+    /**
+     * Run all queued lookups in one script call
+     */
+    @SuppressWarnings("unchecked")
+    public Result execute() {
+        Object raw = ((JavascriptExecutor) driver).executeScript(SCRIPT, specs);
+        Map<String, Object> results = raw instanceof Map ? (Map<String, Object>) raw : Collections.emptyMap();
+
+        Map<String, List<ElementSnapshot>> elements = new LinkedHashMap<>();
+        for (Map<String, Object> spec : specs) {
+            String key = (String) spec.get("key");
+            List<ElementSnapshot> snapshots = new ArrayList<>();
+            Object value = results.get(key);
+            if (value instanceof List) {
+                for (Object item : (List<Object>) value) {
+                    Map<String, Object> element = (Map<String, Object>) item;
+                    Object attributes = element.get("attributes");
+                    Object fields = element.get("fields");
+                    snapshots.add(new ElementSnapshot(
+                            String.valueOf(element.get("text")),
+                            Boolean.TRUE.equals(element.get("visible")),
+                            attributes instanceof Map ? (Map<String, Object>) attributes : Collections.emptyMap(),
+                            fields instanceof Map ? (Map<String, Object>) fields : Collections.emptyMap()));
+                }
+            }
+            elements.put(key, Collections.unmodifiableList(snapshots));
+        }
+        return new Result(elements);
+    }
+
+    private DomBatch add(String key, By locator, boolean all, String... attributes) {
+        Map<String, Object> spec = locatorSpec(locator);
+        spec.put("key", key);
+        spec.put("all", all);
+        spec.put("attributes", Arrays.asList(attributes));
+        specs.add(spec);
+        return this;
+    }
+
+    private static Map<String, Object> locatorSpec(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be evaluated in a batch query: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("using", parameters.using());
+        spec.put("value", parameters.value());
+        return spec;
+    }
+
+    /**
+     * Elements read by a batch query, keyed by the name they were queued under
+     */
+    public static final class Result {
+        private final Map<String, List<ElementSnapshot>> elements;
+
+        Result(Map<String, List<ElementSnapshot>> elements) {
+            this.elements = elements;
+        }
+
+        public List<ElementSnapshot> get(String key) {
+            List<ElementSnapshot> found = elements.get(key);
+            return found == null ? Collections.emptyList() : found;
+        }
+
+        public int count(String key) {
+            return get(key).size();
+        }
+
+        public boolean isPresent(String key) {
+            return !get(key).isEmpty();
+        }
+
+        public boolean isVisible(String key) {
+            return isPresent(key) && get(key).get(0).isVisible();
+        }
+
+        /**
+         * Text of the first element, or an empty string if none matched
+         */
+        public String text(String key) {
+            return isPresent(key) ? get(key).get(0).getText() : "";
+        }
+
+        public List<String> texts(String key) {
+            List<String> texts = new ArrayList<>();
+            for (ElementSnapshot element : get(key)) {
+                texts.add(element.getText());
+            }
+            return texts;
+        }
+    }
+
+    /**
+     * Text, visibility and requested attributes of one element at query time
+     */
+    public static final class ElementSnapshot {
+        private final String text;
+        private final boolean visible;
+        private final Map<String, Object> attributes;
+        private final Map<String, Object> fields;
+
+        ElementSnapshot(String text, boolean visible, Map<String, Object> attributes, Map<String, Object> fields) {
+            this.text = text;
+            this.visible = visible;
+            this.attributes = attributes;
+            this.fields = fields;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        public String getAttribute(String name) {
+            Object value = attributes.get(name);
+            return value == null ? null : String.valueOf(value);
+        }
+
+        /**
+         * Text of a field read by {@link DomBatch#records}, or null if the element has none
+         */
+        public String getField(String name) {
+            Object value = fields.get(name);
+            return value == null ? null : String.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Thread-confined holder for the WebDriver used by the current test thread,
+ * so page objects and SeleniumUtils can run safely when tests execute in parallel
+ */
+public class DriverManager {
+
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+
+    private DriverManager() {
+    }
+
+    /**
+     * Bind a driver to the current thread
+     */
+    public static void setDriver(WebDriver driver) {
+        if (driver == null) {
+            throw new IllegalArgumentException("driver must not be null");
+        }
+        DRIVER.set(driver);
+    }
+
+    /**
+     * Get the driver bound to the current thread
+     */
+    public static WebDriver getDriver() {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            throw new IllegalStateException("No WebDriver bound to thread " + Thread.currentThread().getName()
+                    + "; call DriverManager.setDriver() in the test setup");
+        }
+        return driver;
+    }
+
+    /**
+     * Check whether the current thread has a driver bound
+     */
+    public static boolean hasDriver() {
+        return DRIVER.get() != null;
+    }
+
+    /**
+     * Unbind the current thread's driver and return it, or null if none was bound
+     */
+    public static WebDriver removeDriver() {
+        WebDriver driver = DRIVER.get();
+        DRIVER.remove();
+        return driver;
+    }
+}
@@ -0,0 +1,245 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Chrome options for each DriverTier, plus startup time and browser memory per tier so the
+ * fast tier's savings can be checked against the full profile.
+ */
+public class DriverProfiles {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverProfiles.class);
+
+    private static final Map<DriverTier, Stats> STATS = new EnumMap<>(DriverTier.class);
+
+    static {
+        for (DriverTier tier : DriverTier.values()) {
+            STATS.put(tier, new Stats());
+        }
+    }
+
+    private DriverProfiles() {
+    }
+
+    /**
+     * Chrome options for the tier
+     */
+    public static ChromeOptions options(DriverTier tier) {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--no-sandbox", "--disable-dev-shm-usage");
+        options.addArguments("--disable-gpu", "--disable-extensions");
+        options.addArguments("--remote-allow-origins=*");
+        options.setExperimentalOption("excludeSwitches", Arrays.asList("enable-automation"));
+        if (tier == DriverTier.FULL) {
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+            return options;
+        }
+        if (!TestConfig.HEADLESS_SHELL_BINARY.isEmpty()) {
+            options.setBinary(TestConfig.HEADLESS_SHELL_BINARY);
+        } else {
+            // Chrome 132 removed the old headless mode (the built-in headless shell), so without
+            // a chrome-headless-shell binary the fast tier keeps the new headless mode
+            options.addArguments("--headless=new");
+        }
+        options.addArguments("--window-size=" + TestConfig.FAST_WINDOW_SIZE);
+        options.addArguments("--blink-settings=imagesEnabled=false");
+        options.addArguments("--no-first-run", "--disable-sync", "--disable-background-networking",
+                "--disable-component-update", "--mute-audio");
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.managed_default_content_settings.images", 2);
+        options.setExperimentalOption("prefs", prefs);
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        return options;
+    }
+
+    /**
+     * Start a session for the tier with the given launcher, recording its startup time and memory.
+     * Local sessions run on a pre-warmed profile from ProfileDirPool, returned when the driver quits;
+     * remote ones keep the node's own profile handling.
+     */
+    public static WebDriver start(DriverTier tier, boolean local, Function<ChromeOptions, WebDriver> launcher) {
+        ChromeOptions options = options(tier);
+        ProfileDirPool.Lease profile = null;
+        if (local && tier == DriverTier.FAST && !TestConfig.HEADLESS_SHELL_BINARY.isEmpty()
+                && !Files.isExecutable(Paths.get(TestConfig.HEADLESS_SHELL_BINARY))) {
+            throw new IllegalStateException("headlessShellBinary " + TestConfig.HEADLESS_SHELL_BINARY
+                    + " is not an executable file; install chrome-headless-shell there or leave it blank"
+                    + " to run the fast tier on Chrome's new headless mode");
+        }
+        if (local) {
+            profile = ProfileDirPool.shared().lease();
+            options.addArguments("--user-data-dir=" + profile.getPath());
+        }
+        long start = System.nanoTime();
+        WebDriver driver;
+        try {
+            driver = launcher.apply(options);
+        } catch (RuntimeException e) {
+            if (profile != null) {
+                profile.release();
+            }
+            throw e;
+        }
+        long startupMillis = (System.nanoTime() - start) / 1_000_000;
+        long memoryKb = browserMemoryKb(driver);
+        STATS.get(tier).record(startupMillis, memoryKb);
+        log.debug("Started {} driver in {} ms, browser memory {} KB", tier, startupMillis, memoryKb);
+        return profile != null ? ProfileDirPool.releaseOnQuit(driver, profile) : driver;
+    }
+
+    public static Stats getStats(DriverTier tier) {
+        return STATS.get(tier);
+    }
+
+    /**
+     * One line per tier used, and the fast tier's savings when both were used
+     */
+    public static String comparison() {
+        StringBuilder report = new StringBuilder();
+        for (DriverTier tier : DriverTier.values()) {
+            if (STATS.get(tier).getLaunches() > 0) {
+                report.append(tier).append(": ").append(STATS.get(tier)).append('\n');
+            }
+        }
+        Stats fast = STATS.get(DriverTier.FAST);
+        Stats full = STATS.get(DriverTier.FULL);
+        if (fast.getLaunches() > 0 && full.getLaunches() > 0) {
+            report.append(String.format("FAST vs FULL: startup %+.0f%%", percent(fast.getAverageStartupMillis(),
+                    full.getAverageStartupMillis())));
+            if (fast.getMemorySamples() > 0 && full.getMemorySamples() > 0) {
+                report.append(String.format(", memory %+.0f%%", percent(fast.getAverageMemoryKb(), full.getAverageMemoryKb())));
+            }
+            report.append('\n');
+        }
+        return report.toString();
+    }
+
+    /**
+     * Write the per-tier stats as JSON
+     */
+    public static void exportJson(Path file) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (DriverTier tier : DriverTier.values()) {
+            Stats stats = STATS.get(tier);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("launches", stats.getLaunches());
+            entry.put("averageStartupMs", stats.getAverageStartupMillis());
+            entry.put("maxStartupMs", stats.getMaxStartupMillis());
+            entry.put("averageMemoryKb", stats.getMemorySamples() > 0 ? stats.getAverageMemoryKb() : null);
+            report.put(tier.name(), entry);
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Failed to write driver tier report {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Resident memory of the browser's processes; only available for local sessions with CDP
+    @SuppressWarnings("unchecked")
+    static long browserMemoryKb(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            return -1;
+        }
+        try {
+            Map<String, Object> info = ((HasCdp) driver).executeCdpCommand("SystemInfo.getProcessInfo",
+                    Collections.emptyMap());
+            long total = 0;
+            for (Map<String, Object> process : (List<Map<String, Object>>) info.get("processInfo")) {
+                total += residentKb(((Number) process.get("id")).longValue());
+            }
+            return total > 0 ? total : -1;
+        } catch (WebDriverException | ClassCastException | NullPointerException e) {
+            return -1;
+        }
+    }
+
+    private static long residentKb(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux, or the process belongs to a remote host
+        }
+        return 0;
+    }
+
+    private static double percent(double value, double baseline) {
+        return baseline == 0 ? 0 : (value - baseline) / baseline * 100;
+    }
+
+    /**
+     * Launch statistics for one tier
+     */
+    public static final class Stats {
+        private final AtomicLong launches = new AtomicLong();
+        private final AtomicLong totalStartupMillis = new AtomicLong();
+        private final AtomicLong maxStartupMillis = new AtomicLong();
+        private final AtomicLong memorySamples = new AtomicLong();
+        private final AtomicLong totalMemoryKb = new AtomicLong();
+
+        void record(long startupMillis, long memoryKb) {
+            launches.incrementAndGet();
+            totalStartupMillis.addAndGet(startupMillis);
+            maxStartupMillis.accumulateAndGet(startupMillis, Math::max);
+            if (memoryKb > 0) {
+                memorySamples.incrementAndGet();
+                totalMemoryKb.addAndGet(memoryKb);
+            }
+        }
+
+        public long getLaunches() {
+            return launches.get();
+        }
+
+        public double getAverageStartupMillis() {
+            return launches.get() == 0 ? 0 : (double) totalStartupMillis.get() / launches.get();
+        }
+
+        public long getMaxStartupMillis() {
+            return maxStartupMillis.get();
+        }
+
+        public long getMemorySamples() {
+            return memorySamples.get();
+        }
+
+        public double getAverageMemoryKb() {
+            return memorySamples.get() == 0 ? 0 : (double) totalMemoryKb.get() / memorySamples.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d launches, startup avg %.0f ms / max %d ms, memory %s", getLaunches(),
+                    getAverageStartupMillis(), getMaxStartupMillis(),
+                    memorySamples.get() == 0 ? "n/a" : String.format("avg %.1f MB", getAverageMemoryKb() / 1024));
+        }
+    }
+}
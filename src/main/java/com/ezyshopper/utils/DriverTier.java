@@ -0,0 +1,11 @@
+package com.ezyshopper.utils;
+
+/**
+ * Browser profile a test runs with; see DriverProfiles for the options of each tier
+ */
+public enum DriverTier {
+    /** Full desktop browser: 1920x1080, images, normal page-load strategy */
+    FULL,
+    /** Headless shell (or new headless mode), small viewport, no images, eager page loads */
+    FAST
+}
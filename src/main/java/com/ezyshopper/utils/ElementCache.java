@@ -0,0 +1,116 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-driver cache of element lookups, valid for one page state. The page state is the
+ * PageReadiness tracker's document id and DOM mutation count, so navigating or any DOM change
+ * invalidates every entry. Each lookup is a single script call that either confirms the cached
+ * elements (no query, no new element references) or runs the query and returns fresh elements.
+ *
+ * <p>{@link #findAll} does not wait: like {@link ElementPresence#findAllNow}, an absent element gives
+ * an empty list. Reads that expect the elements to be there use {@link #awaitAll}.
+ */
+public class ElementCache {
+
+    static final String SCRIPT =
+            DomBatch.FIND_FUNCTION
+            + "var s = window.__ezyReadiness;"
+            + "var stamp = s && s.id !== undefined ? s.id + ':' + s.mutations : null;"
+            + "if (stamp !== null && stamp === arguments[1]) { return [stamp]; }"
+            + "return [stamp, find(arguments[0])];";
+
+    private static final Map<WebDriver, Map<By, Entry>> CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private ElementCache() {
+    }
+
+    /**
+     * All elements matching the locator in the current page state
+     */
+    @SuppressWarnings("unchecked")
+    public static List<WebElement> findAll(WebDriver driver, By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return ElementPresence.findAllNow(driver, locator);
+        }
+        Map<By, Entry> cache = CACHES.computeIfAbsent(driver, d -> new ConcurrentHashMap<>());
+        Entry cached = cache.get(locator);
+        Object raw = ((JavascriptExecutor) driver).executeScript(SCRIPT, spec(locator),
+                cached == null ? null : cached.stamp);
+        List<Object> result = raw instanceof List ? (List<Object>) raw : Collections.emptyList();
+        String stamp = result.isEmpty() || result.get(0) == null ? null : String.valueOf(result.get(0));
+
+        if (result.size() == 1 && cached != null) {
+            hits.incrementAndGet();
+            return cached.elements;
+        }
+        misses.incrementAndGet();
+        List<WebElement> elements = result.size() > 1 && result.get(1) instanceof List
+                ? Collections.unmodifiableList((List<WebElement>) result.get(1)) : Collections.emptyList();
+        if (stamp != null) {
+            cache.put(locator, new Entry(stamp, elements));
+        } else {
+            // No tracker on this page, so there is nothing to validate a cached entry against
+            cache.remove(locator);
+        }
+        return elements;
+    }
+
+    /**
+     * Like findAll, but when nothing matches yet waits up to the explicit wait for the first match
+     */
+    public static List<WebElement> awaitAll(WebDriver driver, By locator) {
+        List<WebElement> elements = findAll(driver, locator);
+        if (elements.isEmpty() && ElementPresence.awaitPresent(driver, locator)) {
+            elements = findAll(driver, locator);
+        }
+        return elements;
+    }
+
+    /**
+     * Drop every cached lookup for the driver, e.g. when it is returned to the pool
+     */
+    public static void invalidate(WebDriver driver) {
+        CACHES.remove(driver);
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    private static Map<String, Object> spec(By locator) {
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("using", parameters.using());
+        spec.put("value", parameters.value());
+        return spec;
+    }
+
+    private static final class Entry {
+        private final String stamp;
+        private final List<WebElement> elements;
+
+        Entry(String stamp, List<WebElement> elements) {
+            this.stamp = stamp;
+            this.elements = elements;
+        }
+    }
+}
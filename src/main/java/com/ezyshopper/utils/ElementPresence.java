@@ -0,0 +1,176 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fast-fail element presence checks. Lookups run with the implicit wait switched off and
+ * poll for a short bounded window instead, so a negative check (e.g. "is the logout button
+ * visible" on a logged-out page) costs milliseconds rather than the full implicit wait.
+ * Checks that expect the element to be there use {@link #awaitPresent} instead, which waits
+ * up to the explicit wait so a slow render does not read as a missing element.
+ */
+public class ElementPresence {
+
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final AtomicLong positiveCount = new AtomicLong();
+    private static final AtomicLong positiveNanos = new AtomicLong();
+    private static final AtomicLong negativeCount = new AtomicLong();
+    private static final AtomicLong negativeNanos = new AtomicLong();
+
+    private ElementPresence() {
+    }
+
+    /**
+     * Check if element is present, polling for up to the configured presence window
+     */
+    public static boolean isPresent(WebDriver driver, By locator) {
+        return isPresent(driver, locator, Duration.ofMillis(TestConfig.PRESENCE_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Check if element is present, polling for up to the given window
+     */
+    public static boolean isPresent(WebDriver driver, By locator, Duration within) {
+        long start = System.nanoTime();
+        long deadline = start + within.toNanos();
+        boolean found = false;
+        Duration implicitWait = disableImplicitWait(driver);
+        try {
+            while (true) {
+                if (!driver.findElements(locator).isEmpty()) {
+                    found = true;
+                    return true;
+                }
+                if (System.nanoTime() + POLL_NANOS > deadline) {
+                    return false;
+                }
+                LockSupport.parkNanos(POLL_NANOS);
+            }
+        } finally {
+            restoreImplicitWait(driver, implicitWait);
+            record(found, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Find all matching elements right now, without waiting for any to appear
+     */
+    public static List<WebElement> findAllNow(WebDriver driver, By locator) {
+        long start = System.nanoTime();
+        List<WebElement> elements = null;
+        Duration implicitWait = disableImplicitWait(driver);
+        try {
+            elements = driver.findElements(locator);
+            return elements;
+        } finally {
+            restoreImplicitWait(driver, implicitWait);
+            record(elements != null && !elements.isEmpty(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Check for an element the page is expected to show, waiting up to the explicit wait for it
+     */
+    public static boolean awaitPresent(WebDriver driver, By locator) {
+        return !awaitAll(driver, locator, Duration.ofSeconds(TestConfig.EXPLICIT_WAIT)).isEmpty();
+    }
+
+    /**
+     * All matching elements once at least one is there, waiting up to the given timeout;
+     * empty if none appears
+     */
+    public static List<WebElement> awaitAll(WebDriver driver, By locator, Duration timeout) {
+        long start = System.nanoTime();
+        List<WebElement> elements = Collections.emptyList();
+        try {
+            elements = AdaptiveWait.of(driver).until("awaitPresent", timeout,
+                    ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+            return elements;
+        } catch (TimeoutException e) {
+            return elements;
+        } finally {
+            record(!elements.isEmpty(), System.nanoTime() - start);
+        }
+    }
+
+    public static Metrics getMetrics() {
+        return new Metrics(positiveCount.get(), positiveNanos.get(), negativeCount.get(), negativeNanos.get());
+    }
+
+    static Duration disableImplicitWait(WebDriver driver) {
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        Duration implicitWait = timeouts.getImplicitWaitTimeout();
+        if (implicitWait != null && !implicitWait.isZero()) {
+            timeouts.implicitlyWait(Duration.ZERO);
+            return implicitWait;
+        }
+        return null;
+    }
+
+    static void restoreImplicitWait(WebDriver driver, Duration implicitWait) {
+        if (implicitWait != null) {
+            driver.manage().timeouts().implicitlyWait(implicitWait);
+        }
+    }
+
+    private static void record(boolean found, long nanos) {
+        if (found) {
+            positiveCount.incrementAndGet();
+            positiveNanos.addAndGet(nanos);
+        } else {
+            negativeCount.incrementAndGet();
+            negativeNanos.addAndGet(nanos);
+        }
+    }
+
+    /**
+     * Lookup counts and time spent, split by whether the element was found
+     */
+    public static final class Metrics {
+        private final long positiveCount;
+        private final long positiveNanos;
+        private final long negativeCount;
+        private final long negativeNanos;
+
+        Metrics(long positiveCount, long positiveNanos, long negativeCount, long negativeNanos) {
+            this.positiveCount = positiveCount;
+            this.positiveNanos = positiveNanos;
+            this.negativeCount = negativeCount;
+            this.negativeNanos = negativeNanos;
+        }
+
+        public long getPositiveCount() {
+            return positiveCount;
+        }
+
+        public Duration getPositiveTime() {
+            return Duration.ofNanos(positiveNanos);
+        }
+
+        public long getNegativeCount() {
+            return negativeCount;
+        }
+
+        public Duration getNegativeTime() {
+            return Duration.ofNanos(negativeNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "found=" + positiveCount + " (" + positiveNanos / 1_000_000 + " ms), "
+                    + "notFound=" + negativeCount + " (" + negativeNanos / 1_000_000 + " ms)";
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory ring buffer of the last actions on the current test thread: locator, URL, the DOM
+ * state and optionally a low-resolution screenshot. The DOM state is the PageReadiness tracker's
+ * document id and mutation count, so consecutive actions on an unchanged page share a state
+ * without serialising the DOM. Nothing touches the disk unless
+ * {@link #dump(Path, Throwable)} is called, which the failure extension does only for failed tests.
+ */
+public class FailureTrail {
+
+    private static final Logger log = LoggerFactory.getLogger(FailureTrail.class);
+
+    // <document id>:<mutation count> from the readiness tracker (null without one), plus viewport size for the screenshot clip
+    static final String STATE_SCRIPT =
+            "var s = window.__ezyReadiness;"
+            + "return [location.href, s && s.id !== undefined ? s.id + ':' + s.mutations : null,"
+            + "  window.innerWidth, window.innerHeight];";
+
+    private static final double SCREENSHOT_SCALE = 0.25;
+
+    private static final ThreadLocal<Deque<Entry>> TRAIL = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private FailureTrail() {
+    }
+
+    /**
+     * Listener that records navigations, lookups, clicks and typing.
+     * Attach with {@code new EventFiringDecorator<>(FailureTrail.listener()).decorate(driver)}.
+     */
+    public static WebDriverListener listener() {
+        return new ActionListener();
+    }
+
+    /**
+     * Forget the recorded actions, e.g. at the start of each test
+     */
+    public static void clear() {
+        TRAIL.get().clear();
+    }
+
+    /**
+     * Record a lookup. Cheap: no browser round trip.
+     */
+    public static void recordLookup(String action, By locator) {
+        add(new Entry(System.currentTimeMillis(), action, String.valueOf(locator), null, null, null));
+    }
+
+    /**
+     * Record an action that may change the page, with URL, DOM state and (if enabled) a screenshot
+     */
+    public static void recordState(WebDriver driver, String action, String target) {
+        String url = null;
+        String domState = null;
+        byte[] screenshot = null;
+        try {
+            Object state = ((JavascriptExecutor) driver).executeScript(STATE_SCRIPT);
+            if (state instanceof List && ((List<?>) state).size() == 4) {
+                List<?> values = (List<?>) state;
+                url = String.valueOf(values.get(0));
+                domState = values.get(1) == null ? null : String.valueOf(values.get(1));
+                if (TestConfig.FAILURE_TRAIL_SCREENSHOTS) {
+                    screenshot = lowResScreenshot(driver, (Number) values.get(2), (Number) values.get(3));
+                }
+            }
+        } catch (WebDriverException | ClassCastException e) {
+            log.debug("Could not read page state for {}: {}", action, e.getMessage());
+        }
+        add(new Entry(System.currentTimeMillis(), action, target, url, domState, screenshot));
+    }
+
+    /**
+     * Actions recorded on this thread, oldest first
+     */
+    public static List<Entry> getEntries() {
+        return new ArrayList<>(TRAIL.get());
+    }
+
+    /**
+     * Write this thread's trail into the given directory: trail.json plus one image per screenshot.
+     * Files are written by the shared ArtifactWriter.
+     */
+    public static void dump(Path dir, Throwable failure) {
+        List<Entry> entries = getEntries();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            Map<String, Object> row = entry.toMap();
+            if (entry.screenshot != null) {
+                String name = String.format("step-%02d.jpg", i);
+                ArtifactWriter.shared().submit(dir.resolve(name), entry.screenshot, ArtifactWriter.Encoding.RAW);
+                row.put("screenshot", name);
+            }
+            rows.add(row);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("failure", failure == null ? null : failure.toString());
+        report.put("actions", rows);
+        ArtifactWriter.shared().submit(dir.resolve("trail.json"),
+                new Json().toJson(report).getBytes(StandardCharsets.UTF_8), ArtifactWriter.Encoding.RAW);
+        log.info("Failure trail ({} actions) queued to {}", entries.size(), dir);
+    }
+
+    private static void add(Entry entry) {
+        Deque<Entry> trail = TRAIL.get();
+        if (trail.size() >= TestConfig.FAILURE_TRAIL_SIZE) {
+            trail.removeFirst();
+        }
+        trail.addLast(entry);
+    }
+
+    private static byte[] lowResScreenshot(WebDriver driver, Number width, Number height) {
+        if (!(driver instanceof HasCdp)) {
+            return null;
+        }
+        Map<String, Object> clip = new HashMap<>();
+        clip.put("x", 0);
+        clip.put("y", 0);
+        clip.put("width", width);
+        clip.put("height", height);
+        clip.put("scale", SCREENSHOT_SCALE);
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", "jpeg");
+        params.put("quality", 40);
+        params.put("clip", clip);
+        Object data = ((HasCdp) driver).executeCdpCommand("Page.captureScreenshot", params).get("data");
+        return data == null ? null : Base64.getDecoder().decode(data.toString());
+    }
+
+    private static String describe(WebElement element) {
+        // RemoteWebElement.toString ends with the locator chain, e.g. "... -> id: email]"
+        String text = String.valueOf(element);
+        int arrow = text.lastIndexOf("-> ");
+        return arrow >= 0 ? text.substring(arrow + 3, text.length() - (text.endsWith("]") ? 1 : 0)) : text;
+    }
+
+    /**
+     * Public so EventFiringDecorator can invoke it reflectively
+     */
+    public static final class ActionListener implements WebDriverListener {
+        @Override
+        public void afterGet(WebDriver driver, String url) {
+            recordState(driver, "get", url);
+        }
+
+        @Override
+        public void afterFindElement(WebDriver driver, By locator, WebElement result) {
+            recordLookup("findElement", locator);
+        }
+
+        @Override
+        public void afterFindElements(WebDriver driver, By locator, List<WebElement> result) {
+            recordLookup("findElements", locator);
+        }
+
+        @Override
+        public void afterClick(WebElement element) {
+            recordElementAction("click", element);
+        }
+
+        @Override
+        public void afterSendKeys(WebElement element, CharSequence... keysToSend) {
+            recordElementAction("sendKeys", element);
+        }
+
+        private static void recordElementAction(String action, WebElement element) {
+            if (element instanceof WrapsDriver) {
+                recordState(((WrapsDriver) element).getWrappedDriver(), action, describe(element));
+            } else {
+                add(new Entry(System.currentTimeMillis(), action, describe(element), null, null, null));
+            }
+        }
+    }
+
+    /**
+     * One recorded action
+     */
+    public static final class Entry {
+        private final long timestamp;
+        private final String action;
+        private final String target;
+        private final String url;
+        private final String domState;
+        private final byte[] screenshot;
+
+        Entry(long timestamp, String action, String target, String url, String domState, byte[] screenshot) {
+            this.timestamp = timestamp;
+            this.action = action;
+            this.target = target;
+            this.url = url;
+            this.domState = domState;
+            this.screenshot = screenshot;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Document id and mutation count at the time of the action; equal values mean an unchanged DOM
+         */
+        public String getDomState() {
+            return domState;
+        }
+
+        public boolean hasScreenshot() {
+            return screenshot != null;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("timestamp", timestamp);
+            row.put("action", action);
+            row.put("target", target);
+            row.put("url", url);
+            row.put("domState", domState);
+            return row;
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Distributes tests over several remote Selenium endpoints. Tests are planned
+ * longest-processing-time-first from their TestHistory durations, each node runs at most
+ * its slot count at once, and at runtime a test moves to another node when its planned
+ * node is full and further behind, has been drained after repeated session failures,
+ * or is running clearly slower than the others.
+ */
+public class GridScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(GridScheduler.class);
+
+    // Weight of the newest sample in a node's running actual/estimated duration ratio
+    private static final double RATIO_SMOOTHING = 0.3;
+    // Completed tests a node needs before it can be judged slow
+    private static final int MIN_SLOW_SAMPLES = 2;
+
+    private final List<Node> nodes;
+    private final Map<String, Duration> history;
+    private final Duration defaultEstimate;
+    private final int maxFailures;
+    private final double slowFactor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<String, Node> planned = new HashMap<>();
+    private final Map<String, Long> observedMillis = new TreeMap<>();
+    private int moved;
+
+    /**
+     * @param nodes           remote endpoints with their slot counts
+     * @param history         previous durations by test id; unknown tests use defaultEstimate
+     * @param maxFailures     consecutive session failures after which a node is drained
+     * @param slowFactor      how many times slower than the other nodes a node may run before work moves off it
+     */
+    public GridScheduler(List<Node> nodes, Map<String, Duration> history, Duration defaultEstimate,
+                         int maxFailures, double slowFactor) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one grid node is required");
+        }
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+        this.history = new HashMap<>(history);
+        this.defaultEstimate = defaultEstimate;
+        this.maxFailures = maxFailures;
+        this.slowFactor = slowFactor;
+    }
+
+    /**
+     * Scheduler over TestConfig.REMOTE_URLS, or null when no endpoints are configured
+     */
+    public static GridScheduler fromConfig(Map<String, Duration> history) {
+        if (TestConfig.REMOTE_URLS.isEmpty()) {
+            return null;
+        }
+        List<Node> nodes = new ArrayList<>();
+        for (String spec : TestConfig.REMOTE_URLS) {
+            nodes.add(Node.parse(spec, TestConfig.NODE_SLOTS));
+        }
+        return new GridScheduler(nodes, history, Duration.ofSeconds(TestConfig.DEFAULT_TEST_ESTIMATE_SECONDS),
+                TestConfig.NODE_MAX_FAILURES, TestConfig.NODE_SLOW_FACTOR);
+    }
+
+    /**
+     * Assign tests to nodes longest first, each to the node whose planned work per slot is lowest
+     *
+     * @return node url by test id
+     */
+    public Map<String, String> plan(Collection<String> tests) {
+        lock.lock();
+        try {
+            for (Node node : nodes) {
+                node.plannedMillis = 0;
+            }
+            planned.clear();
+            Map<String, String> plan = new LinkedHashMap<>();
+            for (String test : longestFirst(tests)) {
+                Node node = leastLoaded(nodes);
+                if (node == null) {
+                    break;
+                }
+                assign(test, node);
+                plan.put(test, node.url);
+            }
+            log.info("Grid plan: {} tests over {} nodes, estimated finish {}", plan.size(), nodes.size(), finishEstimates());
+            return plan;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait for a free slot for the test, on its planned node or on a better one
+     *
+     * @throws TimeoutException if no slot frees up in time
+     * @throws IllegalStateException if every node has been drained
+     */
+    public Lease acquire(String test, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        lock.lock();
+        try {
+            while (true) {
+                if (nodes.stream().noneMatch(node -> node.healthy)) {
+                    throw new IllegalStateException("All grid nodes have been drained: " + nodes);
+                }
+                Node node = choose(test);
+                if (node != null) {
+                    Node plannedNode = planned.remove(test);
+                    if (plannedNode != null) {
+                        plannedNode.plannedMillis -= estimateMillis(test);
+                    }
+                    if (plannedNode != null && plannedNode != node) {
+                        moved++;
+                        log.info("Moved {} from {} to {}", test, plannedNode.url, node.url);
+                    }
+                    node.running++;
+                    return new Lease(test, node, System.nanoTime());
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException("Timed out after " + timeout + " waiting for a grid slot for " + test);
+                }
+                changed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a grid slot", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Free the lease's slot
+     *
+     * @param nodeFailure the node could not start or keep a session; the test itself should be retried elsewhere
+     */
+    public void complete(Lease lease, boolean nodeFailure) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lease.startNanos);
+        lock.lock();
+        try {
+            Node node = lease.node;
+            node.running--;
+            if (nodeFailure) {
+                node.failures++;
+                if (++node.consecutiveFailures >= maxFailures && node.healthy) {
+                    node.healthy = false;
+                    log.warn("Draining grid node {} after {} consecutive failures", node.url, node.consecutiveFailures);
+                    redistribute(node);
+                }
+                // Queue the test again; it goes to another node once this one is drained
+                Node retry = leastLoaded(nodes);
+                if (retry != null && retry != node) {
+                    moved++;
+                }
+                assign(lease.test, retry != null ? retry : node);
+            } else {
+                node.consecutiveFailures = 0;
+                node.completed++;
+                observedMillis.put(lease.test, elapsedMillis);
+                double ratio = (double) Math.max(1, elapsedMillis) / Math.max(1, estimateMillis(lease.test));
+                node.ratio = node.completed == 1 ? ratio : node.ratio + RATIO_SMOOTHING * (ratio - node.ratio);
+                updateSlowNodes();
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Tests that ran on a node other than the one they were planned for
+     */
+    public int getMoved() {
+        lock.lock();
+        try {
+            return moved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Durations of the tests completed in this run
+     */
+    public Map<String, Duration> getObservedDurations() {
+        lock.lock();
+        try {
+            Map<String, Duration> durations = new TreeMap<>();
+            observedMillis.forEach((test, millis) -> durations.put(test, Duration.ofMillis(millis)));
+            return durations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write node statistics and the number of moved tests as JSON
+     */
+    public void exportJson(Path file) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        List<Map<String, Object>> nodeReports = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Node node : nodes) {
+                Map<String, Object> nodeReport = new LinkedHashMap<>();
+                nodeReport.put("url", node.url);
+                nodeReport.put("slots", node.slots);
+                nodeReport.put("completed", node.completed);
+                nodeReport.put("failures", node.failures);
+                nodeReport.put("healthy", node.healthy);
+                nodeReport.put("slow", node.slow);
+                nodeReport.put("durationRatio", node.ratio);
+                nodeReports.add(nodeReport);
+            }
+            report.put("moved", moved);
+        } finally {
+            lock.unlock();
+        }
+        report.put("nodes", nodeReports);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Failed to write grid report {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return nodes + ", moved " + moved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Planned node if it is usable and not further behind than an idle alternative, else the best free node
+    private Node choose(String test) {
+        Node plannedNode = planned.get(test);
+        Node alternative = null;
+        for (Node node : nodes) {
+            if (node == plannedNode || !node.healthy || node.running >= node.slots) {
+                continue;
+            }
+            if (alternative == null || (alternative.slow && !node.slow)
+                    || (alternative.slow == node.slow && node.loadPerSlot() < alternative.loadPerSlot())) {
+                alternative = node;
+            }
+        }
+        boolean plannedUsable = plannedNode != null && plannedNode.healthy;
+        if (plannedUsable && plannedNode.running < plannedNode.slots
+                && (!plannedNode.slow || alternative == null || alternative.slow)) {
+            return plannedNode;
+        }
+        if (alternative == null) {
+            return null;
+        }
+        if (!plannedUsable || plannedNode.slow) {
+            return alternative;
+        }
+        // Planned node is full: take a free slot elsewhere only if that node has less queued work
+        return alternative.loadPerSlot() < plannedNode.loadPerSlot() ? alternative : null;
+    }
+
+    private void assign(String test, Node node) {
+        planned.put(test, node);
+        node.plannedMillis += estimateMillis(test);
+    }
+
+    // Re-plan the tests still queued on a drained or slow node over the remaining nodes
+    private void redistribute(Node from) {
+        List<String> queued = new ArrayList<>();
+        planned.forEach((test, node) -> {
+            if (node == from) {
+                queued.add(test);
+            }
+        });
+        for (String test : longestFirst(queued)) {
+            Node target = leastLoaded(nodes);
+            if (target == null || target == from) {
+                return;
+            }
+            planned.remove(test);
+            from.plannedMillis -= estimateMillis(test);
+            assign(test, target);
+        }
+    }
+
+    private void updateSlowNodes() {
+        for (Node node : nodes) {
+            if (node.completed < MIN_SLOW_SAMPLES) {
+                continue;
+            }
+            double others = 0;
+            int count = 0;
+            for (Node other : nodes) {
+                if (other != node && other.healthy && other.completed >= MIN_SLOW_SAMPLES) {
+                    others += other.ratio;
+                    count++;
+                }
+            }
+            boolean slow = count > 0 && node.ratio > slowFactor * (others / count);
+            if (slow && !node.slow) {
+                log.warn("Grid node {} is running {}x slower than the others, moving its queued tests",
+                        node.url, String.format("%.1f", node.ratio / (others / count)));
+                node.slow = true;
+                redistribute(node);
+            } else if (!slow && node.slow) {
+                node.slow = false;
+            }
+        }
+    }
+
+    // Healthy node with the least planned work per slot, preferring nodes that are not slow
+    private static Node leastLoaded(List<Node> nodes) {
+        Node best = null;
+        for (Node node : nodes) {
+            if (!node.healthy) {
+                continue;
+            }
+            if (best == null || (best.slow && !node.slow)
+                    || (best.slow == node.slow && (node.plannedMillis + 1.0) / node.slots < (best.plannedMillis + 1.0) / best.slots)) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    private List<String> longestFirst(Collection<String> tests) {
+        List<String> sorted = new ArrayList<>(tests);
+        sorted.sort(Comparator.comparingLong(this::estimateMillis).reversed().thenComparing(Comparator.naturalOrder()));
+        return sorted;
+    }
+
+    private long estimateMillis(String test) {
+        Duration duration = history.get(test);
+        return (duration != null ? duration : defaultEstimate).toMillis();
+    }
+
+    private String finishEstimates() {
+        Map<String, Long> finish = new LinkedHashMap<>();
+        for (Node node : nodes) {
+            finish.put(node.url, node.plannedMillis / node.slots);
+        }
+        return finish + " ms";
+    }
+
+    /**
+     * Remote endpoint and its session slots. Counters are guarded by the scheduler's lock.
+     */
+    public static final class Node {
+        private final String url;
+        private final int slots;
+        private int running;
+        private long plannedMillis;
+        private int completed;
+        private int failures;
+        private int consecutiveFailures;
+        private double ratio = 1.0;
+        private boolean healthy = true;
+        private boolean slow;
+
+        public Node(String url, int slots) {
+            if (slots < 1) {
+                throw new IllegalArgumentException("slots must be at least 1: " + slots);
+            }
+            this.url = url;
+            this.slots = slots;
+        }
+
+        /**
+         * Parse {@code url} or {@code url|slots}
+         */
+        public static Node parse(String spec, int defaultSlots) {
+            int separator = spec.lastIndexOf('|');
+            if (separator < 0) {
+                return new Node(spec.trim(), defaultSlots);
+            }
+            return new Node(spec.substring(0, separator).trim(), Integer.parseInt(spec.substring(separator + 1).trim()));
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getSlots() {
+            return slots;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public boolean isSlow() {
+            return slow;
+        }
+
+        public int getCompleted() {
+            return completed;
+        }
+
+        public int getFailures() {
+            return failures;
+        }
+
+        private double loadPerSlot() {
+            return (double) plannedMillis / slots;
+        }
+
+        @Override
+        public String toString() {
+            return url + " [" + completed + " done, " + failures + " failed"
+                    + (healthy ? "" : ", drained") + (slow ? ", slow" : "") + "]";
+        }
+    }
+
+    /**
+     * A test's slot on a node, returned through {@link #complete(Lease, boolean)}
+     */
+    public static final class Lease {
+        private final String test;
+        private final Node node;
+        private final long startNanos;
+
+        Lease(String test, Node node, long startNanos) {
+            this.test = test;
+            this.node = node;
+            this.startNanos = startNanos;
+        }
+
+        public String getTest() {
+            return test;
+        }
+
+        public Node getNode() {
+            return node;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Driverless PageBackend: LoginPage, SignUpPage and CartPage actions become direct calls to
+ * the backend API. Typed fields are kept per page and sent when the form's submit button is
+ * clicked; auth cookies are kept for the session, and a rejected request shows up as the
+ * page's error message. Actions with no API equivalent throw UnsupportedOperationException.
+ */
+public class HttpBackend implements PageBackend {
+
+    static final String COUPON_PATH = "/api/coupons/validate";
+    static final String CHECKOUT_PATH = "/api/payments/create-checkout-session";
+
+    private static final String LOGIN_PAGE = "LoginPage";
+    private static final String SIGNUP_PAGE = "SignUpPage";
+    private static final String CART_PAGE = "CartPage";
+
+    private final String backendUrl;
+    private final HttpClient client;
+    private final Json json = new Json();
+    private final Map<String, Map<String, String>> forms = new ConcurrentHashMap<>();
+    private final Map<String, String> errors = new ConcurrentHashMap<>();
+    private volatile List<HttpCookie> cookies = Collections.emptyList();
+
+    public HttpBackend() {
+        this(TestConfig.BACKEND_URL);
+    }
+
+    public HttpBackend(String backendUrl) {
+        this.backendUrl = backendUrl.endsWith("/") ? backendUrl.substring(0, backendUrl.length() - 1) : backendUrl;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(TestConfig.EXPLICIT_WAIT))
+                .build();
+    }
+
+    @Override
+    public void type(String page, String field, By locator, String text) {
+        forms.computeIfAbsent(page, k -> new ConcurrentHashMap<>()).put(field, text);
+    }
+
+    @Override
+    public void click(String page, String control, By locator) {
+        switch (page + "." + control) {
+            case LOGIN_PAGE + ".submit":
+                authenticate(page, SessionBootstrapper.LOGIN_PATH, form(page, "email", "password"));
+                break;
+            case SIGNUP_PAGE + ".submit":
+                // The sign-up form checks this before it calls the backend
+                if (!field(page, "password").equals(field(page, "confirmPassword"))) {
+                    errors.put(page, "Passwords do not match");
+                    return;
+                }
+                authenticate(page, SessionBootstrapper.SIGNUP_PATH, form(page, "name", "email", "password"));
+                break;
+            case LOGIN_PAGE + ".signUpLink":
+            case SIGNUP_PAGE + ".loginLink":
+                // Navigation only
+                break;
+            case CART_PAGE + ".applyCoupon":
+                Map<String, Object> coupon = new LinkedHashMap<>();
+                coupon.put("code", field(page, "coupon"));
+                submit(page, post(COUPON_PATH, coupon));
+                break;
+            case CART_PAGE + ".checkout":
+                Map<String, Object> order = new LinkedHashMap<>();
+                order.put("products", cartItems());
+                order.put("couponCode", field(page, "coupon").isEmpty() ? null : field(page, "coupon"));
+                submit(page, post(CHECKOUT_PATH, order));
+                break;
+            default:
+                throw unsupported(page, control);
+        }
+    }
+
+    @Override
+    public boolean isPresent(String page, String element, By locator) {
+        if ("error".equals(element)) {
+            return errors.containsKey(page);
+        }
+        if ("title".equals(element) && (LOGIN_PAGE.equals(page) || SIGNUP_PAGE.equals(page))) {
+            // The app sends logged-in users away from the login and sign-up forms
+            return cookies.isEmpty();
+        }
+        if (CART_PAGE.equals(page) && "emptyCart".equals(element)) {
+            return cartItems().isEmpty();
+        }
+        if (CART_PAGE.equals(page) && "checkout".equals(element)) {
+            return !cartItems().isEmpty();
+        }
+        throw unsupported(page, element);
+    }
+
+    @Override
+    public int count(String page, String element, By locator) {
+        if (CART_PAGE.equals(page) && "items".equals(element)) {
+            return cartItems().size();
+        }
+        throw unsupported(page, element);
+    }
+
+    @Override
+    public String text(String page, String element, By locator) {
+        if ("error".equals(element)) {
+            return errors.getOrDefault(page, "");
+        }
+        throw unsupported(page, element);
+    }
+
+    @Override
+    public boolean isAt(String page, String path) {
+        if ("/cart".equals(path)) {
+            // Without a session the cart route redirects to login
+            return get(SessionBootstrapper.CART_PATH).statusCode() / 100 == 2;
+        }
+        throw unsupported(page, path);
+    }
+
+    @Override
+    public WebDriver getDriver() {
+        return null;
+    }
+
+    /**
+     * Auth cookies of the current session, empty until a login or sign-up succeeds
+     */
+    public List<HttpCookie> getCookies() {
+        return cookies;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> cartItems() {
+        HttpResponse<String> response = get(SessionBootstrapper.CART_PATH);
+        if (response.statusCode() / 100 != 2) {
+            return Collections.emptyList();
+        }
+        Object body = parse(response.body());
+        return body instanceof List ? (List<Object>) body : Collections.emptyList();
+    }
+
+    private void authenticate(String page, String path, Map<String, Object> body) {
+        HttpResponse<String> response = post(path, body);
+        if (submit(page, response)) {
+            List<HttpCookie> received = new ArrayList<>();
+            for (String header : response.headers().allValues("Set-Cookie")) {
+                received.addAll(HttpCookie.parse(header));
+            }
+            cookies = Collections.unmodifiableList(received);
+        }
+    }
+
+    // Record the outcome of a form submit as the page's error message
+    private boolean submit(String page, HttpResponse<String> response) {
+        if (response.statusCode() / 100 == 2) {
+            errors.remove(page);
+            return true;
+        }
+        Object body = parse(response.body());
+        Object message = body instanceof Map ? ((Map<?, ?>) body).get("message") : null;
+        errors.put(page, message != null ? message.toString() : "HTTP " + response.statusCode());
+        return false;
+    }
+
+    private Map<String, Object> form(String page, String... fields) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (String field : fields) {
+            body.put(field, field(page, field));
+        }
+        return body;
+    }
+
+    private String field(String page, String field) {
+        return forms.getOrDefault(page, new HashMap<>()).getOrDefault(field, "");
+    }
+
+    private HttpResponse<String> get(String path) {
+        return send(request(path).GET().build());
+    }
+
+    private HttpResponse<String> post(String path, Map<String, Object> body) {
+        return send(request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.toJson(body)))
+                .build());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(backendUrl + path))
+                .timeout(Duration.ofSeconds(TestConfig.EXPLICIT_WAIT));
+        if (!cookies.isEmpty()) {
+            builder.header("Cookie", SessionBootstrapper.cookieHeader(cookies));
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new RuntimeException("Backend request to " + request.uri().getPath() + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while calling " + request.uri().getPath(), e);
+        }
+    }
+
+    private Object parse(String body) {
+        try {
+            return body == null || body.isEmpty() ? null : json.toType(body, Object.class);
+        } catch (JsonException e) {
+            return null;
+        }
+    }
+
+    private static UnsupportedOperationException unsupported(String page, String what) {
+        return new UnsupportedOperationException(page + "." + what + " has no HTTP equivalent; run it with a browser");
+    }
+}
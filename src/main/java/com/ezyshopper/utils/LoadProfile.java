@@ -0,0 +1,116 @@
+package com.ezyshopper.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ramp profile for load runs: a sequence of stages, each moving the number of virtual users
+ * linearly from the previous stage's target to its own over its duration. "30s:10,2m:10,30s:0"
+ * ramps up to 10 users over 30 seconds, holds for two minutes and ramps back down.
+ */
+public class LoadProfile {
+
+    private static final Pattern STAGE = Pattern.compile("(\\d+)(ms|s|m)\\s*:\\s*(\\d+)");
+
+    private final List<Stage> stages;
+
+    public LoadProfile(List<Stage> stages) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("A load profile needs at least one stage");
+        }
+        this.stages = Collections.unmodifiableList(new ArrayList<>(stages));
+    }
+
+    /**
+     * Parse "duration:users" stages separated by commas; durations take ms, s or m
+     */
+    public static LoadProfile parse(String spec) {
+        List<Stage> stages = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            Matcher matcher = STAGE.matcher(part.trim());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid load stage '" + part.trim() + "' in: " + spec);
+            }
+            long amount = Long.parseLong(matcher.group(1));
+            Duration duration = "ms".equals(matcher.group(2)) ? Duration.ofMillis(amount)
+                    : "s".equals(matcher.group(2)) ? Duration.ofSeconds(amount) : Duration.ofMinutes(amount);
+            stages.add(new Stage(duration, Integer.parseInt(matcher.group(3))));
+        }
+        return new LoadProfile(stages);
+    }
+
+    /**
+     * Virtual users wanted this far into the run; 0 once the profile is over
+     */
+    public int usersAt(Duration elapsed) {
+        long at = elapsed.toMillis();
+        int from = 0;
+        for (Stage stage : stages) {
+            long length = stage.duration.toMillis();
+            if (at < length) {
+                return (int) Math.round(from + (stage.users - from) * (double) at / length);
+            }
+            at -= length;
+            from = stage.users;
+        }
+        return 0;
+    }
+
+    public Duration getDuration() {
+        Duration total = Duration.ZERO;
+        for (Stage stage : stages) {
+            total = total.plus(stage.duration);
+        }
+        return total;
+    }
+
+    public int getPeakUsers() {
+        int peak = 0;
+        for (Stage stage : stages) {
+            peak = Math.max(peak, stage.users);
+        }
+        return peak;
+    }
+
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    @Override
+    public String toString() {
+        return stages.toString();
+    }
+
+    /**
+     * Move to this many users over this duration
+     */
+    public static final class Stage {
+        private final Duration duration;
+        private final int users;
+
+        public Stage(Duration duration, int users) {
+            if (duration.isNegative() || duration.isZero() || users < 0) {
+                throw new IllegalArgumentException("Invalid load stage: " + duration + " to " + users + " users");
+            }
+            this.duration = duration;
+            this.users = users;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        @Override
+        public String toString() {
+            return duration.toMillis() + "ms:" + users;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Load generator that runs a journey of page-object calls as virtual users. A ramp controller
+ * follows the LoadProfile, starting users (each with its own browser) and stopping the newest
+ * ones when the profile goes down; stopped users finish their current iteration first.
+ * Users whose browser fails to start are replaced with exponential backoff, and the run is
+ * aborted when too many browsers in a row fail to start. Live LoadStats are logged every
+ * report interval.
+ */
+public class LoadRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRunner.class);
+
+    private static final long TICK_MILLIS = 100;
+    private static final long MAX_RESPAWN_BACKOFF_MILLIS = 30_000;
+
+    static final String SESSION_STEP = "startSession";
+
+    /**
+     * One pass through a user journey; throw to fail the iteration
+     */
+    public interface Journey {
+        void run(VirtualUser user);
+    }
+
+    private final Supplier<WebDriver> drivers;
+    private final Journey journey;
+    private final LoadProfile profile;
+    private final Duration thinkTime;
+    private final Duration reportInterval;
+    private final int maxStartFailures;
+    private final LoadStats stats = new LoadStats();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicInteger threads = new AtomicInteger();
+    // Browsers that failed to start since the last one that started
+    private final AtomicInteger startFailures = new AtomicInteger();
+    private volatile String lastStartError;
+    // Only touched by the controller thread
+    private final Deque<VirtualUser> users = new ArrayDeque<>();
+    private long nextSpawnNanos;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "virtual-user-" + threads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Runner with the configured think time and report interval
+     */
+    public LoadRunner(Supplier<WebDriver> drivers, Journey journey, LoadProfile profile) {
+        this(drivers, journey, profile, Duration.ofMillis(TestConfig.LOAD_THINK_MILLIS),
+                Duration.ofSeconds(TestConfig.LOAD_REPORT_SECONDS));
+    }
+
+    /**
+     * @param drivers        launches the browser for each new virtual user
+     * @param journey        run repeatedly by every virtual user
+     * @param profile        number of virtual users over time
+     * @param thinkTime      pause between a user's iterations
+     * @param reportInterval how often live stats are logged
+     */
+    public LoadRunner(Supplier<WebDriver> drivers, Journey journey, LoadProfile profile, Duration thinkTime,
+                      Duration reportInterval) {
+        this(drivers, journey, profile, thinkTime, reportInterval, TestConfig.LOAD_MAX_START_FAILURES);
+    }
+
+    /**
+     * @param maxStartFailures browsers in a row that may fail to start before the run is aborted
+     */
+    public LoadRunner(Supplier<WebDriver> drivers, Journey journey, LoadProfile profile, Duration thinkTime,
+                      Duration reportInterval, int maxStartFailures) {
+        if (maxStartFailures < 1) {
+            throw new IllegalArgumentException("maxStartFailures must be at least 1: " + maxStartFailures);
+        }
+        this.drivers = drivers;
+        this.journey = journey;
+        this.profile = profile;
+        this.thinkTime = thinkTime;
+        this.reportInterval = reportInterval;
+        this.maxStartFailures = maxStartFailures;
+    }
+
+    /**
+     * Run the whole profile, then wait for the remaining users to finish their iteration
+     *
+     * @throws IllegalStateException if maxStartFailures browsers in a row failed to start
+     */
+    public LoadStats run() throws InterruptedException {
+        log.info("Load run: {} over {} s, peak {} users", profile, profile.getDuration().getSeconds(),
+                profile.getPeakUsers());
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> log.info("Load: {}", stats.report()), reportInterval.toMillis(),
+                reportInterval.toMillis(), TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        try {
+            Duration elapsed;
+            while ((elapsed = Duration.ofNanos(System.nanoTime() - start)).compareTo(profile.getDuration()) < 0) {
+                if (startFailures.get() >= maxStartFailures) {
+                    throw new IllegalStateException("Load run aborted: " + startFailures.get()
+                            + " browsers in a row failed to start; last error: " + lastStartError);
+                }
+                adjust(profile.usersAt(elapsed));
+                Thread.sleep(TICK_MILLIS);
+            }
+        } finally {
+            adjust(0);
+            executor.shutdown();
+            if (!executor.awaitTermination(TestConfig.DRIVER_LEASE_TIMEOUT, TimeUnit.SECONDS)) {
+                log.warn("Virtual users still running after {} s; interrupting them", TestConfig.DRIVER_LEASE_TIMEOUT);
+                executor.shutdownNow();
+            }
+            reporter.shutdownNow();
+        }
+        log.info("Load run finished: {}", stats.report());
+        return stats;
+    }
+
+    public LoadStats getStats() {
+        return stats;
+    }
+
+    // Start or stop users until the target is met; the newest users stop first, and users
+    // whose browser failed to start are replaced once the backoff for the failures so far has passed
+    private void adjust(int target) {
+        users.removeIf(user -> user.finished);
+        if (users.size() < target && System.nanoTime() >= nextSpawnNanos) {
+            int failures = startFailures.get();
+            if (failures > 0) {
+                long backoff = Math.min(TICK_MILLIS << Math.min(failures, 20), MAX_RESPAWN_BACKOFF_MILLIS);
+                nextSpawnNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+            }
+            while (users.size() < target) {
+                VirtualUser user = new VirtualUser(sequence.incrementAndGet());
+                users.push(user);
+                executor.execute(user::loop);
+            }
+        }
+        while (users.size() > target) {
+            users.pop().stop();
+        }
+    }
+
+    /**
+     * One simulated shopper with its own browser; journeys wrap page-object calls in steps
+     */
+    public final class VirtualUser {
+        private final int id;
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private WebDriver driver;
+        private int iteration;
+        private volatile boolean finished;
+
+        VirtualUser(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Iterations started by this user, including the current one
+         */
+        public int getIteration() {
+            return iteration;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        /**
+         * Time an action as a named step; a failure is recorded and rethrown, ending the iteration
+         */
+        public void step(String name, Runnable action) {
+            call(name, () -> {
+                action.run();
+                return null;
+            });
+        }
+
+        public <T> T call(String name, Supplier<T> action) {
+            long start = System.nanoTime();
+            try {
+                T result = action.get();
+                stats.record(name, System.nanoTime() - start, true, null);
+                return result;
+            } catch (RuntimeException | AssertionError e) {
+                stats.record(name, System.nanoTime() - start, false, e.getClass().getSimpleName() + ": " + e.getMessage());
+                throw e;
+            }
+        }
+
+        void stop() {
+            stopped.countDown();
+        }
+
+        void loop() {
+            stats.userStarted();
+            try {
+                driver = call(SESSION_STEP, drivers);
+                startFailures.set(0);
+                while (stopped.getCount() > 0) {
+                    iteration++;
+                    boolean success = false;
+                    try {
+                        journey.run(this);
+                        success = true;
+                    } catch (RuntimeException | AssertionError e) {
+                        log.debug("Virtual user {} iteration {} failed: {}", id, iteration, e.getMessage());
+                    }
+                    stats.iteration(success);
+                    if (stopped.await(thinkTime.toMillis(), TimeUnit.MILLISECONDS)) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                lastStartError = e.getClass().getSimpleName() + ": " + e.getMessage();
+                startFailures.incrementAndGet();
+                log.warn("Virtual user {} could not start a browser: {}", id, e.getMessage());
+            } finally {
+                if (driver != null) {
+                    try {
+                        driver.quit();
+                    } catch (RuntimeException e) {
+                        log.debug("Virtual user {} quit failed: {}", id, e.getMessage());
+                    }
+                }
+                stats.userStopped();
+                finished = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.ezyshopper.utils;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregated results of a load run: per journey step latency histograms, successes and
+ * errors, plus whole-journey iterations. Safe to record from every virtual user at once;
+ * {@link #report()} gives the live view with throughput since the previous report.
+ */
+public class LoadStats {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadStats.class);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final long startNanos = System.nanoTime();
+    // Insertion order, so steps are reported in journey order
+    private final Map<String, Step> steps = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicLong failedIterations = new AtomicLong();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final AtomicInteger peakUsers = new AtomicInteger();
+    private final Map<String, Long> reportedCounts = new ConcurrentHashMap<>();
+    private volatile long lastReportNanos = startNanos;
+
+    /**
+     * Record one execution of a journey step
+     */
+    public void record(String step, long nanos, boolean success, String error) {
+        Step stats;
+        synchronized (steps) {
+            stats = steps.computeIfAbsent(step, Step::new);
+        }
+        stats.record(nanos, success, error);
+    }
+
+    /**
+     * Record a finished pass through the whole journey
+     */
+    public void iteration(boolean success) {
+        iterations.incrementAndGet();
+        if (!success) {
+            failedIterations.incrementAndGet();
+        }
+    }
+
+    void userStarted() {
+        peakUsers.accumulateAndGet(activeUsers.incrementAndGet(), Math::max);
+    }
+
+    void userStopped() {
+        activeUsers.decrementAndGet();
+    }
+
+    public Step getStep(String step) {
+        return steps.get(step);
+    }
+
+    public Map<String, Step> getSteps() {
+        synchronized (steps) {
+            return new LinkedHashMap<>(steps);
+        }
+    }
+
+    public long getIterations() {
+        return iterations.get();
+    }
+
+    public long getFailedIterations() {
+        return failedIterations.get();
+    }
+
+    public int getActiveUsers() {
+        return activeUsers.get();
+    }
+
+    public int getPeakUsers() {
+        return peakUsers.get();
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Share of journey iterations that failed, 0 to 1
+     */
+    public double getErrorRate() {
+        long total = iterations.get();
+        return total == 0 ? 0 : (double) failedIterations.get() / total;
+    }
+
+    /**
+     * Live view: users, iterations, and per step throughput since the last report, error
+     * rate and latency percentiles since the start
+     */
+    public synchronized String report() {
+        long now = System.nanoTime();
+        double interval = Math.max(1, now - lastReportNanos) / 1e9;
+        lastReportNanos = now;
+        StringBuilder report = new StringBuilder(String.format("%ds, %d users (peak %d), %d iterations, %.1f%% failed",
+                getElapsed().getSeconds(), activeUsers.get(), peakUsers.get(), iterations.get(), getErrorRate() * 100));
+        getSteps().forEach((name, step) -> {
+            long count = step.getCount();
+            long previous = reportedCounts.getOrDefault(name, 0L);
+            reportedCounts.put(name, count);
+            report.append(String.format("%n  %-24s %6.2f/s  %s", name, (count - previous) / interval, step));
+        });
+        return report.toString();
+    }
+
+    /**
+     * Per step totals and percentiles (ms) plus run totals, as JSON
+     */
+    public void exportJson(Path file) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        double seconds = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+        json.put("durationSeconds", Math.round(seconds * 10) / 10.0);
+        json.put("peakUsers", peakUsers.get());
+        json.put("iterations", iterations.get());
+        json.put("failedIterations", failedIterations.get());
+        json.put("iterationsPerSecond", Math.round(iterations.get() / seconds * 100) / 100.0);
+        Map<String, Object> stepsJson = new LinkedHashMap<>();
+        getSteps().forEach((name, step) -> {
+            Histogram latency = step.latency.copy();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", step.getCount());
+            entry.put("errors", step.getErrors());
+            entry.put("perSecond", Math.round(step.getCount() / seconds * 100) / 100.0);
+            entry.put("p50", latency.getValueAtPercentile(50) / 1_000.0);
+            entry.put("p95", latency.getValueAtPercentile(95) / 1_000.0);
+            entry.put("p99", latency.getValueAtPercentile(99) / 1_000.0);
+            entry.put("max", latency.getMaxValue() / 1_000.0);
+            entry.put("lastError", step.getLastError());
+            stepsJson.put(name, entry);
+        });
+        json.put("steps", stepsJson);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, new Json().toJson(json).getBytes(StandardCharsets.UTF_8));
+            log.info("Load report written to {}", file);
+        } catch (IOException e) {
+            log.warn("Failed to write load report {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Results for one journey step; latencies only include successful executions
+     */
+    public static final class Step {
+        private final String name;
+        private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final AtomicLong successes = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private volatile String lastError;
+
+        Step(String name) {
+            this.name = name;
+            latency.setAutoResize(true);
+        }
+
+        void record(long nanos, boolean success, String error) {
+            if (success) {
+                successes.incrementAndGet();
+                latency.recordValue(Math.max(0, nanos / 1_000));
+            } else {
+                errors.incrementAndGet();
+                lastError = error;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return successes.get() + errors.get();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public double getErrorRate() {
+            long count = getCount();
+            return count == 0 ? 0 : (double) errors.get() / count;
+        }
+
+        public Duration getLatency(double percentile) {
+            return Duration.ofNanos(latency.getValueAtPercentile(percentile) * 1_000);
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d runs, %.1f%% errors, p50 %d ms, p95 %d ms, p99 %d ms", getCount(),
+                    getErrorRate() * 100, getLatency(50).toMillis(), getLatency(95).toMillis(),
+                    getLatency(99).toMillis());
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registry for page-object locators. Locators are declared once as static constants through
+ * this class, which compiles simple XPath expressions to the equivalent CSS selector (CSS
+ * lookups are faster in every browser) and keeps XPath only where CSS cannot express the
+ * query, e.g. text matching. {@link #validate(Class[])} checks the page classes' locators at start-up.
+ *
+ * <pre>
+ * private static final By loginButton = Locators.xpath("//button[@type='submit']");   // button[type='submit']
+ * private static final Locators.Template option = Locators.cssTemplate("option[value='%s']");
+ * </pre>
+ */
+public class Locators {
+
+    // One step: tag or *, then zero or more predicates
+    private static final Pattern STEP = Pattern.compile("(\\*|[a-zA-Z][\\w-]*)((?:\\[[^\\[\\]]+\\])*)");
+    private static final Pattern PREDICATE = Pattern.compile("\\[([^\\[\\]]+)\\]");
+    private static final Pattern ATTRIBUTE_EQUALS = Pattern.compile("@([\\w-]+)\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\")");
+    private static final Pattern ATTRIBUTE_FUNCTION = Pattern.compile(
+            "(contains|starts-with)\\(\\s*@([\\w-]+)\\s*,\\s*(?:'([^']*)'|\"([^\"]*)\")\\s*\\)");
+    private static final Pattern ATTRIBUTE_EXISTS = Pattern.compile("@([\\w-]+)");
+
+    private static final String VALIDATE_SCRIPT =
+            "var errors = [];"
+            + "arguments[0].forEach(function(spec) {"
+            + "  try {"
+            + "    if (spec.using === 'xpath') {"
+            + "      document.evaluate(spec.value, document, null, XPathResult.ANY_TYPE, null);"
+            + "    } else {"
+            + "      document.querySelector(spec.value);"
+            + "    }"
+            + "  } catch (e) { errors.push(spec.value + ': ' + e.message); }"
+            + "});"
+            + "return errors;";
+
+    private static final Map<String, By> REGISTERED = new ConcurrentHashMap<>();
+    private static final AtomicBoolean BROWSER_VALIDATED = new AtomicBoolean();
+
+    private Locators() {
+    }
+
+    /**
+     * Declare an XPath locator; returns a CSS selector when the expression has an exact CSS equivalent
+     */
+    public static By xpath(String xpath) {
+        return REGISTERED.computeIfAbsent(xpath, expression -> {
+            String css = toCss(expression);
+            return css != null ? By.cssSelector(css) : By.xpath(expression);
+        });
+    }
+
+    public static By css(String selector) {
+        return REGISTERED.computeIfAbsent("css=" + selector, k -> By.cssSelector(selector));
+    }
+
+    public static By id(String id) {
+        return REGISTERED.computeIfAbsent("id=" + id, k -> By.id(id));
+    }
+
+    /**
+     * Declare a parameterised CSS locator; each distinct argument list is built once and reused
+     */
+    public static Template cssTemplate(String format) {
+        Template template = new Template(format);
+        REGISTERED.putIfAbsent("template=" + format, By.cssSelector(String.format(format, "x")));
+        return template;
+    }
+
+    /**
+     * Declared locators by their original expression
+     */
+    public static Map<String, By> getRegistered() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(REGISTERED));
+    }
+
+    /**
+     * Check the static By constants declared by the given page classes: XPath expressions
+     * must compile and CSS selectors must be well formed.
+     *
+     * @throws IllegalStateException listing every invalid locator
+     */
+    public static void validate(Class<?>... pages) {
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, By> declared : declared(pages).entrySet()) {
+            String error = check(declared.getValue());
+            if (error != null) {
+                errors.add(declared.getKey() + " " + error);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid locators:\n  " + String.join("\n  ", errors));
+        }
+    }
+
+    /**
+     * Check the page classes' locators with the browser's own selector engines. Runs once per JVM.
+     */
+    public static void validateOnce(WebDriver driver, Class<?>... pages) {
+        if (!BROWSER_VALIDATED.compareAndSet(false, true)) {
+            return;
+        }
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (By locator : declared(pages).values()) {
+            if (!(locator instanceof By.Remotable)) {
+                continue;
+            }
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            if ("xpath".equals(parameters.using()) || "css selector".equals(parameters.using())) {
+                Map<String, Object> spec = new LinkedHashMap<>();
+                spec.put("using", parameters.using());
+                spec.put("value", parameters.value());
+                specs.add(spec);
+            }
+        }
+        Object errors = ((JavascriptExecutor) driver).executeScript(VALIDATE_SCRIPT, specs);
+        if (errors instanceof List && !((List<?>) errors).isEmpty()) {
+            throw new IllegalStateException("Invalid locators:\n  " + String.join("\n  ", toStrings((List<?>) errors)));
+        }
+    }
+
+    // Static By fields of each class, keyed Class.field; reading them initialises the class
+    private static Map<String, By> declared(Class<?>... pages) {
+        Map<String, By> declared = new LinkedHashMap<>();
+        for (Class<?> page : pages) {
+            for (Field field : page.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) || !By.class.isAssignableFrom(field.getType())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    declared.put(page.getSimpleName() + "." + field.getName(), (By) field.get(null));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return declared;
+    }
+
+    private static String check(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return locator == null ? "is null" : null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        if ("xpath".equals(parameters.using())) {
+            try {
+                XPathFactory.newInstance().newXPath().compile(value);
+            } catch (XPathExpressionException e) {
+                return value + ": " + e.getMessage();
+            }
+        } else if ("css selector".equals(parameters.using()) && !isBalanced(value)) {
+            return value + ": unbalanced brackets or quotes";
+        }
+        return null;
+    }
+
+    /**
+     * CSS equivalent of a simple XPath (descendant/child steps with tag, attribute equality,
+     * contains/starts-with on attributes), or null if the expression needs XPath
+     */
+    static String toCss(String xpath) {
+        if (!xpath.startsWith("//")) {
+            return null;
+        }
+        StringBuilder css = new StringBuilder();
+        int position = 0;
+        while (position < xpath.length()) {
+            String combinator;
+            if (xpath.startsWith("//", position)) {
+                combinator = css.length() == 0 ? "" : " ";
+                position += 2;
+            } else if (xpath.startsWith("/", position)) {
+                combinator = " > ";
+                position += 1;
+            } else {
+                return null;
+            }
+            Matcher step = STEP.matcher(xpath);
+            step.region(position, xpath.length());
+            if (!step.lookingAt()) {
+                return null;
+            }
+            String predicates = predicatesToCss(step.group(2));
+            if (predicates == null) {
+                return null;
+            }
+            css.append(combinator).append(step.group(1)).append(predicates);
+            position = step.end();
+        }
+        return css.toString();
+    }
+
+    private static String predicatesToCss(String predicates) {
+        StringBuilder css = new StringBuilder();
+        Matcher predicate = PREDICATE.matcher(predicates);
+        while (predicate.find()) {
+            for (String condition : predicate.group(1).split("\\s+and\\s+")) {
+                String attribute = conditionToCss(condition.trim());
+                if (attribute == null) {
+                    return null;
+                }
+                css.append(attribute);
+            }
+        }
+        return css.toString();
+    }
+
+    private static String conditionToCss(String condition) {
+        Matcher matcher = ATTRIBUTE_EQUALS.matcher(condition);
+        if (matcher.matches()) {
+            return "[" + matcher.group(1) + "='" + escape(value(matcher, 2)) + "']";
+        }
+        matcher = ATTRIBUTE_FUNCTION.matcher(condition);
+        if (matcher.matches()) {
+            String operator = matcher.group(1).equals("contains") ? "*=" : "^=";
+            return "[" + matcher.group(2) + operator + "'" + escape(value(matcher, 3)) + "']";
+        }
+        matcher = ATTRIBUTE_EXISTS.matcher(condition);
+        if (matcher.matches()) {
+            return "[" + matcher.group(1) + "]";
+        }
+        return null;
+    }
+
+    private static String value(Matcher matcher, int group) {
+        return matcher.group(group) != null ? matcher.group(group) : matcher.group(group + 1);
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("'", "\\'");
+    }
+
+    private static boolean isBalanced(String selector) {
+        int brackets = 0;
+        int parentheses = 0;
+        char quote = 0;
+        for (int i = 0; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[') {
+                brackets++;
+            } else if (c == ']') {
+                brackets--;
+            } else if (c == '(') {
+                parentheses++;
+            } else if (c == ')') {
+                parentheses--;
+            }
+            if (brackets < 0 || parentheses < 0) {
+                return false;
+            }
+        }
+        return quote == 0 && brackets == 0 && parentheses == 0;
+    }
+
+    private static List<String> toStrings(List<?> values) {
+        List<String> strings = new ArrayList<>();
+        for (Object value : values) {
+            strings.add(String.valueOf(value));
+        }
+        return strings;
+    }
+
+    /**
+     * CSS locator with placeholders, e.g. {@code option[value='%s']}. Arguments are escaped
+     * for use inside quoted attribute values.
+     */
+    public static final class Template {
+        private final String format;
+        private final Map<List<String>, By> built = new ConcurrentHashMap<>();
+
+        Template(String format) {
+            this.format = format;
+        }
+
+        public By with(String... arguments) {
+            List<String> key = List.of(arguments);
+            return built.computeIfAbsent(key, k -> {
+                Object[] escaped = new Object[arguments.length];
+                for (int i = 0; i < arguments.length; i++) {
+                    escaped[i] = escape(arguments[i]);
+                }
+                return By.cssSelector(String.format(format, escaped));
+            });
+        }
+    }
+}
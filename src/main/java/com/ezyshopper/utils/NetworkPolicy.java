@@ -0,0 +1,333 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Blocks requests the tests never assert on (analytics, web fonts, large images) through the
+ * DevTools Network domain, and counts what that saved per test.
+ *
+ * <p>Patterns use the CDP wildcard syntax ({@code *} matches anything). Large images are blocked
+ * by exact URL: image sizes seen in earlier runs are kept in a size catalog, and any image at or
+ * above the configured threshold is added to the block list. The same catalog estimates the bytes
+ * saved by each blocked request; requests of unknown size are counted but add no bytes.
+ */
+public class NetworkPolicy {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkPolicy.class);
+
+    private static final Set<String> CATALOGED_TYPES = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList("Image", "Font", "Script", "Stylesheet")));
+
+    private final List<String> patterns;
+    private final List<Pattern> compiled = new ArrayList<>();
+    private final long largeImageBytes;
+    private final Path catalogFile;
+    private final Map<String, Long> sizes = new ConcurrentHashMap<>();
+    private final Map<String, String> types = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Session> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<String, Stats> perTest = Collections.synchronizedMap(new TreeMap<>());
+
+    public NetworkPolicy(List<String> patterns, long largeImageBytes, Path catalogFile) {
+        this.patterns = new ArrayList<>(patterns);
+        this.largeImageBytes = largeImageBytes;
+        this.catalogFile = catalogFile;
+        for (String pattern : patterns) {
+            compiled.add(toRegex(pattern));
+        }
+        loadCatalog();
+    }
+
+    /**
+     * Policy configured from TestConfig, or null when -DnetworkPolicy is not set
+     */
+    public static NetworkPolicy fromConfig() {
+        if (!TestConfig.NETWORK_POLICY) {
+            return null;
+        }
+        return new NetworkPolicy(TestConfig.BLOCKED_URL_PATTERNS, TestConfig.LARGE_IMAGE_KB * 1024L,
+                Paths.get(TestConfig.REPORT_DIR, "network-sizes.json"));
+    }
+
+    /**
+     * Enable blocking on the driver's DevTools session. Safe to call on every lease; the
+     * session is configured once per driver. Drivers without DevTools are left untouched.
+     */
+    public void apply(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        synchronized (sessions) {
+            if (sessions.containsKey(driver)) {
+                return;
+            }
+            Session session = new Session();
+            sessions.put(driver, session);
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.addListener(event("Network.requestWillBeSent"), session::onRequestWillBeSent);
+            devTools.addListener(event("Network.loadingFinished"), session::onLoadingFinished);
+            devTools.addListener(event("Network.loadingFailed"), session::onLoadingFailed);
+            devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+            devTools.send(new Command<>("Network.setBlockedURLs",
+                    Collections.singletonMap("urls", getBlockedUrls())));
+        }
+    }
+
+    /**
+     * Start counting for a new test on this driver
+     */
+    public void beginTest(WebDriver driver) {
+        Session session = sessions.get(driver);
+        if (session != null) {
+            session.stats = new Stats();
+        }
+    }
+
+    /**
+     * Stop counting and keep the test's numbers for the run report; null if the driver has no policy
+     */
+    public Stats endTest(WebDriver driver, String testName) {
+        Session session = sessions.get(driver);
+        if (session == null) {
+            return null;
+        }
+        Stats stats = session.stats;
+        session.stats = new Stats();
+        perTest.put(testName, stats);
+        return stats;
+    }
+
+    /**
+     * The configured patterns plus every cataloged image at or above the large-image threshold
+     */
+    public List<String> getBlockedUrls() {
+        List<String> urls = new ArrayList<>(patterns);
+        sizes.forEach((url, bytes) -> {
+            if ("Image".equals(types.get(url)) && bytes >= largeImageBytes && !matches(url)) {
+                urls.add(url);
+            }
+        });
+        return urls;
+    }
+
+    public boolean matches(String url) {
+        for (Pattern pattern : compiled) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write per-test savings to the given file and the updated size catalog next to it
+     */
+    public void exportReport(Path file) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        Stats total = new Stats();
+        Map<String, Object> tests = new LinkedHashMap<>();
+        synchronized (perTest) {
+            perTest.forEach((test, stats) -> {
+                tests.put(test, stats.toMap());
+                total.add(stats);
+            });
+        }
+        report.put("patterns", patterns);
+        report.put("total", total.toMap());
+        report.put("tests", tests);
+        write(file, report);
+        saveCatalog();
+        log.info("Network policy: {}", total);
+    }
+
+    Session sessionFor(WebDriver driver) {
+        return sessions.get(driver);
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    static Pattern toRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : pattern.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadCatalog() {
+        if (catalogFile == null || !Files.isRegularFile(catalogFile)) {
+            return;
+        }
+        try {
+            Map<String, Object> catalog = new Json().toType(
+                    new String(Files.readAllBytes(catalogFile), StandardCharsets.UTF_8), Json.MAP_TYPE);
+            catalog.forEach((url, value) -> {
+                Map<String, Object> entry = (Map<String, Object>) value;
+                sizes.put(url, ((Number) entry.get("bytes")).longValue());
+                types.put(url, String.valueOf(entry.get("type")));
+            });
+        } catch (IOException | JsonException | ClassCastException e) {
+            log.warn("Ignoring unreadable network size catalog {}: {}", catalogFile, e.getMessage());
+        }
+    }
+
+    private void saveCatalog() {
+        if (catalogFile == null) {
+            return;
+        }
+        Map<String, Object> catalog = new TreeMap<>();
+        sizes.forEach((url, bytes) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("type", types.get(url));
+            entry.put("bytes", bytes);
+            catalog.put(url, entry);
+        });
+        write(catalogFile, catalog);
+    }
+
+    private static void write(Path file, Object content) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, new Json().toJson(content).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Failed to write {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * DevTools event handling for one driver. Events arrive on the DevTools connection thread.
+     */
+    final class Session {
+        private final Map<String, String[]> requests = new ConcurrentHashMap<>();
+        volatile Stats stats = new Stats();
+
+        @SuppressWarnings("unchecked")
+        void onRequestWillBeSent(Map<String, Object> event) {
+            Map<String, Object> request = (Map<String, Object>) event.get("request");
+            if (request != null) {
+                requests.put(String.valueOf(event.get("requestId")),
+                        new String[]{String.valueOf(request.get("url")), String.valueOf(event.get("type"))});
+            }
+        }
+
+        void onLoadingFinished(Map<String, Object> event) {
+            String[] request = requests.remove(String.valueOf(event.get("requestId")));
+            Object length = event.get("encodedDataLength");
+            long bytes = length instanceof Number ? ((Number) length).longValue() : 0;
+            stats.loadedRequests.incrementAndGet();
+            stats.loadedBytes.addAndGet(bytes);
+            if (request != null && CATALOGED_TYPES.contains(request[1])) {
+                sizes.put(request[0], bytes);
+                types.put(request[0], request[1]);
+            }
+        }
+
+        void onLoadingFailed(Map<String, Object> event) {
+            String[] request = requests.remove(String.valueOf(event.get("requestId")));
+            if (event.get("blockedReason") == null) {
+                return;
+            }
+            stats.blockedRequests.incrementAndGet();
+            Long known = request == null ? null : sizes.get(request[0]);
+            if (known != null) {
+                stats.bytesSaved.addAndGet(known);
+            } else {
+                stats.unknownSizeBlocked.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Requests blocked and loaded during one test
+     */
+    public static final class Stats {
+        private final AtomicLong blockedRequests = new AtomicLong();
+        private final AtomicLong bytesSaved = new AtomicLong();
+        private final AtomicLong unknownSizeBlocked = new AtomicLong();
+        private final AtomicLong loadedRequests = new AtomicLong();
+        private final AtomicLong loadedBytes = new AtomicLong();
+
+        void add(Stats other) {
+            blockedRequests.addAndGet(other.getBlockedRequests());
+            bytesSaved.addAndGet(other.getBytesSaved());
+            unknownSizeBlocked.addAndGet(other.getUnknownSizeBlocked());
+            loadedRequests.addAndGet(other.getLoadedRequests());
+            loadedBytes.addAndGet(other.getLoadedBytes());
+        }
+
+        public long getBlockedRequests() {
+            return blockedRequests.get();
+        }
+
+        /**
+         * Estimated from the size catalog; blocked requests of unknown size are not included
+         */
+        public long getBytesSaved() {
+            return bytesSaved.get();
+        }
+
+        public long getUnknownSizeBlocked() {
+            return unknownSizeBlocked.get();
+        }
+
+        public long getLoadedRequests() {
+            return loadedRequests.get();
+        }
+
+        public long getLoadedBytes() {
+            return loadedBytes.get();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("blockedRequests", getBlockedRequests());
+            map.put("bytesSaved", getBytesSaved());
+            map.put("unknownSizeBlocked", getUnknownSizeBlocked());
+            map.put("loadedRequests", getLoadedRequests());
+            map.put("loadedBytes", getLoadedBytes());
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return "blocked=" + getBlockedRequests() + " (~" + getBytesSaved() / 1024 + " KB saved, "
+                    + getUnknownSizeBlocked() + " of unknown size), loaded=" + getLoadedRequests()
+                    + " (" + getLoadedBytes() / 1024 + " KB)";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * What page objects act through. Each call names the page and the logical element as well
+ * as its locator: the Selenium backend drives the browser with the locator, while the HTTP
+ * backend maps the page and element name to calls against the backend API, so the same
+ * page-object actions can run without a browser.
+ */
+public interface PageBackend {
+
+    /**
+     * Type text into a form field
+     */
+    void type(String page, String field, By locator, String text);
+
+    /**
+     * Click a button or link
+     */
+    void click(String page, String control, By locator);
+
+    boolean isPresent(String page, String element, By locator);
+
+    int count(String page, String element, By locator);
+
+    /**
+     * Like isPresent, for an element the page is expected to show: a backend that renders
+     * asynchronously waits for it instead of failing fast
+     */
+    default boolean awaitPresent(String page, String element, By locator) {
+        return isPresent(page, element, locator);
+    }
+
+    /**
+     * Like count, for elements the page is expected to show
+     */
+    default int awaitCount(String page, String element, By locator) {
+        return count(page, element, locator);
+    }
+
+    String text(String page, String element, By locator);
+
+    /**
+     * Whether the app is currently showing the page at this path
+     */
+    boolean isAt(String page, String path);
+
+    /**
+     * The browser behind this backend, or null when there is none
+     */
+    WebDriver getDriver();
+
+    /**
+     * The browser, for page-object methods that only make sense with one
+     */
+    default WebDriver requireDriver(String page, String action) {
+        WebDriver driver = getDriver();
+        if (driver == null) {
+            throw new UnsupportedOperationException(page + "." + action + " needs a browser");
+        }
+        return driver;
+    }
+
+    /**
+     * Backend that drives the given browser
+     */
+    static PageBackend selenium(WebDriver driver) {
+        return new SeleniumBackend(driver);
+    }
+}
@@ -0,0 +1,350 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Captures browser-side performance metrics for each page visit: Navigation Timing, paint
+ * timings, Largest Contentful Paint and Cumulative Layout Shift. Samples are collected after
+ * every driver.get (through {@link #listener()}) and every page-object load check, kept for
+ * the whole run and checked against optional per-page budgets.
+ *
+ * <p>Those timings belong to the document, so after an SPA route change (history API, no new
+ * document) they would describe the first route. Such samples are marked soft and carry only
+ * route: the time from the last pushState/popstate to the capture.
+ *
+ * <p>Metric names, all in milliseconds except cls: ttfb, dcl (DOMContentLoaded), load,
+ * fp (first paint), fcp (first contentful paint), lcp, cls, route.
+ */
+public class PageMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(PageMetrics.class);
+
+    public static final List<String> METRICS = Collections.unmodifiableList(
+            Arrays.asList("ttfb", "dcl", "load", "fp", "fcp", "lcp", "cls", "route"));
+
+    static final String VITALS_SCRIPT =
+            "(function() {"
+            + "  if (window.__ezyVitals) { return; }"
+            + "  var vitals = window.__ezyVitals = { lcp: null, cls: 0, routeStart: null };"
+            + "  var markRoute = function() { vitals.routeStart = performance.now(); };"
+            + "  var pushState = history.pushState;"
+            + "  history.pushState = function() {"
+            + "    var result = pushState.apply(this, arguments); markRoute(); return result;"
+            + "  };"
+            + "  window.addEventListener('popstate', markRoute);"
+            + "  if (!window.PerformanceObserver) { return; }"
+            + "  try {"
+            + "    new PerformanceObserver(function(list) {"
+            + "      var entries = list.getEntries();"
+            + "      var last = entries[entries.length - 1];"
+            + "      vitals.lcp = last.renderTime || last.loadTime || last.startTime;"
+            + "    }).observe({ type: 'largest-contentful-paint', buffered: true });"
+            + "    new PerformanceObserver(function(list) {"
+            + "      list.getEntries().forEach(function(entry) {"
+            + "        if (!entry.hadRecentInput) { vitals.cls += entry.value; }"
+            + "      });"
+            + "    }).observe({ type: 'layout-shift', buffered: true });"
+            + "  } catch (e) { }"
+            + "})();";
+
+    // A route change since the document loaded (or a redirect to another URL) makes the sample soft
+    static final String COLLECT_SCRIPT =
+            "var out = { url: location.href };"
+            + "var nav = performance.getEntriesByType('navigation')[0];"
+            + "var vitals = window.__ezyVitals;"
+            + "out.vitals = !!vitals;"
+            + "if ((vitals && vitals.routeStart !== null) || (nav && nav.name !== location.href)) {"
+            + "  out.soft = true;"
+            + "  if (vitals && vitals.routeStart !== null) { out.route = performance.now() - vitals.routeStart; }"
+            + "  return out;"
+            + "}"
+            + "if (nav) {"
+            + "  out.ttfb = nav.responseStart;"
+            + "  out.dcl = nav.domContentLoadedEventEnd;"
+            + "  out.load = nav.loadEventEnd > 0 ? nav.loadEventEnd : null;"
+            + "}"
+            + "performance.getEntriesByType('paint').forEach(function(entry) {"
+            + "  if (entry.name === 'first-paint') { out.fp = entry.startTime; }"
+            + "  if (entry.name === 'first-contentful-paint') { out.fcp = entry.startTime; }"
+            + "});"
+            + "if (vitals) { out.lcp = vitals.lcp; out.cls = vitals.cls; }"
+            + "return out;";
+
+    private static final Map<WebDriver, Boolean> INSTALLED = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ConcurrentLinkedQueue<Sample> SAMPLES = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<List<String>> VIOLATIONS = ThreadLocal.withInitial(ArrayList::new);
+
+    private static volatile Map<String, Double> budgets = loadBudgets(TestConfig.PERF_BUDGETS);
+
+    private PageMetrics() {
+    }
+
+    /**
+     * Install the LCP/CLS observers. On Chromium they are registered for every new document
+     * so buffered entries from page boot are seen; otherwise they are injected into the current page.
+     */
+    public static void install(WebDriver driver) {
+        if (driver instanceof HasCdp && INSTALLED.putIfAbsent(driver, Boolean.TRUE) == null) {
+            try {
+                ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                        Collections.singletonMap("source", VITALS_SCRIPT));
+            } catch (WebDriverException e) {
+                log.debug("Could not register vitals observers for new documents: {}", e.getMessage());
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(VITALS_SCRIPT);
+    }
+
+    /**
+     * Listener that captures a sample after every driver.get, keyed by the URL path.
+     * Attach with {@code new EventFiringDecorator<>(PageMetrics.listener()).decorate(driver)}.
+     */
+    public static WebDriverListener listener() {
+        return new NavigationListener();
+    }
+
+    /**
+     * Capture a sample when a page-object load check succeeds, and pass the check result through
+     */
+    public static boolean recordLoad(WebDriver driver, String page, boolean loaded) {
+        // Driverless page backends have no browser timings to capture
+        if (loaded && driver != null) {
+            capture(driver, page);
+        }
+        return loaded;
+    }
+
+    /**
+     * Read the current page's timings, add them to the run's dataset and check them against budgets
+     */
+    public static Sample capture(WebDriver driver, String page) {
+        Map<String, Object> raw;
+        try {
+            raw = collect(driver);
+        } catch (WebDriverException e) {
+            log.debug("Could not capture page metrics for {}: {}", page, e.getMessage());
+            return null;
+        }
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (String metric : METRICS) {
+            Object value = raw.get(metric);
+            if (value instanceof Number) {
+                values.put(metric, ((Number) value).doubleValue());
+            }
+        }
+        Sample sample = new Sample(page, String.valueOf(raw.get("url")), System.currentTimeMillis(),
+                Boolean.TRUE.equals(raw.get("soft")), values);
+        SAMPLES.add(sample);
+        checkBudgets(sample);
+        return sample;
+    }
+
+    /**
+     * Fail with every budget exceeded on this thread since the last call, then start over.
+     * Call once per test, e.g. from tearDown.
+     */
+    public static void assertWithinBudgets() {
+        List<String> violations = VIOLATIONS.get();
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = "Performance budget exceeded:\n  " + String.join("\n  ", violations);
+        violations.clear();
+        throw new AssertionError(message);
+    }
+
+    /**
+     * Replace the budgets, e.g. from a test. Keys are {@code <page>.<metric>} or {@code default.<metric>}.
+     */
+    public static void setBudgets(Map<String, Double> newBudgets) {
+        budgets = new LinkedHashMap<>(newBudgets);
+    }
+
+    public static List<Sample> getSamples() {
+        return new ArrayList<>(SAMPLES);
+    }
+
+    /**
+     * Write every sample of the run as JSON
+     */
+    public static void exportJson(Path file) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Sample sample : SAMPLES) {
+            rows.add(sample.toMap());
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, new Json().toJson(rows).getBytes(StandardCharsets.UTF_8));
+            log.info("Page metrics ({} samples) written to {}", rows.size(), file);
+        } catch (IOException e) {
+            log.warn("Failed to write page metrics {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop all samples and pending budget violations
+     */
+    public static void reset() {
+        SAMPLES.clear();
+        VIOLATIONS.remove();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> collect(WebDriver driver) {
+        Object result = ((JavascriptExecutor) driver).executeScript(COLLECT_SCRIPT);
+        if (!(result instanceof Map)) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> raw = (Map<String, Object>) result;
+        if (!Boolean.TRUE.equals(raw.get("vitals"))) {
+            // Observers were not there at page boot; install for the next capture on this page
+            ((JavascriptExecutor) driver).executeScript(VITALS_SCRIPT);
+        }
+        return raw;
+    }
+
+    private static void checkBudgets(Sample sample) {
+        Map<String, Double> limits = budgets;
+        if (limits.isEmpty()) {
+            return;
+        }
+        sample.getValues().forEach((metric, value) -> {
+            Double limit = limits.get(sample.getPage() + "." + metric);
+            if (limit == null) {
+                limit = limits.get("default." + metric);
+            }
+            if (limit != null && value > limit) {
+                String violation = sample.getPage() + " " + metric + "=" + Math.round(value * 1000) / 1000.0
+                        + " > " + limit + " (" + sample.getUrl() + ")";
+                log.warn("Performance budget exceeded: {}", violation);
+                VIOLATIONS.get().add(violation);
+            }
+        });
+    }
+
+    static Map<String, Double> loadBudgets(String location) {
+        Properties properties = new Properties();
+        try (InputStream in = openBudgets(location)) {
+            if (in == null) {
+                return Collections.emptyMap();
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            log.warn("Could not read performance budgets {}: {}", location, e.getMessage());
+            return Collections.emptyMap();
+        }
+        Map<String, Double> loaded = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            loaded.put(key, Double.parseDouble(properties.getProperty(key).trim()));
+        }
+        if (!loaded.isEmpty()) {
+            log.info("Loaded {} performance budgets from {}", loaded.size(), location);
+        }
+        return loaded;
+    }
+
+    private static InputStream openBudgets(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.isRegularFile(path)) {
+            return Files.newInputStream(path);
+        }
+        return PageMetrics.class.getClassLoader().getResourceAsStream(location);
+    }
+
+    /**
+     * Public so EventFiringDecorator can invoke it reflectively
+     */
+    public static final class NavigationListener implements WebDriverListener {
+        @Override
+        public void afterGet(WebDriver driver, String url) {
+            if (url != null && url.startsWith("http")) {
+                capture(driver, "GET " + URI.create(url).getPath());
+            }
+        }
+    }
+
+    /**
+     * Metrics captured for one page visit
+     */
+    public static final class Sample {
+        private final String page;
+        private final String url;
+        private final long timestamp;
+        private final boolean soft;
+        private final Map<String, Double> values;
+
+        Sample(String page, String url, long timestamp, boolean soft, Map<String, Double> values) {
+            this.page = page;
+            this.url = url;
+            this.timestamp = timestamp;
+            this.soft = soft;
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Whether the page was reached by an SPA route change, so only route is reported
+         */
+        public boolean isSoft() {
+            return soft;
+        }
+
+        public Map<String, Double> getValues() {
+            return values;
+        }
+
+        /**
+         * Value of one metric, or null if the browser did not report it
+         */
+        public Double get(String metric) {
+            return values.get(metric);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("page", page);
+            row.put("url", url);
+            row.put("timestamp", timestamp);
+            row.put("soft", soft);
+            row.putAll(values);
+            return row;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Event-driven readiness waits that return as soon as the page is actually ready,
+ * replacing fixed Thread.sleep calls. An injected script counts in-flight fetch/XHR
+ * requests and records the time of the last DOM mutation. Its per-document id and mutation
+ * count also tell ElementCache whether cached elements are still current, and its mutation
+ * observer wakes AdaptiveWait waiters.
+ */
+public class PageReadiness {
+
+    private static final Logger log = LoggerFactory.getLogger(PageReadiness.class);
+
+    static final String TRACKER_SCRIPT =
+            "(function() {"
+            + "  if (window.__ezyReadiness) { return; }"
+            + "  var state = window.__ezyReadiness = { inflight: 0, lastNetwork: Date.now(), lastMutation: Date.now(),"
+            + "    id: Math.random().toString(36).slice(2), mutations: 0, waiters: [] };"
+            + "  var begin = function() { state.inflight++; state.lastNetwork = Date.now(); };"
+            + "  var end = function() { state.inflight = Math.max(0, state.inflight - 1); state.lastNetwork = Date.now(); };"
+            + "  if (window.fetch) {"
+            + "    var originalFetch = window.fetch;"
+            + "    window.fetch = function() {"
+            + "      begin();"
+            + "      try {"
+            + "        return originalFetch.apply(this, arguments).then("
+            + "          function(response) { end(); return response; },"
+            + "          function(error) { end(); throw error; });"
+            + "      } catch (e) { end(); throw e; }"
+            + "    };"
+            + "  }"
+            + "  var originalSend = XMLHttpRequest.prototype.send;"
+            + "  XMLHttpRequest.prototype.send = function() {"
+            + "    begin();"
+            + "    this.addEventListener('loadend', end);"
+            + "    return originalSend.apply(this, arguments);"
+            + "  };"
+            + "  var observe = function() {"
+            + "    new MutationObserver(function() {"
+            + "      state.lastMutation = Date.now(); state.mutations++;"
+            + "      var waiters = state.waiters.splice(0);"
+            + "      for (var i = 0; i < waiters.length; i++) { waiters[i](); }"
+            + "    }).observe(document.documentElement,"
+            + "      { childList: true, subtree: true, attributes: true, characterData: true });"
+            + "  };"
+            + "  if (document.documentElement) { observe(); } else { document.addEventListener('DOMContentLoaded', observe); }"
+            + "})();";
+
+    // Installs the tracker first if the page navigated without the new-document hook (tracking
+    // from now on), so every poll is a single round trip
+    static final String STATUS_SCRIPT =
+            TRACKER_SCRIPT
+            + "var s = window.__ezyReadiness;"
+            + "var now = Date.now();"
+            + "return [s.inflight, now - s.lastNetwork, now - s.lastMutation, document.readyState];";
+
+    // Navbar shows either Log Out or Login once the app's checkAuth() call has completed
+    private static final By AUTH_RESOLVED_MARKER =
+            By.xpath("//button[contains(., 'Log Out')] | //a[@href='/login']");
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    private static final Map<WebDriver, Boolean> INSTALLED = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, WaitStats> STATS = new ConcurrentHashMap<>();
+
+    private PageReadiness() {
+    }
+
+    /**
+     * Install the request/mutation tracker. On Chromium it is registered for every new document
+     * so requests made while the page boots are counted; otherwise it is injected into the current page.
+     */
+    public static void install(WebDriver driver) {
+        if (driver instanceof HasCdp && INSTALLED.putIfAbsent(driver, Boolean.TRUE) == null) {
+            try {
+                ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                        Collections.singletonMap("source", TRACKER_SCRIPT));
+            } catch (WebDriverException e) {
+                log.debug("Could not register readiness tracker for new documents: {}", e.getMessage());
+            }
+        }
+        injectIntoCurrentPage(driver);
+    }
+
+    /**
+     * Wait until there are no in-flight fetch/XHR requests for the configured quiet period
+     */
+    public static Duration waitForNetworkIdle(WebDriver driver) {
+        return waitForNetworkIdle(driver, Duration.ofMillis(TestConfig.READINESS_QUIET_MILLIS),
+                Duration.ofSeconds(TestConfig.PAGE_LOAD_TIMEOUT));
+    }
+
+    public static Duration waitForNetworkIdle(WebDriver driver, Duration quiet, Duration timeout) {
+        return timed("networkIdle", driver, timeout, status -> "complete".equals(status.get(3))
+                && ((Number) status.get(0)).longValue() == 0
+                && ((Number) status.get(1)).longValue() >= quiet.toMillis());
+    }
+
+    /**
+     * Wait until React has stopped mutating the DOM for the configured quiet period
+     */
+    public static Duration waitForRenderSettled(WebDriver driver) {
+        return waitForRenderSettled(driver, Duration.ofMillis(TestConfig.READINESS_QUIET_MILLIS),
+                Duration.ofSeconds(TestConfig.PAGE_LOAD_TIMEOUT));
+    }
+
+    public static Duration waitForRenderSettled(WebDriver driver, Duration quiet, Duration timeout) {
+        return timed("renderSettled", driver, timeout, status -> "complete".equals(status.get(3))
+                && ((Number) status.get(2)).longValue() >= quiet.toMillis());
+    }
+
+    /**
+     * Wait until the app's auth check has finished and the navbar reflects the login state
+     */
+    public static Duration waitForAuthResolved(WebDriver driver) {
+        Duration network = waitForNetworkIdle(driver);
+        Duration marker = waitFor("authResolved", driver, Duration.ofSeconds(TestConfig.EXPLICIT_WAIT),
+                d -> !ElementPresence.findAllNow(d, AUTH_RESOLVED_MARKER).isEmpty());
+        return network.plus(marker);
+    }
+
+    /**
+     * Wait for document load, network idle and a settled render, in that order
+     */
+    public static Duration waitForPageReady(WebDriver driver) {
+        return waitForNetworkIdle(driver).plus(waitForRenderSettled(driver));
+    }
+
+    /**
+     * Wait for an app-specific marker condition and record the time spent under the given name
+     */
+    public static <T> Duration waitFor(String name, WebDriver driver, Duration timeout, ExpectedCondition<T> condition) {
+        long start = System.nanoTime();
+        long elapsed;
+        try {
+            new WebDriverWait(driver, timeout, POLL_INTERVAL).until(condition);
+        } finally {
+            elapsed = System.nanoTime() - start;
+            record(name, elapsed);
+        }
+        return Duration.ofNanos(elapsed);
+    }
+
+    /**
+     * Time spent per wait type since the start of the run
+     */
+    public static Map<String, WaitStats> getWaitStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(STATS));
+    }
+
+    /**
+     * One line per wait type: count, total and max time
+     */
+    public static String getTimingReport() {
+        StringBuilder report = new StringBuilder();
+        getWaitStats().forEach((name, stats) -> report.append(name).append(": ").append(stats).append('\n'));
+        return report.toString();
+    }
+
+    // One status script call per poll: [in-flight requests, ms since network, ms since mutation, readyState]
+    private static Duration timed(String name, WebDriver driver, Duration timeout, Predicate<List<?>> ready) {
+        return waitFor(name, driver, timeout, d -> {
+            Object status = ((JavascriptExecutor) d).executeScript(STATUS_SCRIPT);
+            return status instanceof List && ((List<?>) status).size() == 4 && ready.test((List<?>) status);
+        });
+    }
+
+    private static void injectIntoCurrentPage(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(TRACKER_SCRIPT);
+    }
+
+    private static void record(String name, long nanos) {
+        STATS.computeIfAbsent(name, k -> new WaitStats()).add(nanos);
+        log.debug("Readiness wait {} took {} ms", name, nanos / 1_000_000);
+    }
+
+    /**
+     * Accumulated timings for one wait type
+     */
+    public static final class WaitStats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public Duration getTotal() {
+            return Duration.ofNanos(totalNanos.get());
+        }
+
+        public Duration getMax() {
+            return Duration.ofNanos(maxNanos.get());
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count.get() + ", totalMs=" + totalNanos.get() / 1_000_000
+                    + ", maxMs=" + maxNanos.get() / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Pool of Chrome user-data directories. Each directory starts as a copy of a template with
+ * first-run already done, is leased to one browser at a time, and is wiped back to the
+ * template when that browser quits. Directories live on tmpfs (/dev/shm) when it is available.
+ * Directories left behind by crashed JVMs, and the old /tmp/chrome-profile-* directories,
+ * are removed when the pool starts.
+ */
+public class ProfileDirPool {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileDirPool.class);
+
+    private static final String OWNER_FILE = ".owner";
+    private static final String TEMPLATE_PREFERENCES =
+            "{\"profile\":{\"default_content_setting_values\":{\"notifications\":2},"
+            + "\"password_manager_enabled\":false},\"credentials_enable_service\":false}";
+    // Profiles from before this pool existed, one per driver start, never deleted
+    private static final String LEGACY_PREFIX = "chrome-profile-";
+    private static final Duration LEGACY_MAX_AGE = Duration.ofHours(1);
+
+    private static volatile ProfileDirPool shared;
+
+    private final Path root;
+    private final Path template;
+    private final long pid = ProcessHandle.current().pid();
+    private final ConcurrentLinkedDeque<Path> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicLong leaseCount = new AtomicLong();
+    private final AtomicLong wipes = new AtomicLong();
+    private final int staleRemoved;
+
+    /**
+     * @param root   directory holding the profiles; created if missing
+     * @param warmUp profiles copied from the template up front
+     */
+    public ProfileDirPool(Path root, int warmUp) {
+        this.root = root;
+        try {
+            Files.createDirectories(root);
+            staleRemoved = removeStale();
+            template = root.resolve("template-" + pid);
+            Files.createDirectories(template.resolve("Default"));
+            Files.write(template.resolve("First Run"), new byte[0]);
+            Files.write(template.resolve("Default").resolve("Preferences"),
+                    TEMPLATE_PREFERENCES.getBytes(StandardCharsets.UTF_8));
+            writeOwner(template);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not set up Chrome profile pool in " + root, e);
+        }
+        for (int i = 0; i < warmUp; i++) {
+            idle.add(create());
+        }
+        log.info("Chrome profile pool in {}: {} warm, {} stale removed", root, warmUp, staleRemoved);
+    }
+
+    /**
+     * Pool under TestConfig.PROFILE_POOL_DIR, or /dev/shm when it is writable, else the temp dir
+     */
+    public static ProfileDirPool shared() {
+        if (shared == null) {
+            synchronized (ProfileDirPool.class) {
+                if (shared == null) {
+                    shared = new ProfileDirPool(defaultRoot(), TestConfig.PROFILE_POOL_WARM);
+                    Runtime.getRuntime().addShutdownHook(new Thread(shared::shutdown, "profile-pool-shutdown"));
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * The shared pool if anything has used it yet, else null
+     */
+    public static ProfileDirPool sharedIfCreated() {
+        return shared;
+    }
+
+    /**
+     * Lease a clean profile directory, creating one if none is idle
+     */
+    public Lease lease() {
+        Path dir = idle.pollFirst();
+        if (dir == null) {
+            dir = create();
+        }
+        leased.incrementAndGet();
+        leaseCount.incrementAndGet();
+        return new Lease(this, dir);
+    }
+
+    /**
+     * Decorate a driver so its profile goes back to the pool when it quits
+     */
+    public static WebDriver releaseOnQuit(WebDriver driver, Lease lease) {
+        return new EventFiringDecorator<>(new ReleaseListener(lease)).decorate(driver);
+    }
+
+    /**
+     * Delete every directory this pool created
+     */
+    public void shutdown() {
+        Path dir;
+        while ((dir = idle.pollFirst()) != null) {
+            delete(dir);
+        }
+        delete(template);
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(root, isTmpfs(root), created.get(), leased.get(), idle.size(), leaseCount.get(),
+                wipes.get(), staleRemoved, diskUsage(root));
+    }
+
+    private void release(Path dir) {
+        leased.decrementAndGet();
+        // Wipe everything Chrome wrote (cache, cookies, local storage) and start again from the template
+        delete(dir);
+        try {
+            copy(template, dir);
+            wipes.incrementAndGet();
+            idle.addFirst(dir);
+        } catch (IOException e) {
+            log.warn("Could not reset Chrome profile {}: {}", dir, e.getMessage());
+            delete(dir);
+        }
+    }
+
+    private Path create() {
+        Path dir = root.resolve("profile-" + pid + "-" + created.incrementAndGet());
+        try {
+            copy(template, dir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create Chrome profile " + dir, e);
+        }
+        return dir;
+    }
+
+    // Profiles whose owning JVM is gone, plus legacy per-start profiles older than an hour
+    private int removeStale() throws IOException {
+        int removed = 0;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root)) {
+            for (Path dir : dirs) {
+                if (Files.isDirectory(dir) && !ownerAlive(dir)) {
+                    delete(dir);
+                    removed++;
+                }
+            }
+        }
+        Path tmp = Paths.get(System.getProperty("java.io.tmpdir"));
+        Instant cutoff = Instant.now().minus(LEGACY_MAX_AGE);
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(tmp, LEGACY_PREFIX + "*")) {
+            for (Path dir : dirs) {
+                if (Files.getLastModifiedTime(dir).toInstant().isBefore(cutoff)) {
+                    delete(dir);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not scan {} for old Chrome profiles: {}", tmp, e.getMessage());
+        }
+        return removed;
+    }
+
+    private static boolean ownerAlive(Path dir) {
+        try {
+            long owner = Long.parseLong(new String(Files.readAllBytes(dir.resolve(OWNER_FILE)), StandardCharsets.UTF_8).trim());
+            return ProcessHandle.of(owner).map(ProcessHandle::isAlive).orElse(false);
+        } catch (IOException | NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void writeOwner(Path dir) throws IOException {
+        Files.write(dir.resolve(OWNER_FILE), String.valueOf(pid).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path defaultRoot() {
+        if (!TestConfig.PROFILE_POOL_DIR.isEmpty()) {
+            return Paths.get(TestConfig.PROFILE_POOL_DIR);
+        }
+        Path shm = Paths.get("/dev/shm");
+        if (Files.isDirectory(shm) && Files.isWritable(shm)) {
+            return shm.resolve("ezy-profiles");
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"), "ezy-profiles");
+    }
+
+    private static boolean isTmpfs(Path dir) {
+        try {
+            return "tmpfs".equals(Files.getFileStore(dir).type());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static long diskUsage(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> {
+                try {
+                    return Files.size(path);
+                } catch (IOException e) {
+                    // Chrome may delete files while we walk
+                    return 0;
+                }
+            }).sum();
+        } catch (IOException | java.io.UncheckedIOException e) {
+            return -1;
+        }
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(path, destination);
+                }
+            }
+        }
+    }
+
+    private static void delete(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.debug("Could not delete {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException | java.io.UncheckedIOException e) {
+            log.debug("Could not delete {}: {}", dir, e.getMessage());
+        }
+    }
+
+    /**
+     * One profile directory, held by one browser until {@link #release()}
+     */
+    public static final class Lease {
+        private final ProfileDirPool pool;
+        private final Path path;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Lease(ProfileDirPool pool, Path path) {
+            this.pool = pool;
+            this.path = path;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Wipe the directory and return it to the pool; only the first call has an effect
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                pool.release(path);
+            }
+        }
+    }
+
+    public static final class ReleaseListener implements WebDriverListener {
+        private final Lease lease;
+
+        ReleaseListener(Lease lease) {
+            this.lease = lease;
+        }
+
+        @Override
+        public void afterQuit(WebDriver driver) {
+            lease.release();
+        }
+    }
+
+    /**
+     * Point-in-time pool statistics
+     */
+    public static final class Metrics {
+        private final Path root;
+        private final boolean tmpfs;
+        private final int created;
+        private final int leased;
+        private final int idle;
+        private final long leaseCount;
+        private final long wipes;
+        private final int staleRemoved;
+        private final long diskUsageBytes;
+
+        Metrics(Path root, boolean tmpfs, int created, int leased, int idle, long leaseCount, long wipes,
+                int staleRemoved, long diskUsageBytes) {
+            this.root = root;
+            this.tmpfs = tmpfs;
+            this.created = created;
+            this.leased = leased;
+            this.idle = idle;
+            this.leaseCount = leaseCount;
+            this.wipes = wipes;
+            this.staleRemoved = staleRemoved;
+            this.diskUsageBytes = diskUsageBytes;
+        }
+
+        public boolean isTmpfs() {
+            return tmpfs;
+        }
+
+        public int getCreated() {
+            return created;
+        }
+
+        public int getLeased() {
+            return leased;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public long getLeaseCount() {
+            return leaseCount;
+        }
+
+        public long getWipes() {
+            return wipes;
+        }
+
+        public int getStaleRemoved() {
+            return staleRemoved;
+        }
+
+        public long getDiskUsageBytes() {
+            return diskUsageBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s%s: %d created, %d leased, %d idle, %d leases, %d wipes, %d stale removed, %.1f MB on disk",
+                    root, tmpfs ? " (tmpfs)" : "", created, leased, idle, leaseCount, wipes, staleRemoved,
+                    diskUsageBytes / (1024.0 * 1024.0));
+        }
+    }
+}
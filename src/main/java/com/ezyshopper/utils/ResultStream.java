@@ -0,0 +1,263 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams test results as JSON lines while the suite runs, so a dashboard can tail a long
+ * parallel run: suite and test start/end, timed page-object steps, assertion failures and
+ * artifact paths. Lines are collected in a direct buffer and written with one channel write
+ * when it fills, when a test ends, or when RESULTS_FLUSH_MILLIS have passed since the last write.
+ * The test a thread is running is bound with {@link #begin}, so steps and artifacts from
+ * deep inside page objects are attributed to it.
+ */
+public class ResultStream {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultStream.class);
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private static volatile ResultStream shared;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final long flushNanos;
+    private final String run = Long.toString(System.currentTimeMillis(), 36);
+    private final Json json = new Json();
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private long lastWrite = System.nanoTime();
+    private boolean closed;
+
+    /**
+     * @param file        JSONL file, truncated when opened
+     * @param bufferBytes lines held before a write is forced
+     * @param flushMillis longest a line waits in the buffer while events keep coming
+     */
+    public ResultStream(Path file, int bufferBytes, long flushMillis) throws IOException {
+        this.file = file;
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+        this.flushNanos = flushMillis * 1_000_000;
+    }
+
+    /**
+     * The stream under REPORT_DIR/RESULTS_STREAM, or null when RESULTS_STREAM is empty or the
+     * file cannot be opened
+     */
+    public static ResultStream shared() {
+        if (shared == null && !TestConfig.RESULTS_STREAM.isEmpty()) {
+            synchronized (ResultStream.class) {
+                if (shared == null) {
+                    Path file = Paths.get(TestConfig.REPORT_DIR, TestConfig.RESULTS_STREAM);
+                    try {
+                        shared = new ResultStream(file, TestConfig.RESULTS_BUFFER_KB * 1024, TestConfig.RESULTS_FLUSH_MILLIS);
+                        Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "result-stream-close"));
+                        log.info("Streaming results to {}", file);
+                    } catch (IOException e) {
+                        log.warn("Could not open results stream {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Bind a test to this thread and write its start event
+     */
+    public static void begin(String test, String displayName) {
+        CURRENT.set(test);
+        ResultStream stream = shared();
+        if (stream != null) {
+            stream.write("testStart", test, fields("displayName", displayName));
+        }
+    }
+
+    /**
+     * Write the end event of this thread's test, flush, and unbind it
+     */
+    public static void end(String outcome, long durationMillis, long executionMillis, Throwable failure) {
+        String test = CURRENT.get();
+        CURRENT.remove();
+        ResultStream stream = shared();
+        if (stream == null || test == null) {
+            return;
+        }
+        Map<String, Object> fields = fields("outcome", outcome);
+        fields.put("durationMs", durationMillis);
+        fields.put("executionMs", executionMillis);
+        if (failure != null) {
+            fields.put("failure", failure.getClass().getName());
+            fields.put("message", failure.getMessage());
+        }
+        stream.write("testEnd", test, fields);
+        stream.flush();
+    }
+
+    /**
+     * One timed page-object or SeleniumUtils action of this thread's test
+     */
+    public static void step(String page, String action, long nanos, boolean ok) {
+        String test = CURRENT.get();
+        ResultStream stream = test == null ? null : shared();
+        if (stream != null) {
+            Map<String, Object> fields = fields("page", page);
+            fields.put("action", action);
+            fields.put("durationMs", nanos / 1_000_000.0);
+            fields.put("ok", ok);
+            stream.write("step", test, fields);
+        }
+    }
+
+    /**
+     * A failed assertion of this thread's test; expected and actual may be null
+     */
+    public static void assertion(String message, Object expected, Object actual) {
+        String test = CURRENT.get();
+        ResultStream stream = test == null ? null : shared();
+        if (stream != null) {
+            Map<String, Object> fields = fields("message", message);
+            fields.put("expected", expected == null ? null : String.valueOf(expected));
+            fields.put("actual", actual == null ? null : String.valueOf(actual));
+            stream.write("assertion", test, fields);
+        }
+    }
+
+    /**
+     * A file written for this thread's test
+     */
+    public static void artifact(Path path) {
+        String test = CURRENT.get();
+        ResultStream stream = test == null ? null : shared();
+        if (stream != null) {
+            stream.write("artifact", test, fields("path", path.toString()));
+        }
+    }
+
+    /**
+     * A suite-level event (suiteStart, suiteEnd), written and flushed immediately
+     */
+    public static void suite(String event, Map<String, Object> fields) {
+        ResultStream stream = shared();
+        if (stream != null) {
+            stream.write(event, null, new LinkedHashMap<>(fields));
+            stream.flush();
+        }
+    }
+
+    /**
+     * Append one event line; test may be null for suite events
+     */
+    public void write(String event, String test, Map<String, Object> fields) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("ts", System.currentTimeMillis());
+        line.put("run", run);
+        line.put("event", event);
+        if (test != null) {
+            line.put("test", test);
+        }
+        line.put("thread", Thread.currentThread().getName());
+        line.putAll(fields);
+        byte[] bytes = (json.toJson(line).replaceAll("\\s*\\n\\s*", "") + "\n").getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            events.incrementAndGet();
+            if (bytes.length > buffer.remaining()) {
+                drain();
+            }
+            if (bytes.length > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(bytes));
+            } else {
+                buffer.put(bytes);
+            }
+            if (System.nanoTime() - lastWrite >= flushNanos) {
+                drain();
+            }
+        }
+    }
+
+    /**
+     * Write whatever is buffered
+     */
+    public synchronized void flush() {
+        if (!closed) {
+            drain();
+        }
+    }
+
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        drain();
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close results stream {}: {}", file, e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getEvents() {
+        return events.get();
+    }
+
+    /**
+     * Channel writes so far; far fewer than events when buffering works
+     */
+    public long getWrites() {
+        return writes.get();
+    }
+
+    private void drain() {
+        lastWrite = System.nanoTime();
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer bytes) {
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            writes.incrementAndGet();
+        } catch (IOException e) {
+            log.warn("Failed to write results stream {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> fields(String key, Object value) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(key, value);
+        return fields;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * PageBackend that drives a browser through SeleniumUtils, ElementPresence and ElementCache
+ */
+public class SeleniumBackend implements PageBackend {
+
+    private final WebDriver driver;
+
+    public SeleniumBackend(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public void type(String page, String field, By locator, String text) {
+        SeleniumUtils.safeSendKeys(driver, locator, text);
+    }
+
+    @Override
+    public void click(String page, String control, By locator) {
+        SeleniumUtils.safeClick(driver, locator);
+    }
+
+    @Override
+    public boolean isPresent(String page, String element, By locator) {
+        return ElementPresence.isPresent(driver, locator);
+    }
+
+    @Override
+    public int count(String page, String element, By locator) {
+        return ElementCache.findAll(driver, locator).size();
+    }
+
+    @Override
+    public boolean awaitPresent(String page, String element, By locator) {
+        return ElementPresence.awaitPresent(driver, locator);
+    }
+
+    @Override
+    public int awaitCount(String page, String element, By locator) {
+        return ElementCache.awaitAll(driver, locator).size();
+    }
+
+    @Override
+    public String text(String page, String element, By locator) {
+        return SeleniumUtils.getTextSafely(driver, locator);
+    }
+
+    @Override
+    public boolean isAt(String page, String path) {
+        return driver.getCurrentUrl().contains(path);
+    }
+
+    @Override
+    public WebDriver getDriver() {
+        return driver;
+    }
+}
@@ -1,7 +1,6 @@
 package com.ezyshopper.utils;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -10,21 +9,27 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.io.File;
-import java.io.IOException;
-import java.text.SimpleDateFormat;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Utility class for common Selenium operations
  */
 public class SeleniumUtils {
     
+    private static final DateTimeFormatter SCREENSHOT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy.MM.dd.HH.mm.ss.SSS");
+    
     /**
      * Initialize WebDriver based on browser type
      */
     public static WebDriver initializeDriver(String browser) {
+        return ActionTimer.callUtility("driverStart", () -> startDriver(browser));
+    }
+
+    private static WebDriver startDriver(String browser) {
         WebDriver driver;
 
         switch (browser.toLowerCase()) {
@@ -65,12 +70,16 @@ public class SeleniumUtils {
                 // Set page load strategy to reduce timeouts
                 chromeOptions.setPageLoadStrategy(org.openqa.selenium.PageLoadStrategy.NORMAL);
 
-                // MOST IMPORTANT FIX → prevents session creation error
-                String uniqueProfile = "/tmp/chrome-profile-" + System.currentTimeMillis();
-                chromeOptions.addArguments("--user-data-dir=" + uniqueProfile);
+                // Each session needs its own user-data dir; pooled dirs are pre-warmed and wiped on quit
+                ProfileDirPool.Lease profile = ProfileDirPool.shared().lease();
+                chromeOptions.addArguments("--user-data-dir=" + profile.getPath());
 
-
-                driver = new ChromeDriver(chromeOptions);
+                try {
+                    driver = ProfileDirPool.releaseOnQuit(new ChromeDriver(chromeOptions), profile);
+                } catch (RuntimeException e) {
+                    profile.release();
+                    throw e;
+                }
                 break;
         }
 
@@ -86,101 +95,168 @@ public class SeleniumUtils {
      * Wait for element to be clickable
      */
     public static WebElement waitForElementToBeClickable(WebDriver driver, By locator, int timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return ActionTimer.callUtility("waitClickable", () -> AdaptiveWait.of(driver)
+                .until("waitClickable", Duration.ofSeconds(timeout), ExpectedConditions.elementToBeClickable(locator)));
     }
     
     /**
      * Wait for element to be visible
      */
     public static WebElement waitForElementToBeVisible(WebDriver driver, By locator, int timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return ActionTimer.callUtility("waitVisible", () -> AdaptiveWait.of(driver)
+                .until("waitVisible", Duration.ofSeconds(timeout), ExpectedConditions.visibilityOfElementLocated(locator)));
     }
     
     /**
      * Wait for element to be present
      */
     public static WebElement waitForElementToBePresent(WebDriver driver, By locator, int timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return ActionTimer.callUtility("waitPresent", () -> AdaptiveWait.of(driver)
+                .until("waitPresent", Duration.ofSeconds(timeout), ExpectedConditions.presenceOfElementLocated(locator)));
     }
     
     /**
      * Safe click with explicit wait
      */
     public static void safeClick(WebDriver driver, By locator) {
-        WebElement element = waitForElementToBeClickable(driver, locator, TestConfig.EXPLICIT_WAIT);
-        element.click();
+        ActionTimer.runUtility("click", () -> {
+            WebElement element = waitForElementToBeClickable(driver, locator, TestConfig.EXPLICIT_WAIT);
+            element.click();
+        });
     }
     
     /**
      * Safe send keys with explicit wait
      */
     public static void safeSendKeys(WebDriver driver, By locator, String text) {
-        WebElement element = waitForElementToBeVisible(driver, locator, TestConfig.EXPLICIT_WAIT);
-        element.clear();
-        element.sendKeys(text);
+        ActionTimer.runUtility("sendKeys", () -> {
+            WebElement element = waitForElementToBeVisible(driver, locator, TestConfig.EXPLICIT_WAIT);
+            element.clear();
+            element.sendKeys(text);
+        });
     }
     
     /**
      * Scroll to element
      */
     public static void scrollToElement(WebDriver driver, WebElement element) {
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].scrollIntoView(true);", element);
+        ActionTimer.runUtility("scroll", () -> {
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript("arguments[0].scrollIntoView(true);", element);
+        });
     }
     
     /**
-     * Take screenshot
+     * Take screenshot. The image is written asynchronously by ArtifactWriter.
      */
     public static String takeScreenshot(WebDriver driver, String testName) {
-        String timestamp = new SimpleDateFormat("yyyy.MM.dd.HH.mm.ss").format(new Date());
-        String fileName = testName + "_" + timestamp + ".png";
-        String filePath = TestConfig.SCREENSHOT_DIR + fileName;
+        return ActionTimer.callUtility("screenshot", () -> saveScreenshot(driver, testName));
+    }
+
+    private static String saveScreenshot(WebDriver driver, String testName) {
+        boolean jpeg = "jpg".equalsIgnoreCase(TestConfig.SCREENSHOT_FORMAT);
+        String fileName = testName + "_" + SCREENSHOT_TIMESTAMP.format(LocalDateTime.now()) + (jpeg ? ".jpg" : ".png");
+        Path filePath = Paths.get(TestConfig.SCREENSHOT_DIR, fileName);
         
         try {
-            File scrFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            File destFile = new File(filePath);
-            FileUtils.copyFile(scrFile, destFile);
-            System.out.println("Screenshot saved: " + filePath);
-            return filePath;
-        } catch (IOException e) {
-            System.out.println("Failed to save screenshot: " + e.getMessage());
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            // Encoding and disk I/O happen on the writer threads; the file appears once the queue drains
+            ArtifactWriter.shared().submit(filePath, png,
+                    jpeg ? ArtifactWriter.Encoding.JPEG : ArtifactWriter.Encoding.RAW);
+            System.out.println("Screenshot queued: " + filePath);
+            return filePath.toString();
+        } catch (WebDriverException e) {
+            System.out.println("Failed to take screenshot: " + e.getMessage());
             return null;
         }
     }
     
     /**
-     * Check if element is present
+     * Check if element is present, waiting up to the driver's implicit wait.
+     * Prefer ElementPresence.isPresent for checks that are expected to fail.
      */
     public static boolean isElementPresent(WebDriver driver, By locator) {
-        try {
-            driver.findElement(locator);
-            return true;
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return ActionTimer.callUtility("isPresent", () -> {
+            try {
+                driver.findElement(locator);
+                return true;
+            } catch (NoSuchElementException e) {
+                return false;
+            }
+        });
     }
     
     /**
      * Wait for page to load
      */
     public static void waitForPageLoad(WebDriver driver) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(TestConfig.PAGE_LOAD_TIMEOUT));
-        wait.until(webDriver -> ((JavascriptExecutor) webDriver)
-                .executeScript("return document.readyState").equals("complete"));
+        ActionTimer.runUtility("pageLoad", () -> {
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(TestConfig.PAGE_LOAD_TIMEOUT));
+            wait.until(webDriver -> ((JavascriptExecutor) webDriver)
+                    .executeScript("return document.readyState").equals("complete"));
+        });
+    }
+    
+    /**
+     * Wait for page to load, in-flight requests to finish and rendering to settle
+     */
+    public static void waitForPageReady(WebDriver driver) {
+        PageReadiness.waitForPageReady(driver);
     }
     
     /**
      * Get element text safely
      */
     public static String getTextSafely(WebDriver driver, By locator) {
-        try {
-            WebElement element = waitForElementToBeVisible(driver, locator, TestConfig.EXPLICIT_WAIT);
-            return element.getText();
-        } catch (Exception e) {
-            return "";
-        }
+        return ActionTimer.callUtility("getText", () -> {
+            try {
+                WebElement element = waitForElementToBeVisible(driver, locator, TestConfig.EXPLICIT_WAIT);
+                return element.getText();
+            } catch (Exception e) {
+                return "";
+            }
+        });
+    }
+    
+    /**
+     * Safe click using the current thread's driver
+     */
+    public static void safeClick(By locator) {
+        safeClick(DriverManager.getDriver(), locator);
+    }
+    
+    /**
+     * Safe send keys using the current thread's driver
+     */
+    public static void safeSendKeys(By locator, String text) {
+        safeSendKeys(DriverManager.getDriver(), locator, text);
+    }
+    
+    /**
+     * Check if element is present using the current thread's driver
+     */
+    public static boolean isElementPresent(By locator) {
+        return isElementPresent(DriverManager.getDriver(), locator);
+    }
+    
+    /**
+     * Wait for page to load using the current thread's driver
+     */
+    public static void waitForPageLoad() {
+        waitForPageLoad(DriverManager.getDriver());
+    }
+    
+    /**
+     * Take screenshot using the current thread's driver
+     */
+    public static String takeScreenshot(String testName) {
+        return takeScreenshot(DriverManager.getDriver(), testName);
+    }
+    
+    /**
+     * Get element text safely using the current thread's driver
+     */
+    public static String getTextSafely(By locator) {
+        return getTextSafely(DriverManager.getDriver(), locator);
     }
 }
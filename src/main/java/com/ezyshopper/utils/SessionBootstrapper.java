@@ -0,0 +1,186 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates or logs in users directly against the backend API and injects the resulting
+ * auth cookies into a browser session, so tests that only need a logged-in user can
+ * skip the UI sign-up/login flow.
+ */
+public class SessionBootstrapper {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionBootstrapper.class);
+
+    static final String SIGNUP_PATH = "/api/auth/signup";
+    static final String LOGIN_PATH = "/api/auth/login";
+    static final String CART_PATH = "/api/cart";
+
+    private final String backendUrl;
+    private final HttpClient client;
+    private final Json json = new Json();
+
+    public SessionBootstrapper() {
+        this(TestConfig.BACKEND_URL);
+    }
+
+    public SessionBootstrapper(String backendUrl) {
+        this.backendUrl = backendUrl.endsWith("/") ? backendUrl.substring(0, backendUrl.length() - 1) : backendUrl;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(TestConfig.EXPLICIT_WAIT))
+                .build();
+    }
+
+    /**
+     * Register a new user and return the auth cookies set by the backend
+     */
+    public List<HttpCookie> signUp(String name, String email, String password) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", name);
+        body.put("email", email);
+        body.put("password", password);
+        return authenticate(SIGNUP_PATH, body);
+    }
+
+    /**
+     * Log in an existing user and return the auth cookies set by the backend
+     */
+    public List<HttpCookie> login(String email, String password) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("email", email);
+        body.put("password", password);
+        return authenticate(LOGIN_PATH, body);
+    }
+
+    /**
+     * Log in, registering the user first if the login is rejected
+     */
+    public List<HttpCookie> loginOrSignUp(String name, String email, String password) {
+        try {
+            return login(email, password);
+        } catch (IllegalStateException e) {
+            log.debug("Login for {} failed ({}), registering instead", email, e.getMessage());
+            return signUp(name, email, password);
+        }
+    }
+
+    /**
+     * Log in (or register) the user and inject the auth cookies into the driver.
+     * Call this before the first navigation to the app.
+     */
+    public List<HttpCookie> bootstrap(WebDriver driver, String name, String email, String password) {
+        long start = System.nanoTime();
+        List<HttpCookie> cookies = loginOrSignUp(name, email, password);
+        injectCookies(driver, cookies);
+        log.info("Bootstrapped session for {} in {} ms", email, (System.nanoTime() - start) / 1_000_000);
+        return cookies;
+    }
+
+    /**
+     * Add cookies to the browser for the backend host. On Chromium this uses CDP and needs no
+     * navigation; otherwise the driver briefly visits the backend so the cookies can be set.
+     */
+    public void injectCookies(WebDriver driver, List<HttpCookie> cookies) {
+        URI backend = URI.create(backendUrl);
+        if (driver instanceof HasCdp) {
+            for (HttpCookie cookie : cookies) {
+                Map<String, Object> params = new HashMap<>();
+                params.put("name", cookie.getName());
+                params.put("value", cookie.getValue());
+                params.put("url", backendUrl);
+                params.put("path", cookie.getPath() != null ? cookie.getPath() : "/");
+                params.put("httpOnly", cookie.isHttpOnly());
+                params.put("secure", cookie.getSecure());
+                ((HasCdp) driver).executeCdpCommand("Network.setCookie", params);
+            }
+            return;
+        }
+
+        driver.get(backendUrl);
+        for (HttpCookie cookie : cookies) {
+            driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                    .domain(backend.getHost())
+                    .path(cookie.getPath() != null ? cookie.getPath() : "/")
+                    .isHttpOnly(cookie.isHttpOnly())
+                    .isSecure(cookie.getSecure())
+                    .build());
+        }
+    }
+
+    /**
+     * Remove every item from the cart of the user owning the given auth cookies
+     */
+    public void clearCart(List<HttpCookie> cookies) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(backendUrl + CART_PATH))
+                .timeout(Duration.ofSeconds(TestConfig.EXPLICIT_WAIT))
+                .header("Content-Type", "application/json")
+                .header("Cookie", cookieHeader(cookies))
+                .method("DELETE", HttpRequest.BodyPublishers.ofString("{}"))
+                .build();
+        send(CART_PATH, request);
+    }
+
+    private List<HttpCookie> authenticate(String path, Map<String, Object> body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(backendUrl + path))
+                .timeout(Duration.ofSeconds(TestConfig.EXPLICIT_WAIT))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.toJson(body)))
+                .build();
+
+        HttpResponse<String> response = send(path, request);
+
+        List<HttpCookie> cookies = new ArrayList<>();
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            cookies.addAll(HttpCookie.parse(header));
+        }
+        if (cookies.isEmpty()) {
+            throw new IllegalStateException(path + " did not set any auth cookies");
+        }
+        return cookies;
+    }
+
+    private HttpResponse<String> send(String path, HttpRequest request) {
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new RuntimeException("Backend request to " + path + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while calling " + path, e);
+        }
+
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(path + " returned HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    static String cookieHeader(List<HttpCookie> cookies) {
+        StringBuilder header = new StringBuilder();
+        for (HttpCookie cookie : cookies) {
+            if (header.length() > 0) {
+                header.append("; ");
+            }
+            header.append(cookie.getName()).append('=').append(cookie.getValue());
+        }
+        return header.toString();
+    }
+}
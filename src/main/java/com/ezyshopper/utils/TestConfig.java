@@ -1,5 +1,9 @@
 package com.ezyshopper.utils;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Configuration class for storing test constants and URLs
  */
@@ -15,6 +19,10 @@ public class TestConfig {
     public static final String TEST_USER_EMAIL = "testuser@example.com";
     public static final String TEST_USER_PASSWORD = "Test@123456";
     public static final String TEST_USER_NAME = "Test User";
+    // Number of shopper accounts seeded per run by TestUserPool
+    public static final int TEST_USER_POOL_SIZE = Integer.getInteger("testUserPoolSize", 4);
+    // Part of the shopper emails (user+<namespace>-<slot>@...); give concurrent runs against one backend different values
+    public static final String TEST_USER_NAMESPACE = System.getProperty("testUserNamespace", "shopper");
     
     // Admin Credentials
     public static final String ADMIN_EMAIL = "admin@example.com";
@@ -24,14 +32,113 @@ public class TestConfig {
     public static final int IMPLICIT_WAIT = 10;
     public static final int EXPLICIT_WAIT = 15;
     public static final int PAGE_LOAD_TIMEOUT = 30;
+    // Polling window (ms) for fast-fail presence checks, which run without the implicit wait
+    public static final int PRESENCE_TIMEOUT_MILLIS = Integer.getInteger("presenceTimeoutMillis", 500);
+    // Quiet period (ms) without network activity / DOM mutations before a page counts as ready
+    public static final int READINESS_QUIET_MILLIS = Integer.getInteger("readinessQuietMillis", 300);
+    // Per-page performance budgets (<page>.<metric>=limit), file path or classpath resource
+    public static final String PERF_BUDGETS = System.getProperty("perfBudgets", "perf-budgets.properties");
     
     // Browser Configuration
     public static final String BROWSER = "chrome"; // chrome, firefox, edge
     public static final boolean HEADLESS_MODE = false;
-    
+
+    // Parallel Execution - number of concurrent test workers
+    public static final int PARALLEL_WORKERS = Integer.getInteger("parallelWorkers",
+        System.getenv("PARALLEL_WORKERS") != null ? Integer.parseInt(System.getenv("PARALLEL_WORKERS"))
+            : Runtime.getRuntime().availableProcessors());
+    // Extra threads the executor may add while workers block on WebDriver/HTTP calls; JUnit's
+    // ForkJoinPool compensates blocked workers and fails the test when it hits the pool limit
+    public static final int PARALLEL_BLOCKED_HEADROOM = Integer.getInteger("parallelBlockedHeadroom", 256);
+
+    // Driver Pool - maximum live sessions, leases per session before it is retired, lease timeout in seconds
+    public static final int DRIVER_POOL_SIZE = Integer.getInteger("driverPoolSize", PARALLEL_WORKERS);
+    public static final int DRIVER_MAX_USES = Integer.getInteger("driverMaxUses", 25);
+    public static final int DRIVER_LEASE_TIMEOUT = Integer.getInteger("driverLeaseTimeout", 120);
+
+    // Virtual Thread Runner (java21 profile) - virtual or platform threads per test, and concurrent sessions
+    // (0: the slots of REMOTE_URLS, else DRIVER_POOL_SIZE)
+    public static final String TEST_THREADS = System.getProperty("testThreads", "virtual");
+    public static final int MAX_SESSIONS = Integer.getInteger("maxSessions", 0);
+
+    // Fast Driver Tier - chrome-headless-shell binary (blank: Chrome's new headless mode) and viewport
+    public static final String HEADLESS_SHELL_BINARY = System.getProperty("headlessShellBinary",
+        System.getenv("HEADLESS_SHELL_BINARY") != null ? System.getenv("HEADLESS_SHELL_BINARY") : "");
+    public static final String FAST_WINDOW_SIZE = System.getProperty("fastWindowSize", "1024,768");
+
+    // Chrome Profile Pool - directory for pooled user-data dirs (blank: /dev/shm if writable, else temp dir)
+    // and how many are copied from the template up front
+    public static final String PROFILE_POOL_DIR = System.getProperty("profilePoolDir", "");
+    public static final int PROFILE_POOL_WARM = Integer.getInteger("profilePoolWarm", DRIVER_POOL_SIZE);
+
+    // Grid Sharding - remote endpoints (url or url|slots, comma-separated), default slots per node,
+    // consecutive session failures before a node is drained, slowdown factor before work moves off a node,
+    // and the estimate in seconds for tests without a recorded duration
+    public static final List<String> REMOTE_URLS = list(System.getProperty("seleniumRemoteUrls",
+        System.getenv("SELENIUM_REMOTE_URLS") != null ? System.getenv("SELENIUM_REMOTE_URLS") : ""));
+    public static final int NODE_SLOTS = Integer.getInteger("nodeSlots", 2);
+    public static final int NODE_MAX_FAILURES = Integer.getInteger("nodeMaxFailures", 2);
+    public static final double NODE_SLOW_FACTOR = Double.parseDouble(System.getProperty("nodeSlowFactor", "2.0"));
+    public static final int DEFAULT_TEST_ESTIMATE_SECONDS = Integer.getInteger("defaultTestEstimateSeconds", 30);
+
+    // Test History - append-only run log (resolved against REPORT_DIR), runs per test considered,
+    // and test order: declared, failures or duration
+    public static final String TEST_HISTORY_FILE = System.getProperty("testHistoryFile", "test-history.jsonl");
+    public static final int TEST_HISTORY_WINDOW = Integer.getInteger("testHistoryWindow", 10);
+    public static final String TEST_ORDER = System.getProperty("testOrder", "declared");
+
+    // Test Impact - map of the pages/routes each test uses (resolved against REPORT_DIR), and the changed
+    // routes (/cart, /category/*) or components (CartPage, Login) that select tests; with neither set every test runs
+    public static final String TEST_IMPACT_MAP = System.getProperty("testImpactMap", "test-impact.json");
+    public static final List<String> CHANGED_ROUTES = list(System.getProperty("changedRoutes", ""));
+    public static final List<String> CHANGED_COMPONENTS = list(System.getProperty("changedComponents", ""));
+
+    // Load Mode - ramp profile (duration:users stages), pause between a virtual user's journeys,
+    // live stats interval in seconds, and the journey failure rate above which the load test fails
+    public static final String LOAD_PROFILE = System.getProperty("loadProfile", "30s:5,2m:5,30s:0");
+    public static final int LOAD_THINK_MILLIS = Integer.getInteger("loadThinkMillis", 1000);
+    public static final int LOAD_REPORT_SECONDS = Integer.getInteger("loadReportSeconds", 10);
+    public static final double LOAD_MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadMaxErrorRate", "0.05"));
+    // Browsers in a row that may fail to start before the load run is aborted; replacements back off in between
+    public static final int LOAD_MAX_START_FAILURES = Integer.getInteger("loadMaxStartFailures", 10);
+
     // Screenshot Directory
     public static final String SCREENSHOT_DIR = "test-output/screenshots/";
+    // Screenshot format: png (written as captured) or jpg (re-encoded off the test thread)
+    public static final String SCREENSHOT_FORMAT = System.getProperty("screenshotFormat", "png");
+    public static final float SCREENSHOT_JPEG_QUALITY = Float.parseFloat(System.getProperty("screenshotJpegQuality", "0.8"));
+
+    // Network Policy - opt-in blocking of analytics, web fonts and images at or above LARGE_IMAGE_KB
+    public static final boolean NETWORK_POLICY = Boolean.getBoolean("networkPolicy");
+    public static final List<String> BLOCKED_URL_PATTERNS = Arrays.asList(System.getProperty("blockedUrlPatterns",
+        "*google-analytics.com*,*googletagmanager.com*,*doubleclick.net*,*facebook.net*,*hotjar.com*,*segment.io*,"
+            + "*fonts.googleapis.com*,*fonts.gstatic.com*,*.woff,*.woff2,*.ttf,*.otf").split(","));
+    public static final int LARGE_IMAGE_KB = Integer.getInteger("largeImageKb", 200);
+
+    // Backend Replay - live, record or replay; GET paths that are recorded; store file; staleness check on/off and max age
+    public static final String BACKEND_MODE = System.getProperty("backendMode",
+        System.getenv("BACKEND_MODE") != null ? System.getenv("BACKEND_MODE") : "live");
+    public static final List<String> REPLAY_PATHS = Arrays.asList(System.getProperty("replayPaths", "/api/products").split(","));
+    public static final String REPLAY_STORE = System.getProperty("replayStore", "src/test/resources/recordings/backend.json.gz");
+    public static final boolean REPLAY_CHECK = Boolean.getBoolean("replayCheck");
+    public static final int REPLAY_MAX_AGE_DAYS = Integer.getInteger("replayMaxAgeDays", 30);
+
+    // Failure Trail - actions kept per test thread, and whether each page-changing action keeps a low-res screenshot
+    public static final int FAILURE_TRAIL_SIZE = Integer.getInteger("failureTrailSize", 20);
+    public static final boolean FAILURE_TRAIL_SCREENSHOTS = Boolean.getBoolean("failureTrailScreenshots");
+
+    // Artifact Writer - queued artifacts before submitters block, background writer threads
+    public static final int ARTIFACT_QUEUE_SIZE = Integer.getInteger("artifactQueueSize", 32);
+    public static final int ARTIFACT_WRITER_THREADS = Integer.getInteger("artifactWriterThreads", 2);
     
     // Report Directory
     public static final String REPORT_DIR = "test-output/reports/";
+    // Results Stream - JSONL file under REPORT_DIR (empty disables), write buffer, longest a line stays buffered
+    public static final String RESULTS_STREAM = System.getProperty("resultsStream", "results.jsonl");
+    public static final int RESULTS_BUFFER_KB = Integer.getInteger("resultsBufferKb", 64);
+    public static final int RESULTS_FLUSH_MILLIS = Integer.getInteger("resultsFlushMillis", 1000);
+
+    private static List<String> list(String commaSeparated) {
+        return commaSeparated.trim().isEmpty() ? Collections.emptyList() : Arrays.asList(commaSeparated.split("\\s*,\\s*"));
+    }
 }
@@ -0,0 +1,222 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only store of test durations and outcomes across runs, one JSON line per finished
+ * test. Only the last TEST_HISTORY_WINDOW runs of each test are considered; the file is
+ * compacted to that window when it grows past a few times its size.
+ */
+public class TestHistory {
+
+    private static final Logger log = LoggerFactory.getLogger(TestHistory.class);
+
+    // Compact once the file holds this many times the lines the window needs
+    private static final int COMPACT_FACTOR = 4;
+
+    private static volatile TestHistory shared;
+
+    public enum Outcome { PASSED, FAILED, ABORTED }
+
+    private final Path file;
+    private final int window;
+    private final Json json = new Json();
+    private Map<String, Deque<Run>> runs;
+    private int lines;
+
+    public TestHistory(Path file, int window) {
+        this.file = file;
+        this.window = window;
+    }
+
+    /**
+     * The store at TestConfig.TEST_HISTORY_FILE under TestConfig.REPORT_DIR
+     */
+    public static TestHistory shared() {
+        if (shared == null) {
+            synchronized (TestHistory.class) {
+                if (shared == null) {
+                    shared = new TestHistory(Paths.get(TestConfig.REPORT_DIR).resolve(TestConfig.TEST_HISTORY_FILE),
+                            TestConfig.TEST_HISTORY_WINDOW);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Id under which a test method's history is kept
+     */
+    public static String id(Class<?> testClass, String method) {
+        return testClass.getName() + "#" + method;
+    }
+
+    /**
+     * Append one finished test run
+     */
+    public synchronized void record(String test, Outcome outcome, Duration duration) {
+        load();
+        Run run = new Run(outcome, duration.toMillis(), System.currentTimeMillis());
+        add(test, run);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, (toLine(test, run) + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            lines++;
+        } catch (IOException e) {
+            log.warn("Failed to append test history {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Median duration of each test's recent passing runs
+     */
+    public synchronized Map<String, Duration> getDurations() {
+        load();
+        Map<String, Duration> durations = new HashMap<>();
+        runs.forEach((test, recent) -> {
+            List<Long> passed = new ArrayList<>();
+            for (Run run : recent) {
+                if (run.outcome == Outcome.PASSED) {
+                    passed.add(run.durationMillis);
+                }
+            }
+            if (!passed.isEmpty()) {
+                Collections.sort(passed);
+                durations.put(test, Duration.ofMillis(passed.get(passed.size() / 2)));
+            }
+        });
+        return durations;
+    }
+
+    /**
+     * Failures among the test's recent runs
+     */
+    public synchronized int getRecentFailures(String test) {
+        load();
+        int failures = 0;
+        for (Run run : runs.getOrDefault(test, new ArrayDeque<>())) {
+            if (run.outcome == Outcome.FAILED) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Time of the test's most recent failure in epoch millis, or 0 if it has not failed recently
+     */
+    public synchronized long getLastFailure(String test) {
+        load();
+        long last = 0;
+        for (Run run : runs.getOrDefault(test, new ArrayDeque<>())) {
+            if (run.outcome == Outcome.FAILED) {
+                last = Math.max(last, run.timestamp);
+            }
+        }
+        return last;
+    }
+
+    private void load() {
+        if (runs != null) {
+            return;
+        }
+        runs = new HashMap<>();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                lines++;
+                try {
+                    Map<String, Object> entry = json.toType(line, Json.MAP_TYPE);
+                    add(String.valueOf(entry.get("test")), new Run(Outcome.valueOf(String.valueOf(entry.get("outcome"))),
+                            ((Number) entry.get("durationMs")).longValue(), ((Number) entry.get("timestamp")).longValue()));
+                } catch (JsonException | IllegalArgumentException | ClassCastException | NullPointerException e) {
+                    // A line cut short by a killed run; skip it
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read test history {}: {}", file, e.getMessage());
+        }
+        if (lines > COMPACT_FACTOR * Math.max(1, runs.size()) * window) {
+            compact();
+        }
+    }
+
+    private void add(String test, Run run) {
+        Deque<Run> recent = runs.computeIfAbsent(test, t -> new ArrayDeque<>());
+        recent.addLast(run);
+        while (recent.size() > window) {
+            recent.removeFirst();
+        }
+    }
+
+    // Rewrite the file with only the runs inside the window
+    private void compact() {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        StringBuilder content = new StringBuilder();
+        int kept = 0;
+        for (Map.Entry<String, Deque<Run>> entry : runs.entrySet()) {
+            for (Run run : entry.getValue()) {
+                content.append(toLine(entry.getKey(), run)).append('\n');
+                kept++;
+            }
+        }
+        try {
+            Files.write(temp, content.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Compacted test history {} from {} to {} lines", file, lines, kept);
+            lines = kept;
+        } catch (IOException e) {
+            log.warn("Failed to compact test history {}: {}", file, e.getMessage());
+        }
+    }
+
+    // One compact JSON object, without the pretty-printing newlines
+    private String toLine(String test, Run run) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("test", test);
+        line.put("outcome", run.outcome.name());
+        line.put("durationMs", run.durationMillis);
+        line.put("timestamp", run.timestamp);
+        return json.toJson(line).replaceAll("\\s*\\n\\s*", "");
+    }
+
+    private static final class Run {
+        private final Outcome outcome;
+        private final long durationMillis;
+        private final long timestamp;
+
+        Run(Outcome outcome, long durationMillis, long timestamp) {
+            this.outcome = outcome;
+            this.durationMillis = durationMillis;
+            this.timestamp = timestamp;
+        }
+    }
+}
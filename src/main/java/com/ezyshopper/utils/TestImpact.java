@@ -0,0 +1,258 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Test impact map: which page objects and app routes each test touches. The current test
+ * is bound per thread; page-object constructors report their page and the route listener
+ * reports the path after every driver.get, navigation, click and submit, so routes reached
+ * through links count too. Entries are merged with the previous map, so a test that stops
+ * using a page keeps selecting on it until the map file is deleted.
+ */
+public class TestImpact {
+
+    private static final Logger log = LoggerFactory.getLogger(TestImpact.class);
+
+    private static final ThreadLocal<Usage> CURRENT = new ThreadLocal<>();
+
+    private static final Map<String, Usage> RECORDED = new TreeMap<>();
+
+    private TestImpact() {
+    }
+
+    /**
+     * Start recording for a test on this thread
+     */
+    public static void begin(String test) {
+        Usage usage = new Usage();
+        usage.test = test;
+        CURRENT.set(usage);
+    }
+
+    /**
+     * Stop recording on this thread and keep what the test used
+     */
+    public static void end() {
+        Usage usage = CURRENT.get();
+        CURRENT.remove();
+        if (usage != null) {
+            synchronized (RECORDED) {
+                RECORDED.put(usage.test, usage);
+            }
+        }
+    }
+
+    /**
+     * Called from page-object constructors
+     */
+    public static void usePage(String page) {
+        Usage usage = CURRENT.get();
+        if (usage != null) {
+            usage.pages.add(page);
+        }
+    }
+
+    public static void useRoute(String url) {
+        Usage usage = CURRENT.get();
+        if (usage != null && url != null && url.startsWith("http")) {
+            usage.routes.add(routeOf(url));
+        }
+    }
+
+    /**
+     * Listener that records the path after every driver.get, navigation, click and submit;
+     * register it with an EventFiringDecorator around the given driver
+     */
+    public static WebDriverListener listener(WebDriver driver) {
+        return new RouteListener(driver);
+    }
+
+    /**
+     * Merge this run's usage into the map file
+     */
+    public static void save(Path file) {
+        Map<String, Usage> map = load(file);
+        synchronized (RECORDED) {
+            RECORDED.forEach((test, usage) -> map.computeIfAbsent(test, t -> new Usage()).merge(usage));
+        }
+        Map<String, Object> json = new TreeMap<>();
+        map.forEach((test, usage) -> {
+            Map<String, Object> entry = new TreeMap<>();
+            entry.put("pages", usage.pages);
+            entry.put("routes", usage.routes);
+            json.put(test, entry);
+        });
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, new Json().toJson(json).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Failed to write test impact map {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Usage by test id from a map file, or an empty map if there is none yet
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Usage> load(Path file) {
+        Map<String, Usage> map = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return map;
+        }
+        try {
+            Map<String, Object> json = new Json().toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+                    Json.MAP_TYPE);
+            json.forEach((test, value) -> {
+                Map<String, Object> entry = (Map<String, Object>) value;
+                Usage usage = new Usage();
+                usage.pages.addAll((Collection<String>) entry.getOrDefault("pages", Collections.emptyList()));
+                usage.routes.addAll((Collection<String>) entry.getOrDefault("routes", Collections.emptyList()));
+                map.put(test, usage);
+            });
+        } catch (IOException | JsonException | ClassCastException e) {
+            log.warn("Ignoring unreadable test impact map {}: {}", file, e.getMessage());
+        }
+        return map;
+    }
+
+    /**
+     * Path of a URL, without query or trailing slash ("/" for the root)
+     */
+    static String routeOf(String url) {
+        String path = URI.create(url).getPath();
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    /**
+     * Whether a test with this usage is affected by the changes. Changed routes may use * as a
+     * wildcard (e.g. /category/*); changed components match page-object names, ignoring case
+     * and a Page suffix, so "Cart" selects CartPage. A test with no recorded routes is always
+     * affected, since where it went is unknown.
+     */
+    public static boolean isAffected(Usage usage, List<String> changedRoutes, List<String> changedComponents) {
+        if (usage.routes.isEmpty()) {
+            return true;
+        }
+        for (String component : changedComponents) {
+            String wanted = normalizeComponent(component);
+            for (String page : usage.pages) {
+                if (normalizeComponent(page).equals(wanted)) {
+                    return true;
+                }
+            }
+        }
+        for (String changed : changedRoutes) {
+            Pattern pattern = routePattern(changed);
+            for (String route : usage.routes) {
+                if (pattern.matcher(route).matches()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String normalizeComponent(String name) {
+        String lower = name.trim().toLowerCase(Locale.ROOT);
+        return lower.endsWith("page") && lower.length() > 4 ? lower.substring(0, lower.length() - 4) : lower;
+    }
+
+    private static Pattern routePattern(String route) {
+        String trimmed = route.trim();
+        String normalized = trimmed.length() > 1 && trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+        List<String> parts = new ArrayList<>();
+        for (String part : normalized.split("\\*", -1)) {
+            parts.add(Pattern.quote(part));
+        }
+        return Pattern.compile(String.join("[^/]*", parts));
+    }
+
+    public static final class RouteListener implements WebDriverListener {
+        private final WebDriver driver;
+
+        RouteListener(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        @Override
+        public void afterGet(WebDriver driver, String url) {
+            useRoute(url);
+        }
+
+        @Override
+        public void afterAnyNavigationCall(WebDriver.Navigation navigation, Method method, Object[] args, Object result) {
+            useCurrentRoute();
+        }
+
+        @Override
+        public void afterClick(WebElement element) {
+            useCurrentRoute();
+        }
+
+        @Override
+        public void afterSubmit(WebElement element) {
+            useCurrentRoute();
+        }
+
+        // Client-side routing changes the URL without a driver.get
+        private void useCurrentRoute() {
+            if (CURRENT.get() == null) {
+                return;
+            }
+            try {
+                useRoute(driver.getCurrentUrl());
+            } catch (WebDriverException e) {
+                // The click closed the window or the session is gone; nothing to record
+            }
+        }
+    }
+
+    /**
+     * Page objects and routes one test used
+     */
+    public static final class Usage {
+        private String test;
+        private final Set<String> pages = Collections.synchronizedSet(new TreeSet<>());
+        private final Set<String> routes = Collections.synchronizedSet(new TreeSet<>());
+
+        public Set<String> getPages() {
+            return pages;
+        }
+
+        public Set<String> getRoutes() {
+            return routes;
+        }
+
+        void merge(Usage other) {
+            pages.addAll(other.pages);
+            routes.addAll(other.routes);
+        }
+    }
+}
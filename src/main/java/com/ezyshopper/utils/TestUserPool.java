@@ -0,0 +1,173 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.HttpCookie;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pool of pre-provisioned test accounts handed out to tests by role.
+ * Shoppers are seeded once per run and created on demand if the pool runs dry; their emails
+ * are numbered by slot, so each run logs in to the accounts earlier runs created and the
+ * backend only ever holds as many shoppers as the busiest run needed.
+ * The admin account comes from TestConfig and is leased to one test at a time.
+ * Users are reset (cart emptied) when they are seeded and when they are returned.
+ */
+public class TestUserPool {
+
+    private static final Logger log = LoggerFactory.getLogger(TestUserPool.class);
+
+    private static final long ADMIN_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    public enum Role {
+        SHOPPER,
+        ADMIN
+    }
+
+    private final SessionBootstrapper sessions;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final Map<Role, ConcurrentLinkedQueue<TestUser>> available = new EnumMap<>(Role.class);
+
+    public TestUserPool(SessionBootstrapper sessions) {
+        this.sessions = sessions;
+        for (Role role : Role.values()) {
+            available.put(role, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Register the configured number of shoppers and add the admin account. Call once per run.
+     */
+    public void seed() {
+        seed(TestConfig.TEST_USER_POOL_SIZE);
+    }
+
+    public void seed(int shoppers) {
+        long start = System.nanoTime();
+        for (int i = 0; i < shoppers; i++) {
+            available.get(Role.SHOPPER).offer(createShopper());
+        }
+        available.get(Role.ADMIN).offer(new TestUser(Role.ADMIN, "Admin",
+                TestConfig.ADMIN_EMAIL, TestConfig.ADMIN_PASSWORD));
+        log.info("Seeded {} shoppers ({}) in {} ms", shoppers, TestConfig.TEST_USER_NAMESPACE,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Lease a user with fresh auth cookies. Shoppers never block; the admin lease waits for
+     * the admin account to be returned, up to the given timeout.
+     */
+    public TestUser lease(Role role) {
+        return lease(role, Duration.ofSeconds(TestConfig.DRIVER_LEASE_TIMEOUT));
+    }
+
+    public TestUser lease(Role role, Duration timeout) {
+        ConcurrentLinkedQueue<TestUser> queue = available.get(role);
+        TestUser user = queue.poll();
+        if (user == null && role == Role.SHOPPER) {
+            user = createShopper();
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (user == null) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("Timed out after " + timeout + " waiting for a " + role + " test user");
+            }
+            LockSupport.parkNanos(ADMIN_POLL_NANOS);
+            user = queue.poll();
+        }
+        user.cookies = sessions.login(user.getEmail(), user.getPassword());
+        return user;
+    }
+
+    /**
+     * Reset the user's state and make it available to other tests
+     */
+    public void release(TestUser user) {
+        if (user == null) {
+            return;
+        }
+        try {
+            if (user.cookies != null) {
+                sessions.clearCart(user.cookies);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not reset cart for {}: {}", user.getEmail(), e.getMessage());
+        }
+        user.cookies = null;
+        available.get(user.getRole()).offer(user);
+    }
+
+    public int available(Role role) {
+        return available.get(role).size();
+    }
+
+    private TestUser createShopper() {
+        // One account per slot, so parallel tests never collide on an email address and the
+        // same slots are reused by every run; it is registered only the first time
+        TestUser user = new TestUser(Role.SHOPPER, TestConfig.TEST_USER_NAME, shopperEmail(sequence.incrementAndGet()),
+                TestConfig.TEST_USER_PASSWORD);
+        List<HttpCookie> cookies = sessions.loginOrSignUp(user.getName(), user.getEmail(), user.getPassword());
+        // A previous run may have stopped before returning the account
+        sessions.clearCart(cookies);
+        return user;
+    }
+
+    static String shopperEmail(int slot) {
+        int local = TestConfig.TEST_USER_EMAIL.indexOf('@');
+        return TestConfig.TEST_USER_EMAIL.substring(0, local) + "+" + TestConfig.TEST_USER_NAMESPACE + "-" + slot
+                + TestConfig.TEST_USER_EMAIL.substring(local);
+    }
+
+    /**
+     * A leased test account and its current auth cookies
+     */
+    public static final class TestUser {
+        private final Role role;
+        private final String name;
+        private final String email;
+        private final String password;
+        private volatile List<HttpCookie> cookies;
+
+        TestUser(Role role, String name, String email, String password) {
+            this.role = role;
+            this.name = name;
+            this.email = email;
+            this.password = password;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public List<HttpCookie> getCookies() {
+            return cookies == null ? Collections.emptyList() : cookies;
+        }
+
+        @Override
+        public String toString() {
+            return role + ":" + email;
+        }
+    }
+}
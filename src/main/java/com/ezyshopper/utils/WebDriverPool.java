@@ -0,0 +1,393 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pool of warm WebDriver sessions that are leased to tests and reset between uses
+ * instead of launching a new browser for every test. Pools that launch on the same endpoint
+ * (e.g. one per driver tier) can share a {@link Budget} so together they stay within its size.
+ */
+public class WebDriverPool {
+
+    private static final Logger log = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final int maxUses;
+    private final Budget budget;
+    private final LinkedBlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+
+    private final AtomicLong leaseCount = new AtomicLong();
+    private final AtomicLong launchCount = new AtomicLong();
+    private final AtomicLong reuseCount = new AtomicLong();
+    private final AtomicLong retireCount = new AtomicLong();
+    private final AtomicLong healthCheckFailures = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private volatile boolean closed;
+
+    /**
+     * Create a pool backed by the standard driver from SeleniumUtils
+     */
+    public WebDriverPool() {
+        this(() -> SeleniumUtils.initializeDriver(TestConfig.BROWSER),
+                TestConfig.DRIVER_POOL_SIZE, TestConfig.DRIVER_MAX_USES);
+    }
+
+    /**
+     * Create a pool that launches sessions with the given factory
+     *
+     * @param factory launches a new browser session
+     * @param maxSize maximum number of live sessions (idle + leased)
+     * @param maxUses number of leases after which a session is retired
+     */
+    public WebDriverPool(Supplier<WebDriver> factory, int maxSize, int maxUses) {
+        this(factory, new Budget(maxSize), maxUses);
+    }
+
+    /**
+     * Create a pool whose live sessions count against a budget shared with other pools
+     *
+     * @param factory launches a new browser session
+     * @param budget  live sessions allowed across every pool sharing it
+     * @param maxUses number of leases after which a session is retired
+     */
+    public WebDriverPool(Supplier<WebDriver> factory, Budget budget, int maxUses) {
+        if (maxUses < 1) {
+            throw new IllegalArgumentException("maxUses must be at least 1: " + maxUses);
+        }
+        this.factory = factory;
+        this.maxSize = budget.size;
+        this.maxUses = maxUses;
+        this.budget = budget;
+        budget.pools.add(this);
+    }
+
+    /**
+     * Lease a session, waiting up to the configured lease timeout
+     */
+    public WebDriver lease() {
+        return lease(Duration.ofSeconds(TestConfig.DRIVER_LEASE_TIMEOUT));
+    }
+
+    /**
+     * Lease a session, reusing a healthy idle one or launching a new one if the pool has room
+     */
+    public WebDriver lease(Duration timeout) {
+        if (closed) {
+            throw new IllegalStateException("WebDriverPool has been shut down");
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        while (true) {
+            PooledDriver pooled = idle.pollFirst();
+            if (pooled != null) {
+                if (isHealthy(pooled)) {
+                    reuseCount.incrementAndGet();
+                    return checkout(pooled, start);
+                }
+                healthCheckFailures.incrementAndGet();
+                retire(pooled, "failed health check");
+                continue;
+            }
+
+            if (budget.tryAcquire(this)) {
+                try {
+                    pooled = new PooledDriver(factory.get());
+                } catch (RuntimeException e) {
+                    budget.permits.release();
+                    throw e;
+                }
+                launchCount.incrementAndGet();
+                return checkout(pooled, start);
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException("Timed out after " + timeout
+                        + " waiting for a pooled WebDriver session (pool size " + maxSize + ")");
+            }
+            try {
+                // Short slices so a permit freed by a retired session is picked up promptly
+                pooled = idle.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS)),
+                        TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a pooled WebDriver session", e);
+            }
+            if (pooled != null) {
+                idle.offerFirst(pooled);
+            }
+        }
+    }
+
+    /**
+     * Return a leased session to the pool. The session is reset, or retired if it is worn out or broken.
+     */
+    public void release(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            return;
+        }
+        if (closed) {
+            retire(pooled, "pool shut down");
+            return;
+        }
+        if (pooled.uses >= maxUses) {
+            retire(pooled, "reached " + maxUses + " uses");
+            return;
+        }
+        try {
+            reset(pooled.driver);
+        } catch (RuntimeException e) {
+            healthCheckFailures.incrementAndGet();
+            retire(pooled, "reset failed: " + e.getMessage());
+            return;
+        }
+        idle.offerFirst(pooled);
+    }
+
+    /**
+     * Discard a leased session without returning it to the pool, e.g. after a browser crash
+     */
+    public void invalidate(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled != null) {
+            retire(pooled, "invalidated");
+        }
+    }
+
+    /**
+     * Quit all idle sessions and retire leased ones as they are released
+     */
+    public void shutdown() {
+        closed = true;
+        budget.pools.remove(this);
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            retire(pooled, "pool shut down");
+        }
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(maxSize, idle.size(), leased.size(), leaseCount.get(), launchCount.get(),
+                reuseCount.get(), retireCount.get(), healthCheckFailures.get(),
+                totalWaitNanos.get(), maxWaitNanos.get());
+    }
+
+    private WebDriver checkout(PooledDriver pooled, long leaseStart) {
+        long waited = System.nanoTime() - leaseStart;
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        leaseCount.incrementAndGet();
+        pooled.uses++;
+        leased.put(pooled.driver, pooled);
+        return pooled.driver;
+    }
+
+    // Quit the least recently used idle session to free its place in the budget
+    private boolean retireIdle(String reason) {
+        PooledDriver pooled = idle.pollLast();
+        if (pooled == null) {
+            return false;
+        }
+        retire(pooled, reason);
+        return true;
+    }
+
+    private boolean isHealthy(PooledDriver pooled) {
+        try {
+            pooled.driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Pooled WebDriver session failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Clear cookies and web storage, then park the session on about:blank
+     */
+    static void reset(WebDriver driver) {
+        if (driver instanceof JavascriptExecutor) {
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            } catch (RuntimeException e) {
+                // Pages like about:blank have no storage to clear
+            }
+        }
+        driver.manage().deleteAllCookies();
+        if (driver instanceof HasCdp) {
+            // deleteAllCookies only covers the current domain; this covers the backend domain too
+            ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+        }
+        driver.get("about:blank");
+    }
+
+    private void retire(PooledDriver pooled, String reason) {
+        log.debug("Retiring pooled WebDriver session after {} uses ({})", pooled.uses, reason);
+        AdaptiveWait.forget(pooled.driver);
+        try {
+            pooled.driver.quit();
+        } catch (RuntimeException e) {
+            log.warn("Failed to quit retired WebDriver session: {}", e.getMessage());
+        } finally {
+            retireCount.incrementAndGet();
+            budget.permits.release();
+        }
+    }
+
+    private static final class PooledDriver {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    /**
+     * Live-session limit shared by the pools that launch on one endpoint. When it is reached,
+     * a pool that needs a new session quits an idle session of another pool to make room, so
+     * idle sessions of one tier do not hold the endpoint's slots while another tier waits.
+     */
+    public static final class Budget {
+        private final int size;
+        private final Semaphore permits;
+        private final List<WebDriverPool> pools = new CopyOnWriteArrayList<>();
+
+        public Budget(int size) {
+            if (size < 1) {
+                throw new IllegalArgumentException("maxSize must be at least 1: " + size);
+            }
+            this.size = size;
+            this.permits = new Semaphore(size, true);
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        private boolean tryAcquire(WebDriverPool requester) {
+            if (permits.tryAcquire()) {
+                return true;
+            }
+            for (WebDriverPool pool : pools) {
+                if (pool != requester && pool.retireIdle("room for another pool")) {
+                    return permits.tryAcquire();
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Point-in-time snapshot of pool activity
+     */
+    public static final class Metrics {
+        private final int maxSize;
+        private final int idle;
+        private final int leased;
+        private final long leaseCount;
+        private final long launchCount;
+        private final long reuseCount;
+        private final long retireCount;
+        private final long healthCheckFailures;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+
+        Metrics(int maxSize, int idle, int leased, long leaseCount, long launchCount, long reuseCount,
+                long retireCount, long healthCheckFailures, long totalWaitNanos, long maxWaitNanos) {
+            this.maxSize = maxSize;
+            this.idle = idle;
+            this.leased = leased;
+            this.leaseCount = leaseCount;
+            this.launchCount = launchCount;
+            this.reuseCount = reuseCount;
+            this.retireCount = retireCount;
+            this.healthCheckFailures = healthCheckFailures;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getLeased() {
+            return leased;
+        }
+
+        public long getLeaseCount() {
+            return leaseCount;
+        }
+
+        public long getLaunchCount() {
+            return launchCount;
+        }
+
+        public long getReuseCount() {
+            return reuseCount;
+        }
+
+        public long getRetireCount() {
+            return retireCount;
+        }
+
+        public long getHealthCheckFailures() {
+            return healthCheckFailures;
+        }
+
+        public Duration getTotalLeaseWait() {
+            return Duration.ofNanos(totalWaitNanos);
+        }
+
+        public Duration getMaxLeaseWait() {
+            return Duration.ofNanos(maxWaitNanos);
+        }
+
+        public Duration getAverageLeaseWait() {
+            return leaseCount == 0 ? Duration.ZERO : Duration.ofNanos(totalWaitNanos / leaseCount);
+        }
+
+        @Override
+        public String toString() {
+            return "leases=" + leaseCount
+                    + ", launches=" + launchCount
+                    + ", reuses=" + reuseCount
+                    + ", retired=" + retireCount
+                    + ", healthCheckFailures=" + healthCheckFailures
+                    + ", idle=" + idle + "/" + maxSize
+                    + ", leased=" + leased
+                    + ", avgLeaseWaitMs=" + getAverageLeaseWait().toMillis()
+                    + ", maxLeaseWaitMs=" + getMaxLeaseWait().toMillis();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ezyshopper.extensions;
+
+import com.ezyshopper.utils.ArtifactWriter;
+import com.ezyshopper.utils.DriverManager;
+import com.ezyshopper.utils.FailureTrail;
+import com.ezyshopper.utils.TestConfig;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes the FailureTrail of a failed test, plus a final screenshot and the page source,
+ * to REPORT_DIR/failures/&lt;class&gt;/&lt;test&gt;_&lt;timestamp&gt;/. Passing tests write nothing.
+ * Runs right after the test method, before @AfterEach hands the driver back.
+ */
+public class FailureTrailExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final Logger log = LoggerFactory.getLogger(FailureTrailExtension.class);
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        FailureTrail.clear();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Throwable failure = context.getExecutionException().orElse(null);
+        if (failure == null) {
+            return;
+        }
+        Path dir = Paths.get(TestConfig.REPORT_DIR, "failures", context.getRequiredTestClass().getSimpleName(),
+                context.getRequiredTestMethod().getName() + "_" + TIMESTAMP.format(LocalDateTime.now()));
+        FailureTrail.dump(dir, failure);
+        if (DriverManager.hasDriver()) {
+            captureFinalState(DriverManager.getDriver(), dir);
+        }
+    }
+
+    private static void captureFinalState(WebDriver driver, Path dir) {
+        try {
+            ArtifactWriter.shared().submit(dir.resolve("final.png"),
+                    ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES), ArtifactWriter.Encoding.RAW);
+            ArtifactWriter.shared().submit(dir.resolve("page.html.gz"),
+                    driver.getPageSource().getBytes(StandardCharsets.UTF_8), ArtifactWriter.Encoding.GZIP);
+        } catch (WebDriverException e) {
+            log.warn("Could not capture final page state: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ezyshopper.extensions;
+
+import com.ezyshopper.utils.TestConfig;
+import com.ezyshopper.utils.TestHistory;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders test methods from TestHistory, chosen by TestConfig.TEST_ORDER:
+ * <ul>
+ *   <li>declared - by @Order, as before</li>
+ *   <li>failures - tests that failed recently first (most failures, then most recent), then by @Order</li>
+ *   <li>duration - longest first, so parallel workers finish close together; unknown tests go first</li>
+ * </ul>
+ */
+public class HistoryOrderer implements MethodOrderer {
+
+    private final MethodOrderer declared = new MethodOrderer.OrderAnnotation();
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        declared.orderMethods(context);
+        List<? extends MethodDescriptor> methods = context.getMethodDescriptors();
+        TestHistory history = TestHistory.shared();
+        Class<?> testClass = context.getTestClass();
+        if ("failures".equals(TestConfig.TEST_ORDER)) {
+            // List.sort is stable, so tests with the same history keep their @Order position
+            methods.sort(Comparator.comparingInt((MethodDescriptor method) -> history.getRecentFailures(id(testClass, method)))
+                    .thenComparingLong(method -> history.getLastFailure(id(testClass, method)))
+                    .reversed());
+        } else if ("duration".equals(TestConfig.TEST_ORDER)) {
+            Map<String, Duration> durations = history.getDurations();
+            methods.sort(Comparator.comparingLong((MethodDescriptor method) -> {
+                Duration duration = durations.get(id(testClass, method));
+                return duration == null ? Long.MAX_VALUE : duration.toMillis();
+            }).reversed());
+        }
+    }
+
+    private static String id(Class<?> testClass, MethodDescriptor method) {
+        return TestHistory.id(testClass, method.getMethod().getName());
+    }
+}
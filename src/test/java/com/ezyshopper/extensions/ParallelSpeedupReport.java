@@ -0,0 +1,97 @@
+package com.ezyshopper.extensions;
+
+import com.ezyshopper.utils.TestConfig;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the wall-clock time of a test class against the sum of its test durations
+ * (the time a serial run would take) and reports the speedup from parallel execution
+ */
+public class ParallelSpeedupReport implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback,
+        AfterAllCallback {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelSpeedupReport.class);
+
+    private static final String START_KEY = "start";
+
+    private final AtomicLong serialNanos = new AtomicLong();
+    private final AtomicInteger testCount = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile long classStart;
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        classStart = System.nanoTime();
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        store(context).put(START_KEY, System.nanoTime());
+        maxConcurrent.accumulateAndGet(running.incrementAndGet(), Math::max);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = store(context).remove(START_KEY, Long.class);
+        running.decrementAndGet();
+        if (start != null) {
+            serialNanos.addAndGet(System.nanoTime() - start);
+            testCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        long wallNanos = System.nanoTime() - classStart;
+        double speedup = wallNanos == 0 ? 1.0 : (double) serialNanos.get() / wallNanos;
+        int workers = Math.max(1, TestConfig.PARALLEL_WORKERS);
+
+        log.info("Parallel run: {} tests, {} workers (max {} concurrent), wall {} ms, serial estimate {} ms, "
+                        + "speedup {}x, efficiency {}%",
+                testCount.get(), workers, maxConcurrent.get(), wallNanos / 1_000_000,
+                serialNanos.get() / 1_000_000, format(speedup), format(speedup / workers * 100));
+
+        String json = "{"
+                + "\"testClass\":\"" + context.getRequiredTestClass().getName() + "\","
+                + "\"tests\":" + testCount.get() + ","
+                + "\"workers\":" + workers + ","
+                + "\"maxConcurrent\":" + maxConcurrent.get() + ","
+                + "\"wallClockMs\":" + wallNanos / 1_000_000 + ","
+                + "\"serialEstimateMs\":" + serialNanos.get() / 1_000_000 + ","
+                + "\"speedup\":" + format(speedup)
+                + "}\n";
+        Path report = Paths.get(TestConfig.REPORT_DIR,
+                "parallel-speedup-" + context.getRequiredTestClass().getSimpleName() + ".json");
+        try {
+            Files.createDirectories(report.getParent());
+            Files.write(report, json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Failed to write parallel speedup report {}: {}", report, e.getMessage());
+        }
+    }
+
+    private static ExtensionContext.Store store(ExtensionContext context) {
+        return context.getStore(ExtensionContext.Namespace.create(ParallelSpeedupReport.class,
+                context.getUniqueId()));
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ezyshopper.extensions;
+
+import com.ezyshopper.utils.ResultStream;
+import com.ezyshopper.utils.TestHistory;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.opentest4j.TestAbortedException;
+import org.opentest4j.ValueWrapper;
+
+/**
+ * Writes each test's start and end to the ResultStream and binds the test to its thread in
+ * between, so steps and artifacts (including FailureTrailExtension's) are attributed to it.
+ * The end event carries the whole duration, including @BeforeEach/@AfterEach, and the test
+ * method's own execution time; a failed assertion is also written with its expected and
+ * actual values.
+ */
+public class ResultStreamExtension implements BeforeEachCallback, BeforeTestExecutionCallback,
+        AfterTestExecutionCallback, AfterEachCallback {
+
+    private static final String START_KEY = "start";
+    private static final String EXECUTION_START_KEY = "executionStart";
+    private static final String EXECUTION_KEY = "execution";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        store(context).put(START_KEY, System.nanoTime());
+        ResultStream.begin(TestHistory.id(context.getRequiredTestClass(), context.getRequiredTestMethod().getName()),
+                context.getDisplayName());
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        store(context).put(EXECUTION_START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Long start = store(context).remove(EXECUTION_START_KEY, Long.class);
+        if (start != null) {
+            store(context).put(EXECUTION_KEY, System.nanoTime() - start);
+        }
+        Throwable failure = context.getExecutionException().orElse(null);
+        if (failure instanceof AssertionFailedError) {
+            AssertionFailedError assertion = (AssertionFailedError) failure;
+            ResultStream.assertion(assertion.getMessage(), valueOf(assertion.getExpected()), valueOf(assertion.getActual()));
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = store(context).remove(START_KEY, Long.class);
+        Long execution = store(context).remove(EXECUTION_KEY, Long.class);
+        Throwable failure = context.getExecutionException().orElse(null);
+        String outcome = failure == null ? "PASSED" : failure instanceof TestAbortedException ? "ABORTED" : "FAILED";
+        ResultStream.end(outcome, start == null ? -1 : (System.nanoTime() - start) / 1_000_000,
+                execution == null ? -1 : execution / 1_000_000, failure);
+    }
+
+    private static String valueOf(ValueWrapper value) {
+        return value == null ? null : value.getStringRepresentation();
+    }
+
+    private static ExtensionContext.Store store(ExtensionContext context) {
+        return context.getStore(ExtensionContext.Namespace.create(ResultStreamExtension.class, context.getUniqueId()));
+    }
+}
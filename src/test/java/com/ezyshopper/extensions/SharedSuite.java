@@ -0,0 +1,77 @@
+package com.ezyshopper.extensions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reference-counted class-level setup. A normal JUnit run enters and exits once; under
+ * VirtualThreadRunner every test is its own launch, so @BeforeAll/@AfterAll run per test
+ * and overlap. The first launch in sets up and launches arriving during setup wait for it.
+ * While the runner holds suites open with {@link #pin()}, the last launch out defers the
+ * teardown to {@link #unpin()}, so gaps between launches do not restart the suite.
+ */
+public final class SharedSuite {
+
+    // Suites whose teardown waits for unpin(); guarded by SharedSuite.class
+    private static final Set<SharedSuite> DEFERRED = new LinkedHashSet<>();
+    private static boolean pinned;
+
+    private int holders;
+    private Runnable deferredTeardown;
+
+    public void enter(Runnable setup) {
+        synchronized (SharedSuite.class) {
+            if (holders == 0) {
+                if (deferredTeardown != null) {
+                    // Still set up from an earlier launch
+                    deferredTeardown = null;
+                    DEFERRED.remove(this);
+                } else {
+                    setup.run();
+                }
+            }
+            holders++;
+        }
+    }
+
+    public void exit(Runnable teardown) {
+        synchronized (SharedSuite.class) {
+            if (--holders > 0) {
+                return;
+            }
+            if (pinned) {
+                deferredTeardown = teardown;
+                DEFERRED.add(this);
+                return;
+            }
+        }
+        teardown.run();
+    }
+
+    /**
+     * Keep suites set up until {@link #unpin()}, even when no launch holds them
+     */
+    public static void pin() {
+        synchronized (SharedSuite.class) {
+            pinned = true;
+        }
+    }
+
+    /**
+     * Run the teardowns deferred while pinned
+     */
+    public static void unpin() {
+        List<Runnable> teardowns = new ArrayList<>();
+        synchronized (SharedSuite.class) {
+            pinned = false;
+            for (SharedSuite suite : DEFERRED) {
+                teardowns.add(suite.deferredTeardown);
+                suite.deferredTeardown = null;
+            }
+            DEFERRED.clear();
+        }
+        teardowns.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ezyshopper.extensions;
+
+import com.ezyshopper.utils.TestHistory;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.TestAbortedException;
+
+import java.time.Duration;
+
+/**
+ * Appends each test's duration (including @BeforeEach/@AfterEach, which is what a worker
+ * spends on it) and outcome to TestHistory
+ */
+public class TestHistoryRecorder implements BeforeEachCallback, AfterEachCallback {
+
+    private static final String START_KEY = "start";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        store(context).put(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = store(context).remove(START_KEY, Long.class);
+        if (start == null) {
+            return;
+        }
+        Throwable failure = context.getExecutionException().orElse(null);
+        TestHistory.Outcome outcome = failure == null ? TestHistory.Outcome.PASSED
+                : failure instanceof TestAbortedException ? TestHistory.Outcome.ABORTED : TestHistory.Outcome.FAILED;
+        TestHistory.shared().record(TestHistory.id(context.getRequiredTestClass(), context.getRequiredTestMethod().getName()),
+                outcome, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static ExtensionContext.Store store(ExtensionContext context) {
+        return context.getStore(ExtensionContext.Namespace.create(TestHistoryRecorder.class, context.getUniqueId()));
+    }
+}
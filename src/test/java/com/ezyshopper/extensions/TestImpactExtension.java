@@ -0,0 +1,73 @@
+package com.ezyshopper.extensions;
+
+import com.ezyshopper.utils.TestConfig;
+import com.ezyshopper.utils.TestHistory;
+import com.ezyshopper.utils.TestImpact;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Records which page objects and routes each test uses into TestConfig.TEST_IMPACT_MAP under
+ * TestConfig.REPORT_DIR and, when changedRoutes or changedComponents is set, runs only the tests
+ * the map says are affected.
+ * Tests missing from the map always run, since nothing is known about them yet.
+ */
+public class TestImpactExtension implements ExecutionCondition, BeforeEachCallback, AfterEachCallback,
+        AfterAllCallback {
+
+    private static volatile Map<String, TestImpact.Usage> map;
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (!context.getTestMethod().isPresent()
+                || (TestConfig.CHANGED_ROUTES.isEmpty() && TestConfig.CHANGED_COMPONENTS.isEmpty())) {
+            return ConditionEvaluationResult.enabled("No impact selection");
+        }
+        TestImpact.Usage usage = map().get(id(context));
+        if (usage == null) {
+            return ConditionEvaluationResult.enabled("Not in the impact map yet");
+        }
+        if (TestImpact.isAffected(usage, TestConfig.CHANGED_ROUTES, TestConfig.CHANGED_COMPONENTS)) {
+            return ConditionEvaluationResult.enabled("Uses a changed route or component");
+        }
+        return ConditionEvaluationResult.disabled("Not affected by " + TestConfig.CHANGED_ROUTES
+                + " " + TestConfig.CHANGED_COMPONENTS + " (pages " + usage.getPages() + ", routes " + usage.getRoutes() + ")");
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        TestImpact.begin(id(context));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        TestImpact.end();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        TestImpact.save(Paths.get(TestConfig.REPORT_DIR).resolve(TestConfig.TEST_IMPACT_MAP));
+    }
+
+    private static Map<String, TestImpact.Usage> map() {
+        if (map == null) {
+            synchronized (TestImpactExtension.class) {
+                if (map == null) {
+                    map = TestImpact.load(Paths.get(TestConfig.REPORT_DIR).resolve(TestConfig.TEST_IMPACT_MAP));
+                }
+            }
+        }
+        return map;
+    }
+
+    private static String id(ExtensionContext context) {
+        return TestHistory.id(context.getRequiredTestClass(), context.getRequiredTestMethod().getName());
+    }
+}
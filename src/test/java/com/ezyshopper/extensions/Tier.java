@@ -0,0 +1,20 @@
+package com.ezyshopper.extensions;
+
+import com.ezyshopper.utils.DriverTier;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Driver tier for a test method or every test in a class; the method annotation wins.
+ * Tests without it run on DriverTier.FULL.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface Tier {
+    DriverTier value();
+}
@@ -0,0 +1,390 @@
+package com.ezyshopper.extensions;
+
+import com.ezyshopper.utils.GridScheduler;
+import com.ezyshopper.utils.TestConfig;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Runs every test of the given classes as its own JUnit launch on its own thread: a virtual
+ * thread on Java 21, or a platform thread for the baseline. JUnit's parallel executor only
+ * uses platform threads, so tests are launched one by one and only the number of available
+ * sessions limits how many run at once. While the run is in flight the JVM's resident memory,
+ * heap and thread count are sampled to give memory per in-flight test for each mode.
+ */
+public class VirtualThreadRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadRunner.class);
+
+    private static final long SAMPLE_MILLIS = 100;
+
+    public enum Mode { VIRTUAL, PLATFORM }
+
+    private final Mode mode;
+    private final int sessions;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicLong peakRssKb = new AtomicLong();
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private final AtomicInteger peakThreads = new AtomicInteger();
+
+    /**
+     * @param mode     thread per test
+     * @param sessions tests allowed in flight at once
+     */
+    public VirtualThreadRunner(Mode mode, int sessions) {
+        if (sessions < 1) {
+            throw new IllegalArgumentException("sessions must be at least 1: " + sessions);
+        }
+        if (mode == Mode.VIRTUAL && !virtualThreadsAvailable()) {
+            throw new IllegalStateException("Virtual threads need Java 21; run with -DtestThreads=platform");
+        }
+        this.mode = mode;
+        this.sessions = sessions;
+    }
+
+    /**
+     * Runner for TestConfig.TEST_THREADS, limited to the available sessions
+     */
+    public static VirtualThreadRunner fromConfig() {
+        return new VirtualThreadRunner(Mode.valueOf(TestConfig.TEST_THREADS.toUpperCase(Locale.ROOT)), availableSessions());
+    }
+
+    /**
+     * MAX_SESSIONS if set, else the total slots of the grid nodes, else the local driver pool size
+     */
+    public static int availableSessions() {
+        if (TestConfig.MAX_SESSIONS > 0) {
+            return TestConfig.MAX_SESSIONS;
+        }
+        GridScheduler grid = GridScheduler.fromConfig(Collections.emptyMap());
+        if (grid == null) {
+            return Math.max(1, TestConfig.DRIVER_POOL_SIZE);
+        }
+        int slots = 0;
+        for (GridScheduler.Node node : grid.getNodes()) {
+            slots += node.getSlots();
+        }
+        return slots;
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Run every test in the classes and wait for all of them
+     */
+    public Result run(Class<?>... testClasses) throws InterruptedException {
+        List<TestIdentifier> tests = discover(testClasses);
+        Result result = new Result(mode, sessions, tests.size());
+        Semaphore permits = new Semaphore(sessions, true);
+        result.baselineRssKb = residentKb();
+        result.baselineHeapBytes = usedHeap();
+        log.info("Running {} tests on {} threads, {} sessions", tests.size(), mode, sessions);
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "thread-runner-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sample, 0, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        ExecutorService executor = newExecutor(tests.size());
+        SharedSuite.pin();
+        try {
+            for (TestIdentifier test : tests) {
+                executor.execute(() -> runOne(test, permits, result));
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            sampler.shutdownNow();
+            SharedSuite.unpin();
+        }
+        result.wallTime = Duration.ofNanos(System.nanoTime() - start);
+        result.peakInFlight = peakInFlight.get();
+        result.peakRssKb = peakRssKb.get();
+        result.peakHeapBytes = peakHeapBytes.get();
+        result.peakThreads = peakThreads.get();
+        log.info("Thread runner: {}", result);
+        return result;
+    }
+
+    private List<TestIdentifier> discover(Class<?>... testClasses) {
+        DiscoverySelector[] selectors = new DiscoverySelector[testClasses.length];
+        for (int i = 0; i < testClasses.length; i++) {
+            selectors[i] = selectClass(testClasses[i]);
+        }
+        LauncherDiscoveryRequest discovery = request().selectors(selectors).build();
+        TestPlan plan = LauncherFactory.create().discover(discovery);
+        List<TestIdentifier> tests = new ArrayList<>();
+        for (TestIdentifier root : plan.getRoots()) {
+            collect(plan, root, tests);
+        }
+        return tests;
+    }
+
+    private static void collect(TestPlan plan, TestIdentifier node, List<TestIdentifier> tests) {
+        if (node.isTest()) {
+            tests.add(node);
+        }
+        for (TestIdentifier child : plan.getChildren(node)) {
+            collect(plan, child, tests);
+        }
+    }
+
+    // One launch per test, serial inside, so the launch stays on the calling thread
+    private void runOne(TestIdentifier test, Semaphore permits, Result result) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Launcher launcher = LauncherFactory.create();
+            launcher.execute(request()
+                    .selectors(selectUniqueId(test.getUniqueId()))
+                    .configurationParameter("junit.jupiter.execution.parallel.enabled", "false")
+                    .build(), new ResultListener(result));
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    private ExecutorService newExecutor(int tests) {
+        if (mode == Mode.VIRTUAL) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create a virtual thread executor", e);
+            }
+        }
+        // The platform equivalent: a thread per test, most of them parked until a session frees up
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, tests), runnable ->
+                new Thread(runnable, "test-runner-" + count.incrementAndGet()));
+    }
+
+    private void sample() {
+        if (inFlight.get() == 0) {
+            return;
+        }
+        peakRssKb.accumulateAndGet(residentKb(), Math::max);
+        peakHeapBytes.accumulateAndGet(usedHeap(), Math::max);
+        peakThreads.accumulateAndGet(ManagementFactory.getThreadMXBean().getThreadCount(), Math::max);
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // Resident memory of this JVM, including platform thread stacks; -1 when /proc is unavailable
+    static long residentKb() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux
+        }
+        return -1;
+    }
+
+    private static final class ResultListener implements TestExecutionListener {
+        private final Result result;
+
+        ResultListener(Result result) {
+            this.result = result;
+        }
+
+        @Override
+        public void executionSkipped(TestIdentifier identifier, String reason) {
+            if (identifier.isTest()) {
+                result.skipped.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void executionFinished(TestIdentifier identifier, TestExecutionResult outcome) {
+            if (outcome.getStatus() == TestExecutionResult.Status.FAILED) {
+                String message = outcome.getThrowable().map(Throwable::toString).orElse("failed");
+                result.failures.add(identifier.getDisplayName() + ": " + message);
+            } else if (identifier.isTest()) {
+                (outcome.getStatus() == TestExecutionResult.Status.SUCCESSFUL ? result.succeeded : result.aborted)
+                        .incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Outcome and memory profile of one run
+     */
+    public static final class Result {
+        private final Mode mode;
+        private final int sessions;
+        private final int tests;
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger aborted = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        // Test and class-level failures
+        private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        private Duration wallTime = Duration.ZERO;
+        private int peakInFlight;
+        private long baselineRssKb;
+        private long peakRssKb;
+        private long baselineHeapBytes;
+        private long peakHeapBytes;
+        private int peakThreads;
+
+        Result(Mode mode, int sessions, int tests) {
+            this.mode = mode;
+            this.sessions = sessions;
+            this.tests = tests;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public int getTests() {
+            return tests;
+        }
+
+        public int getSucceeded() {
+            return succeeded.get();
+        }
+
+        public int getAborted() {
+            return aborted.get();
+        }
+
+        public int getSkipped() {
+            return skipped.get();
+        }
+
+        public List<String> getFailures() {
+            synchronized (failures) {
+                return new ArrayList<>(failures);
+            }
+        }
+
+        public Duration getWallTime() {
+            return wallTime;
+        }
+
+        public int getPeakInFlight() {
+            return peakInFlight;
+        }
+
+        public int getPeakThreads() {
+            return peakThreads;
+        }
+
+        /**
+         * Resident memory growth at peak divided by the tests in flight, or -1 if unmeasured
+         */
+        public long getRssPerInFlightKb() {
+            return peakInFlight == 0 || baselineRssKb < 0 || peakRssKb < 0 ? -1
+                    : Math.max(0, peakRssKb - baselineRssKb) / peakInFlight;
+        }
+
+        public long getHeapPerInFlightBytes() {
+            return peakInFlight == 0 ? -1 : Math.max(0, peakHeapBytes - baselineHeapBytes) / peakInFlight;
+        }
+
+        /**
+         * Write this run's numbers, and log the comparison with the other mode's last run if there is one
+         */
+        public void exportJson(Path dir) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("mode", mode.name());
+            json.put("sessions", sessions);
+            json.put("tests", tests);
+            json.put("succeeded", succeeded.get());
+            json.put("failed", failures.size());
+            json.put("wallTimeMs", wallTime.toMillis());
+            json.put("peakInFlight", peakInFlight);
+            json.put("peakThreads", peakThreads);
+            json.put("rssPerInFlightKb", getRssPerInFlightKb());
+            json.put("heapPerInFlightKb", getHeapPerInFlightBytes() / 1024);
+            Json codec = new Json();
+            try {
+                Files.createDirectories(dir);
+                Files.write(dir.resolve(fileName(mode)), codec.toJson(json).getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                log.warn("Failed to write thread runner report in {}: {}", dir, e.getMessage());
+            }
+            Path other = dir.resolve(fileName(mode == Mode.VIRTUAL ? Mode.PLATFORM : Mode.VIRTUAL));
+            if (Files.exists(other)) {
+                try {
+                    Map<String, Object> baseline = codec.toType(new String(Files.readAllBytes(other), StandardCharsets.UTF_8),
+                            Json.MAP_TYPE);
+                    log.info("Memory per in-flight test: {} {} KB RSS / {} KB heap, {} {} KB RSS / {} KB heap",
+                            mode, json.get("rssPerInFlightKb"), json.get("heapPerInFlightKb"), baseline.get("mode"),
+                            baseline.get("rssPerInFlightKb"), baseline.get("heapPerInFlightKb"));
+                } catch (IOException | JsonException e) {
+                    log.debug("Ignoring unreadable thread runner report {}: {}", other, e.getMessage());
+                }
+            }
+        }
+
+        private static String fileName(Mode mode) {
+            return "thread-runner-" + mode.name().toLowerCase(Locale.ROOT) + ".json";
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s, %d tests (%d passed, %d failed, %d aborted, %d skipped) in %d ms, "
+                            + "peak %d in flight on %d sessions, %d threads, %s KB RSS and %d KB heap per in-flight test",
+                    mode, tests, succeeded.get(), failures.size(), aborted.get(), skipped.get(), wallTime.toMillis(),
+                    peakInFlight, sessions, peakThreads, getRssPerInFlightKb(), getHeapPerInFlightBytes() / 1024);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ezyshopper.extensions;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Fixture for VirtualThreadRunnerTest, only run through the runner: the name matches neither
+ * surefire include, so a plain mvn test does not run it (or its failing test) on its own.
+ */
+class VirtualThreadRunnerSample {
+    static final SharedSuite SUITE = new SharedSuite();
+    static final AtomicInteger running = new AtomicInteger();
+    static final AtomicInteger maxConcurrent = new AtomicInteger();
+    static final AtomicInteger setups = new AtomicInteger();
+    static final AtomicInteger teardowns = new AtomicInteger();
+
+    @BeforeAll
+    static void setUp() {
+        SUITE.enter(setups::incrementAndGet);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        SUITE.exit(teardowns::incrementAndGet);
+    }
+
+    private void work() throws InterruptedException {
+        maxConcurrent.accumulateAndGet(running.incrementAndGet(), Math::max);
+        Thread.sleep(200);
+        running.decrementAndGet();
+    }
+
+    @Test
+    void first() throws InterruptedException {
+        work();
+    }
+
+    @Test
+    void second() throws InterruptedException {
+        work();
+    }
+
+    @Test
+    void third() throws InterruptedException {
+        work();
+    }
+
+    @Test
+    void fourth() throws InterruptedException {
+        work();
+    }
+
+    @Test
+    void fails() throws InterruptedException {
+        work();
+        fail("expected failure");
+    }
+}
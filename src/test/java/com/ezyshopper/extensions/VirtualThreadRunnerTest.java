@@ -0,0 +1,34 @@
+package com.ezyshopper.extensions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadRunnerTest {
+
+    @Test
+    void runsEachTestAsItsOwnLaunchLimitedBySessions() throws InterruptedException {
+        VirtualThreadRunner runner = new VirtualThreadRunner(VirtualThreadRunner.Mode.PLATFORM, 2);
+
+        VirtualThreadRunner.Result result = runner.run(VirtualThreadRunnerSample.class);
+
+        assertEquals(5, result.getTests());
+        assertEquals(4, result.getSucceeded());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get(0).contains("fails"));
+        assertEquals(2, result.getPeakInFlight());
+        assertEquals(2, VirtualThreadRunnerSample.maxConcurrent.get());
+        assertEquals(1, VirtualThreadRunnerSample.setups.get(), "overlapping launches share one class setup");
+        assertEquals(1, VirtualThreadRunnerSample.teardowns.get());
+    }
+
+    @Test
+    void virtualModeNeedsJava21() {
+        if (!VirtualThreadRunner.virtualThreadsAvailable()) {
+            assertThrows(IllegalStateException.class,
+                    () -> new VirtualThreadRunner(VirtualThreadRunner.Mode.VIRTUAL, 1));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new VirtualThreadRunner(VirtualThreadRunner.Mode.PLATFORM, 0));
+    }
+}
@@ -0,0 +1,45 @@
+package com.ezyshopper.extensions;
+
+import com.ezyshopper.utils.TestConfig;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+/**
+ * Sizes the JUnit parallel executor from TestConfig.PARALLEL_WORKERS
+ */
+public class WorkerCountStrategy implements ParallelExecutionConfigurationStrategy {
+
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int workers = Math.max(1, TestConfig.PARALLEL_WORKERS);
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return workers;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return workers;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return workers + Math.max(0, TestConfig.PARALLEL_BLOCKED_HEADROOM);
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return workers;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return KEEP_ALIVE_SECONDS;
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.ezyshopper;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import com.ezyshopper.pages.CartPage;
+import com.ezyshopper.pages.LoginPage;
+import com.ezyshopper.utils.HttpBackend;
+import com.ezyshopper.utils.SessionBootstrapper;
+import com.ezyshopper.utils.TestConfig;
+import com.ezyshopper.utils.TestUserPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Driverless versions of the login and cart checks: the same page objects run on
+ * HttpBackend against TestConfig.BACKEND_URL, with no browser started.
+ *
+ * Run with: mvn test -Dtest=EzyShopperApiTests -DapiTests=true [-DbackendUrl=...]
+ */
+@DisplayName("EzyShopper API-Level Tests")
+@EnabledIfSystemProperty(named = "apiTests", matches = "true")
+public class EzyShopperApiTests {
+
+    private static TestUserPool users;
+
+    private HttpBackend backend;
+    private TestUserPool.TestUser user;
+
+    @BeforeAll
+    public static void setupClass() {
+        users = new TestUserPool(new SessionBootstrapper());
+        users.seed(1);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        backend = new HttpBackend(TestConfig.BACKEND_URL);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        users.release(user);
+        user = null;
+    }
+
+    @Test
+    @DisplayName("Login with Invalid Email")
+    public void testLoginInvalidEmail() {
+        LoginPage login = new LoginPage(backend);
+        login.login("nonexistent@email.com", TestConfig.TEST_USER_PASSWORD);
+
+        assertTrue(login.isErrorMessageDisplayed(), "Login should be rejected");
+        assertTrue(login.isLoginPageLoaded(), "Should stay on login page on error");
+    }
+
+    @Test
+    @DisplayName("Login with Wrong Password")
+    public void testLoginWrongPassword() {
+        user = users.lease(TestUserPool.Role.SHOPPER);
+        LoginPage login = new LoginPage(backend);
+        login.login(user.getEmail(), "WrongPassword123!");
+
+        assertTrue(login.isErrorMessageDisplayed(), "Login should be rejected");
+    }
+
+    @Test
+    @DisplayName("Cart Redirect Without Login")
+    public void testCartRedirectWithoutLogin() {
+        assertFalse(new CartPage(backend).isCartPageLoaded(), "Anonymous users should be sent to login");
+    }
+
+    @Test
+    @DisplayName("Cart Access After Login")
+    public void testCartAccess() {
+        user = users.lease(TestUserPool.Role.SHOPPER);
+        new LoginPage(backend).login(user.getEmail(), user.getPassword());
+
+        CartPage cart = new CartPage(backend);
+        assertTrue(cart.isCartPageLoaded(), "Logged in user should reach the cart");
+        assertTrue(cart.isCartEmpty(), "Pooled users start with an empty cart");
+    }
+}
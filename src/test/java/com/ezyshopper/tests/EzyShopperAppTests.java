@@ -1,44 +1,118 @@
 package com.ezyshopper;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.*;
 import org.openqa.selenium.support.ui.*;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import com.ezyshopper.extensions.FailureTrailExtension;
+import com.ezyshopper.extensions.HistoryOrderer;
+import com.ezyshopper.extensions.ParallelSpeedupReport;
+import com.ezyshopper.extensions.ResultStreamExtension;
+import com.ezyshopper.extensions.SharedSuite;
+import com.ezyshopper.extensions.TestHistoryRecorder;
+import com.ezyshopper.extensions.TestImpactExtension;
+import com.ezyshopper.extensions.Tier;
+import com.ezyshopper.pages.AdminPage;
+import com.ezyshopper.pages.CartPage;
+import com.ezyshopper.pages.CategoryPage;
+import com.ezyshopper.pages.HomePage;
+import com.ezyshopper.pages.LoginPage;
+import com.ezyshopper.pages.NavigationBar;
+import com.ezyshopper.pages.SignUpPage;
+import com.ezyshopper.utils.ActionTimer;
+import com.ezyshopper.utils.AdaptiveWait;
+import com.ezyshopper.utils.ArtifactWriter;
+import com.ezyshopper.utils.BackendReplay;
+import com.ezyshopper.utils.DriverManager;
+import com.ezyshopper.utils.DriverProfiles;
+import com.ezyshopper.utils.DriverTier;
+import com.ezyshopper.utils.ElementCache;
+import com.ezyshopper.utils.ElementPresence;
+import com.ezyshopper.utils.FailureTrail;
+import com.ezyshopper.utils.GridScheduler;
+import com.ezyshopper.utils.Locators;
+import com.ezyshopper.utils.NetworkPolicy;
+import com.ezyshopper.utils.PageMetrics;
+import com.ezyshopper.utils.PageReadiness;
+import com.ezyshopper.utils.ProfileDirPool;
+import com.ezyshopper.utils.ResultStream;
+import com.ezyshopper.utils.SessionBootstrapper;
+import com.ezyshopper.utils.TestConfig;
+import com.ezyshopper.utils.TestHistory;
+import com.ezyshopper.utils.TestImpact;
+import com.ezyshopper.utils.TestUserPool;
+import com.ezyshopper.utils.WebDriverPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Selenium Test Suite for EzyShopper E-Commerce Application
  * 10 Essential Test Cases
+ *
+ * Tests run concurrently (see junit-platform.properties); each test thread leases
+ * its own driver and binds it to DriverManager for the page objects.
  */
 @DisplayName("EzyShopper E-Commerce Tests")
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(HistoryOrderer.class)
+@ExtendWith({ResultStreamExtension.class, ParallelSpeedupReport.class, FailureTrailExtension.class, TestHistoryRecorder.class,
+        TestImpactExtension.class})
 public class EzyShopperAppTests {
 
     private static final Logger log = LoggerFactory.getLogger(EzyShopperAppTests.class);
 
     private WebDriver driver;
     private WebDriverWait wait;
+    private TestUserPool.TestUser user;
 
     private static final String BASE_URL = System.getProperty("baseUrl", 
         System.getenv("BASE_URL") != null ? System.getenv("BASE_URL") : "http://localhost:5173");
+    private static final String BACKEND_URL = System.getProperty("backendUrl",
+        System.getenv("BACKEND_URL") != null ? System.getenv("BACKEND_URL") : "http://localhost:3001");
     private static final String REMOTE_URL = System.getProperty("seleniumRemoteUrl",
         System.getenv("SELENIUM_REMOTE_URL") != null ? System.getenv("SELENIUM_REMOTE_URL") : "");
     private static String testEmail;
+    // Session pools by tier and endpoint, created on first use; the tiers of one endpoint share its budget
+    private static final Map<String, WebDriverPool> pools = new ConcurrentHashMap<>();
+    private static final Map<String, WebDriverPool.Budget> budgets = new ConcurrentHashMap<>();
+    private static SessionBootstrapper sessions;
+    private static TestUserPool users;
+    private static NetworkPolicy networkPolicy;
+    private static BackendReplay backendReplay;
+    private static GridScheduler grid;
+    private GridScheduler.Lease lease;
+    private WebDriverPool pool;
     private static final String TEST_PASSWORD = "Test@123456";
+    // Class setup shared by overlapping launches under VirtualThreadRunner
+    private static final SharedSuite SUITE = new SharedSuite();
+    private static long suiteStart;
+    private static final Class<?>[] PAGES = {HomePage.class, LoginPage.class, SignUpPage.class, CartPage.class,
+            CategoryPage.class, AdminPage.class, NavigationBar.class};
 
     @BeforeAll
     public static void setupClass() {
+        SUITE.enter(EzyShopperAppTests::startSuite);
+    }
+
+    private static void startSuite() {
         log.info("========================================");
         log.info("  EZYSHOPPER SELENIUM TEST SUITE");
         log.info("  Target: {}", BASE_URL);
@@ -51,6 +125,24 @@ public class EzyShopperAppTests {
         }
         testEmail = "testuser" + System.currentTimeMillis() + "@test.com";
         log.info("Test Email: {}", testEmail);
+        suiteStart = System.nanoTime();
+        Map<String, Object> start = new LinkedHashMap<>();
+        start.put("suite", EzyShopperAppTests.class.getName());
+        start.put("target", BASE_URL);
+        start.put("remote", REMOTE_URL);
+        ResultStream.suite("suiteStart", start);
+
+        Locators.validate(PAGES);
+
+        sessions = new SessionBootstrapper(BACKEND_URL);
+        users = new TestUserPool(sessions);
+        users.seed();
+        networkPolicy = NetworkPolicy.fromConfig();
+        backendReplay = BackendReplay.fromConfig(BACKEND_URL);
+        grid = GridScheduler.fromConfig(TestHistory.shared().getDurations());
+        if (grid != null) {
+            grid.plan(testIds());
+        }
     }
 
     @BeforeEach
@@ -58,35 +150,149 @@ public class EzyShopperAppTests {
         log.info("");
         log.info(">>> TEST: {}", testInfo.getDisplayName());
 
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless=new");
-        options.addArguments("--no-sandbox", "--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu", "--disable-extensions");
-        options.addArguments("--remote-allow-origins=*", "--window-size=1920,1080");
-        options.setExperimentalOption("excludeSwitches", Arrays.asList("enable-automation"));
-
-        if (REMOTE_URL != null && !REMOTE_URL.isEmpty()) {
-            try {
-                log.info("Using remote WebDriver: {}", REMOTE_URL);
-                driver = new RemoteWebDriver(new URL(REMOTE_URL), options);
-            } catch (MalformedURLException e) {
-                throw new RuntimeException("Invalid SELENIUM_REMOTE_URL: " + REMOTE_URL, e);
-            }
+        DriverTier tier = tierOf(testInfo);
+        if (grid != null) {
+            driver = leaseFromGrid(TestHistory.id(EzyShopperAppTests.class, testInfo.getTestMethod().get().getName()), tier);
         } else {
-            driver = new ChromeDriver(options);
+            pool = pool(REMOTE_URL, tier, TestConfig.DRIVER_POOL_SIZE);
+            driver = pool.lease();
+        }
+        DriverManager.setDriver(driver);
+        PageReadiness.install(driver);
+        Locators.validateOnce(driver, PAGES);
+        PageMetrics.install(driver);
+        if (backendReplay != null) {
+            backendReplay.attach(driver);
+        }
+        if (networkPolicy != null) {
+            networkPolicy.apply(driver);
+            networkPolicy.beginTest(driver);
         }
         wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
     }
 
     @AfterEach
     public void tearDown(TestInfo testInfo) {
-        if (driver != null)
-            driver.quit();
+        if (networkPolicy != null && driver != null) {
+            log.info("Network policy: {}", networkPolicy.endTest(driver, testInfo.getDisplayName()));
+        }
+        users.release(user);
+        DriverManager.removeDriver();
+        if (driver != null) {
+            ElementCache.invalidate(driver);
+            pool.release(driver);
+            if (lease != null) {
+                grid.complete(lease, false);
+            }
+        }
+        PageMetrics.assertWithinBudgets();
+    }
+
+    // Lease a session on the test's grid node, moving on to another node when one cannot start a session
+    private WebDriver leaseFromGrid(String test, DriverTier tier) {
+        while (true) {
+            lease = grid.acquire(test, Duration.ofSeconds(TestConfig.DRIVER_LEASE_TIMEOUT));
+            pool = pool(lease.getNode().getUrl(), tier, lease.getNode().getSlots());
+            try {
+                return pool.lease();
+            } catch (WebDriverException e) {
+                log.warn("Grid node {} failed to start a session: {}", lease.getNode().getUrl(), e.getMessage());
+                grid.complete(lease, true);
+                lease = null;
+            }
+        }
+    }
+
+    private static WebDriverPool pool(String remoteUrl, DriverTier tier, int size) {
+        String endpoint = remoteUrl == null || remoteUrl.isEmpty() ? "local" : remoteUrl;
+        WebDriverPool.Budget budget = budgets.computeIfAbsent(endpoint, key -> new WebDriverPool.Budget(size));
+        return pools.computeIfAbsent(tier + " " + endpoint, key ->
+                new WebDriverPool(() -> createDriver(remoteUrl, tier), budget, TestConfig.DRIVER_MAX_USES));
+    }
+
+    // @Tier on the method, else on the class, else FULL
+    private static DriverTier tierOf(TestInfo testInfo) {
+        Tier tier = testInfo.getTestMethod().map(method -> method.getAnnotation(Tier.class)).orElse(null);
+        if (tier == null) {
+            tier = EzyShopperAppTests.class.getAnnotation(Tier.class);
+        }
+        return tier != null ? tier.value() : DriverTier.FULL;
+    }
+
+    private static List<String> testIds() {
+        List<String> ids = new ArrayList<>();
+        for (Method method : EzyShopperAppTests.class.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                ids.add(TestHistory.id(EzyShopperAppTests.class, method.getName()));
+            }
+        }
+        return ids;
+    }
+
+    private static WebDriver createDriver(String remoteUrl, DriverTier tier) {
+        WebDriver driver;
+        if (remoteUrl != null && !remoteUrl.isEmpty()) {
+            URL url;
+            try {
+                url = new URL(remoteUrl);
+            } catch (MalformedURLException e) {
+                throw new RuntimeException("Invalid SELENIUM_REMOTE_URL: " + remoteUrl, e);
+            }
+            log.info("Using remote WebDriver: {} ({})", remoteUrl, tier);
+            driver = DriverProfiles.start(tier, false, options -> new RemoteWebDriver(url, options));
+        } else {
+            driver = DriverProfiles.start(tier, true, ChromeDriver::new);
+        }
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        // Capture page timings after every driver.get, keep a trail of recent actions for failures
+        // and record the routes each test visits for impact selection
+        return new EventFiringDecorator<>(PageMetrics.listener(), FailureTrail.listener(),
+                TestImpact.listener(driver)).decorate(driver);
     }
 
     @AfterAll
     public static void summary() {
+        SUITE.exit(EzyShopperAppTests::finishSuite);
+    }
+
+    private static void finishSuite() {
+        pools.forEach((key, pool) -> {
+            pool.shutdown();
+            log.info("Driver pool {}: {}", key, pool.getMetrics());
+        });
+        pools.clear();
+        budgets.clear();
+        log.info("Driver tiers:\n{}", DriverProfiles.comparison());
+        DriverProfiles.exportJson(Paths.get(TestConfig.REPORT_DIR, "driver-tiers.json"));
+        if (ProfileDirPool.sharedIfCreated() != null) {
+            log.info("Chrome profiles: {}", ProfileDirPool.sharedIfCreated().getMetrics());
+        }
+        if (grid != null) {
+            log.info("Grid: {}", grid);
+            grid.exportJson(Paths.get(TestConfig.REPORT_DIR, "grid-schedule.json"));
+        }
+        log.info("Readiness waits:\n{}", PageReadiness.getTimingReport());
+        log.info("Presence checks: {}", ElementPresence.getMetrics());
+        log.info("Element cache: {} hits, {} misses", ElementCache.getHits(), ElementCache.getMisses());
+        log.info("Adaptive waits:\n{}", AdaptiveWait.getReport());
+        ActionTimer.exportJson(Paths.get(TestConfig.REPORT_DIR, "action-latency.json"));
+        PageMetrics.exportJson(Paths.get(TestConfig.REPORT_DIR, "page-metrics.json"));
+        if (networkPolicy != null) {
+            networkPolicy.exportReport(Paths.get(TestConfig.REPORT_DIR, "network-policy.json"));
+        }
+        if (backendReplay != null) {
+            backendReplay.save();
+            log.info("Backend replay: {}", backendReplay);
+            if (TestConfig.REPLAY_CHECK) {
+                backendReplay.exportStaleness(Paths.get(TestConfig.REPORT_DIR, "replay-staleness.json"));
+            }
+        }
+        ArtifactWriter.shutdownShared();
+        Map<String, Object> end = new LinkedHashMap<>();
+        end.put("suite", EzyShopperAppTests.class.getName());
+        end.put("durationMs", (System.nanoTime() - suiteStart) / 1_000_000);
+        end.put("reportDir", TestConfig.REPORT_DIR);
+        ResultStream.suite("suiteEnd", end);
         log.info("");
         log.info("========================================");
         log.info("  TEST SUITE COMPLETED");
@@ -97,6 +303,7 @@ public class EzyShopperAppTests {
 
     @Test
     @Order(1)
+    @Tier(DriverTier.FAST)
     @DisplayName("1. Home Page Loads Successfully")
     public void testHomePageLoads() {
         log.info("  Navigating to home page...");
@@ -150,32 +357,18 @@ public class EzyShopperAppTests {
     @Test
     @Order(3)
     @DisplayName("3. Login with Valid Credentials")
+    @Tier(DriverTier.FAST)
     public void testLoginValid() {
-        // First register the user
-        driver.get(BASE_URL);
-        WebElement signUpLink = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//a[contains(text(),'Sign Up') or contains(text(),'Register')]")));
-        signUpLink.click();
-
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("name"))).sendKeys("Test User");
-        driver.findElement(By.id("email")).sendKeys(testEmail);
-        driver.findElement(By.id("password")).sendKeys(TEST_PASSWORD);
-        driver.findElement(By.id("confirmPassword")).sendKeys(TEST_PASSWORD);
-        driver.findElement(By.cssSelector("button[type='submit']")).click();
-
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        // Use a pre-provisioned account (the sign-up UI is covered by test 2)
+        user = users.lease(TestUserPool.Role.SHOPPER);
 
         // Now test login
         log.info("  Navigating to login page...");
         driver.get(BASE_URL + "/login");
 
         log.info("  Entering credentials...");
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("email"))).sendKeys(testEmail);
-        driver.findElement(By.id("password")).sendKeys(TEST_PASSWORD);
+        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("email"))).sendKeys(user.getEmail());
+        driver.findElement(By.id("password")).sendKeys(user.getPassword());
         driver.findElement(By.cssSelector("button[type='submit']")).click();
 
         wait.until(ExpectedConditions.or(
@@ -188,6 +381,7 @@ public class EzyShopperAppTests {
     @Test
     @Order(4)
     @DisplayName("4. Login with Invalid Email")
+    @Tier(DriverTier.FAST)
     public void testLoginInvalidEmail() {
         log.info("  Testing login with non-existent email...");
         driver.get(BASE_URL + "/login");
@@ -213,29 +407,15 @@ public class EzyShopperAppTests {
     @Test
     @Order(5)
     @DisplayName("5. Login with Wrong Password")
+    @Tier(DriverTier.FAST)
     public void testLoginWrongPassword() {
-        // First register the user
-        driver.get(BASE_URL);
-        WebElement signUpLink = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//a[contains(text(),'Sign Up') or contains(text(),'Register')] | //button[contains(text(),'Sign Up')]")));
-        signUpLink.click();
-
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("name"))).sendKeys("Test User");
-        driver.findElement(By.id("email")).sendKeys(testEmail);
-        driver.findElement(By.id("password")).sendKeys(TEST_PASSWORD);
-        driver.findElement(By.id("confirmPassword")).sendKeys(TEST_PASSWORD);
-        driver.findElement(By.cssSelector("button[type='submit']")).click();
-
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        // Use a pre-provisioned account (the sign-up UI is covered by test 2)
+        user = users.lease(TestUserPool.Role.SHOPPER);
 
         log.info("  Testing login with wrong password...");
         driver.get(BASE_URL + "/login");
 
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("email"))).sendKeys(testEmail);
+        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("email"))).sendKeys(user.getEmail());
         driver.findElement(By.id("password")).sendKeys("WrongPassword123!");
         driver.findElement(By.cssSelector("button[type='submit']")).click();
 
@@ -255,6 +435,7 @@ public class EzyShopperAppTests {
     @Test
     @Order(6)
     @DisplayName("6. Navigate to Login from Home")
+    @Tier(DriverTier.FAST)
     public void testNavigateToLogin() {
         log.info("  Testing navigation to login...");
         driver.get(BASE_URL);
@@ -275,12 +456,7 @@ public class EzyShopperAppTests {
     public void testCategoryNavigation() {
         log.info("  Testing category navigation...");
         driver.get(BASE_URL);
-
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        PageReadiness.waitForPageReady(driver);
 
         // Look for any category link (jeans, t-shirts, shoes, bags, glasses)
         WebElement categoryLink = wait.until(ExpectedConditions.elementToBeClickable(
@@ -300,12 +476,7 @@ public class EzyShopperAppTests {
     public void testProductBrowsing() {
         log.info("  Testing product browsing...");
         driver.get(BASE_URL);
-
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        PageReadiness.waitForPageReady(driver);
 
         // Navigate to a category
         WebElement categoryLink = wait.until(ExpectedConditions.elementToBeClickable(
@@ -313,12 +484,7 @@ public class EzyShopperAppTests {
         categoryLink.click();
 
         wait.until(ExpectedConditions.urlContains("/category/"));
-
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        PageReadiness.waitForPageReady(driver);
 
         // Check for products - look for product cards, images, or "Add to Cart" buttons
         boolean productsFound = driver.findElements(By.cssSelector(".product")).size() > 0 ||
@@ -342,51 +508,19 @@ public class EzyShopperAppTests {
     @Order(9)
     @DisplayName("9. Cart Access After Login")
     public void testCartAccess() {
-        // Generate unique email for this test
-        String uniqueEmail = "testuser" + System.currentTimeMillis() + "@test.com";
-        
-        // First register and login
+        // Lease a logged-in shopper and open the app with its auth cookies in place
+        user = users.lease(TestUserPool.Role.SHOPPER);
+        sessions.injectCookies(driver, user.getCookies());
         driver.get(BASE_URL);
-        WebElement signUpLink = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//a[contains(text(),'Sign Up') or contains(text(),'Register')]"))); 
-        signUpLink.click();
-
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("name"))).sendKeys("Test User");
-        driver.findElement(By.id("email")).sendKeys(uniqueEmail);
-        driver.findElement(By.id("password")).sendKeys(TEST_PASSWORD);
-        driver.findElement(By.id("confirmPassword")).sendKeys(TEST_PASSWORD);
-        driver.findElement(By.cssSelector("button[type='submit']")).click();
-
-        try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-
-        // Wait for redirect after registration to home page
-        wait.until(ExpectedConditions.or(
-                ExpectedConditions.urlToBe(BASE_URL + "/"),
-                ExpectedConditions.presenceOfElementLocated(By.cssSelector("nav, .navbar"))
-        ));
 
         log.info("  Waiting for authentication state to load...");
-        
-        // Wait longer for logout button - confirms React app has completed checkAuth()
-        try {
-            Thread.sleep(5000); // Give React more time to complete checkAuth()
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        Duration authWait = PageReadiness.waitForAuthResolved(driver);
+        log.info("  Auth state resolved in {} ms", authWait.toMillis());
 
         log.info("  Accessing cart page after login...");
         driver.get(BASE_URL + "/cart");
-        
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        
+        PageReadiness.waitForPageReady(driver);
+
         String currentUrl = driver.getCurrentUrl();
         assertTrue(currentUrl.contains("/cart"), 
                 "Should be on cart page, current URL: " + currentUrl);
@@ -399,52 +533,19 @@ public class EzyShopperAppTests {
     public void testEndToEndFlow() {
         log.info("  Testing complete shopping flow...");
         
-        // Generate unique email for this test
-        String uniqueEmail = "testuser" + System.currentTimeMillis() + "@test.com";
-        
-        // Step 1: Register
-        driver.get(BASE_URL);
-        WebElement signUpLink = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//a[contains(text(),'Sign Up') or contains(text(),'Register')]"))); 
-        signUpLink.click();
-
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("name"))).sendKeys("Test User");
-        driver.findElement(By.id("email")).sendKeys(uniqueEmail);
-        driver.findElement(By.id("password")).sendKeys(TEST_PASSWORD);
-        driver.findElement(By.id("confirmPassword")).sendKeys(TEST_PASSWORD);
-        driver.findElement(By.cssSelector("button[type='submit']")).click();
-
-        try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-
-        // Wait for redirect after registration
-        wait.until(ExpectedConditions.or(
-                ExpectedConditions.urlToBe(BASE_URL + "/"),
-                ExpectedConditions.presenceOfElementLocated(By.cssSelector("nav, .navbar"))
-        ));
-        log.info("  Step 1: User registered");
-        
-        // Wait for authentication state to load
-        try {
-            Thread.sleep(5000); // Give React time to complete checkAuth()
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        // Step 1: Lease a logged-in shopper; the auth cookies are in place before the first navigation
+        user = users.lease(TestUserPool.Role.SHOPPER);
+        sessions.injectCookies(driver, user.getCookies());
+        log.info("  Step 1: User logged in as {}", user.getEmail());
 
         // Step 2: Navigate to home
         driver.get(BASE_URL);
+        PageReadiness.waitForAuthResolved(driver);
         log.info("  Step 2: Navigated to home");
 
         // Step 3: Browse category
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        
+        PageReadiness.waitForPageReady(driver);
+
         WebElement categoryLink = wait.until(ExpectedConditions.elementToBeClickable(
                 By.xpath("//a[contains(@href,'/category/')]")));
         categoryLink.click();
@@ -453,11 +554,7 @@ public class EzyShopperAppTests {
 
         // Step 4: View cart
         driver.get(BASE_URL + "/cart");
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        PageReadiness.waitForPageReady(driver);
         log.info("  Step 4: Accessed cart page");
 
         String currentUrl = driver.getCurrentUrl();
@@ -0,0 +1,112 @@
+package com.ezyshopper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import com.ezyshopper.pages.CartPage;
+import com.ezyshopper.pages.CategoryPage;
+import com.ezyshopper.pages.HomePage;
+import com.ezyshopper.pages.LoginPage;
+import com.ezyshopper.pages.SignUpPage;
+import com.ezyshopper.utils.DriverProfiles;
+import com.ezyshopper.utils.DriverTier;
+import com.ezyshopper.utils.LoadProfile;
+import com.ezyshopper.utils.LoadRunner;
+import com.ezyshopper.utils.LoadStats;
+import com.ezyshopper.utils.TestConfig;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load mode: concurrent headless shoppers running the sign-up, login, add-to-cart and
+ * checkout page objects as a journey, following the ramp in TestConfig.LOAD_PROFILE.
+ *
+ * Run with: mvn test -Dtest=ShopperLoadTest -DloadTest=true [-DloadProfile=30s:10,2m:10,30s:0]
+ */
+@DisplayName("EzyShopper Shopper Load")
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+public class ShopperLoadTest {
+
+    private static final String BASE_URL = System.getProperty("baseUrl",
+        System.getenv("BASE_URL") != null ? System.getenv("BASE_URL") : "http://localhost:5173");
+    private static final String REMOTE_URL = System.getProperty("seleniumRemoteUrl",
+        System.getenv("SELENIUM_REMOTE_URL") != null ? System.getenv("SELENIUM_REMOTE_URL") : "");
+
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    @Test
+    @DisplayName("Shopper journey under load")
+    public void shopperJourney() throws InterruptedException {
+        if (REMOTE_URL.isEmpty()) {
+            WebDriverManager.chromedriver().setup();
+        }
+        LoadRunner runner = new LoadRunner(ShopperLoadTest::createDriver, this::journey,
+                LoadProfile.parse(TestConfig.LOAD_PROFILE));
+
+        LoadStats stats = runner.run();
+        stats.exportJson(Paths.get(TestConfig.REPORT_DIR, "load-report.json"));
+
+        assertTrue(stats.getIterations() > 0, "no journey completed");
+        assertTrue(stats.getErrorRate() <= TestConfig.LOAD_MAX_ERROR_RATE,
+                String.format("journey error rate %.1f%% above %.1f%%", stats.getErrorRate() * 100,
+                        TestConfig.LOAD_MAX_ERROR_RATE * 100));
+    }
+
+    // A new shopper per iteration, so sign-up never collides on an email address
+    private void journey(LoadRunner.VirtualUser user) {
+        WebDriver driver = user.getDriver();
+        int local = TestConfig.TEST_USER_EMAIL.indexOf('@');
+        String email = TestConfig.TEST_USER_EMAIL.substring(0, local) + "+load-" + runId + "-" + user.getId() + "-"
+                + user.getIteration() + TestConfig.TEST_USER_EMAIL.substring(local);
+        String password = TestConfig.TEST_USER_PASSWORD;
+
+        driver.manage().deleteAllCookies();
+        user.step("signUp", () -> {
+            driver.get(BASE_URL + "/signup");
+            new SignUpPage(driver).signUp(TestConfig.TEST_USER_NAME, email, password, password);
+        });
+        user.step("login", () -> {
+            driver.get(BASE_URL + "/login");
+            new LoginPage(driver).login(email, password);
+        });
+        user.step("addToCart", () -> {
+            driver.get(BASE_URL);
+            new HomePage(driver).clickCategoryJeans();
+            CategoryPage category = new CategoryPage(driver);
+            assertTrue(category.isCategoryPageLoaded(), "category page not loaded");
+            category.clickAddToCartForFirstProduct();
+        });
+        user.step("checkout", () -> {
+            driver.get(BASE_URL + "/cart");
+            CartPage cart = new CartPage(driver);
+            assertFalse(cart.isCartEmpty(), "cart is empty after add to cart");
+            cart.clickCheckout();
+        });
+    }
+
+    private static WebDriver createDriver() {
+        WebDriver driver;
+        if (!REMOTE_URL.isEmpty()) {
+            URL url;
+            try {
+                url = new URL(REMOTE_URL);
+            } catch (MalformedURLException e) {
+                throw new RuntimeException("Invalid SELENIUM_REMOTE_URL: " + REMOTE_URL, e);
+            }
+            driver = DriverProfiles.start(DriverTier.FAST, false, options -> new RemoteWebDriver(url, options));
+        } else {
+            driver = DriverProfiles.start(DriverTier.FAST, true, ChromeDriver::new);
+        }
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(TestConfig.PAGE_LOAD_TIMEOUT));
+        return driver;
+    }
+}
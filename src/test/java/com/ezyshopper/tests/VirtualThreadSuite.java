@@ -0,0 +1,32 @@
+package com.ezyshopper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import com.ezyshopper.extensions.VirtualThreadRunner;
+import com.ezyshopper.utils.TestConfig;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Entry point of the java21 profile: runs EzyShopperAppTests through VirtualThreadRunner
+ * and fails if any of its tests failed.
+ *
+ * Run with: mvn test -Pjava21 [-DtestThreads=platform] [-DmaxSessions=N]
+ */
+@DisplayName("EzyShopper Suite on Virtual Threads")
+@EnabledIfSystemProperty(named = "virtualThreadSuite", matches = "true")
+public class VirtualThreadSuite {
+
+    @Test
+    @DisplayName("EzyShopperAppTests, one thread per test")
+    public void runSuite() throws InterruptedException {
+        VirtualThreadRunner.Result result = VirtualThreadRunner.fromConfig().run(EzyShopperAppTests.class);
+        result.exportJson(Paths.get(TestConfig.REPORT_DIR));
+
+        assertTrue(result.getFailures().isEmpty(), "Failed tests:\n" + String.join("\n", result.getFailures()));
+        assertTrue(result.getSucceeded() > 0, "No tests ran");
+    }
+}
@@ -0,0 +1,45 @@
+package com.ezyshopper.utils;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionTimerTest {
+
+    @Test
+    void utilityActionsAreAttributedToCallingPage() {
+        FakeWebDriver driver = new FakeWebDriver();
+
+        boolean present = ActionTimer.call("TimerTestPage", "isLoaded",
+                () -> SeleniumUtils.isElementPresent(driver, By.id("title")));
+
+        assertFalse(present);
+        assertEquals(1, ActionTimer.getHistogram("TimerTestPage", "isLoaded").getTotalCount());
+        assertEquals(1, ActionTimer.getHistogram("TimerTestPage", "isPresent").getTotalCount());
+    }
+
+    @Test
+    void summaryReportsPercentilesInMillis() throws Exception {
+        for (int i = 1; i <= 100; i++) {
+            ActionTimer.record("TimerSummaryPage", "click", i * 1_000_000L);
+        }
+
+        Histogram histogram = ActionTimer.getHistogram("TimerSummaryPage", "click");
+        assertEquals(100, histogram.getTotalCount());
+
+        Map<String, Object> stats = ActionTimer.summary().get("TimerSummaryPage").get("click");
+        assertEquals(100L, stats.get("count"));
+        assertEquals(50.0, (Double) stats.get("p50"), 0.1);
+        assertEquals(100.0, (Double) stats.get("max"), 0.1);
+
+        Path file = Files.createTempDirectory("action-timer").resolve("action-latency.json");
+        ActionTimer.exportJson(file);
+        assertTrue(Files.readString(file).contains("TimerSummaryPage"));
+    }
+}
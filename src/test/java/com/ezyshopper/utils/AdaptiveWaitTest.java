@@ -0,0 +1,134 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveWaitTest {
+
+    private static WebElement element() {
+        return (WebElement) Proxy.newProxyInstance(AdaptiveWaitTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> null);
+    }
+
+    @Test
+    void reusesOneWaitPerDriver() {
+        FakeWebDriver driver = new FakeWebDriver();
+
+        assertSame(AdaptiveWait.of(driver), AdaptiveWait.of(driver));
+        assertNotSame(AdaptiveWait.of(driver), AdaptiveWait.of(new FakeWebDriver()));
+    }
+
+    @Test
+    void waitDoesNotKeepItsDriverReachable() throws InterruptedException {
+        FakeWebDriver driver = new FakeWebDriver();
+        AdaptiveWait.of(driver);
+        WeakReference<FakeWebDriver> collected = new WeakReference<>(driver);
+        driver = null;
+
+        for (int i = 0; i < 50 && collected.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(collected.get(), "driver held only by its wait object is collected");
+    }
+
+    @Test
+    void pooledSessionsForgetTheirWaitWhenRetired() {
+        WebDriverPool pool = new WebDriverPool(FakeWebDriver::new, 1, 1);
+        FakeWebDriver driver = (FakeWebDriver) pool.lease();
+        AdaptiveWait wait = AdaptiveWait.of(driver);
+
+        pool.release(driver);
+
+        assertTrue(driver.isQuit());
+        assertNotSame(wait, AdaptiveWait.of(driver));
+    }
+
+    @Test
+    void mutationWakeUpRechecksWellInsideLegacyPollInterval() {
+        FakeWebDriver driver = new FakeWebDriver();
+        AtomicInteger mutations = new AtomicInteger();
+        driver.setScriptHandler(script -> script.equals(AdaptiveWait.WAKE_SCRIPT)
+                ? Arrays.asList(true, (long) mutations.incrementAndGet()) : null);
+        AtomicInteger lookups = new AtomicInteger();
+        driver.setElementHandler(by -> lookups.incrementAndGet() < 4
+                ? Collections.emptyList() : Collections.singletonList(element()));
+
+        long start = System.nanoTime();
+        WebElement found = AdaptiveWait.of(driver).until("test-wake", Duration.ofSeconds(5),
+                ExpectedConditions.presenceOfElementLocated(By.id("cart")));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertNotNull(found);
+        assertTrue(elapsedMillis < AdaptiveWait.LEGACY_POLL_MILLIS, "wait took " + elapsedMillis + " ms");
+        AdaptiveWait.Stats stats = AdaptiveWait.getStats().get("test-wake");
+        assertEquals(4, stats.getChecks());
+        assertEquals(3, stats.getMutationWakes());
+        assertTrue(stats.getSaved().toMillis() > 0);
+    }
+
+    @Test
+    void installsTrackerOnceAndReusesItAcrossWaits() {
+        FakeWebDriver driver = new FakeWebDriver();
+        AtomicInteger installs = new AtomicInteger();
+        driver.setScriptHandler(script -> {
+            if (script.equals(PageReadiness.TRACKER_SCRIPT)) {
+                installs.incrementAndGet();
+                return null;
+            }
+            return script.equals(AdaptiveWait.WAKE_SCRIPT) && installs.get() > 0 ? Arrays.asList(true, 1L) : null;
+        });
+        AtomicInteger lookups = new AtomicInteger();
+        driver.setElementHandler(by -> lookups.incrementAndGet() % 3 != 0
+                ? Collections.emptyList() : Collections.singletonList(element()));
+
+        for (int i = 0; i < 2; i++) {
+            assertNotNull(AdaptiveWait.of(driver).until("test-reuse", Duration.ofSeconds(5),
+                    ExpectedConditions.presenceOfElementLocated(By.id("cart"))));
+        }
+
+        assertEquals(1, installs.get());
+    }
+
+    @Test
+    void pausesBetweenChecksWhenWakeScriptFails() {
+        FakeWebDriver driver = new FakeWebDriver();
+        driver.setScriptHandler(script -> {
+            throw new WebDriverException("navigation in progress");
+        });
+
+        assertThrows(TimeoutException.class, () -> AdaptiveWait.of(driver).until("test-failing-script",
+                Duration.ofMillis(600), ExpectedConditions.presenceOfElementLocated(By.id("missing"))));
+
+        assertTrue(AdaptiveWait.getStats().get("test-failing-script").getChecks() <= 3);
+    }
+
+    @Test
+    void timesOutAndRestoresImplicitWaitWithoutTracker() {
+        FakeWebDriver driver = new FakeWebDriver();
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+
+        assertThrows(TimeoutException.class, () -> AdaptiveWait.of(driver).until("test-timeout",
+                Duration.ofMillis(300), ExpectedConditions.presenceOfElementLocated(By.id("missing"))));
+
+        assertEquals(Duration.ofSeconds(10), driver.getImplicitWait());
+        AdaptiveWait.Stats stats = AdaptiveWait.getStats().get("test-timeout");
+        assertEquals(1, stats.getTimeouts());
+        assertEquals(0, stats.getSaved().toMillis());
+        // Backoff from 10 ms means far fewer checks than a 10 ms fixed poll over 300 ms
+        assertTrue(stats.getChecks() < 10, "checks: " + stats.getChecks());
+    }
+}
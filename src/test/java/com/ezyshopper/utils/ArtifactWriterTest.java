@@ -0,0 +1,138 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArtifactWriterTest {
+
+    // Held by tests that use or replace ArtifactWriter.shared()
+    static final String SHARED_WRITER = "ArtifactWriter.shared";
+
+    @TempDir
+    Path dir;
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 31 + y * 17) & 0xffffff);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    @Test
+    @ResourceLock(SHARED_WRITER)
+    void sharedWriterIsReplacedAfterShutdown() throws Exception {
+        ArtifactWriter first = ArtifactWriter.shared();
+        ArtifactWriter.shutdownShared();
+
+        ArtifactWriter second = ArtifactWriter.shared();
+        assertNotSame(first, second);
+        second.submit(dir.resolve("after-shutdown.txt"), "ok".getBytes(StandardCharsets.UTF_8), ArtifactWriter.Encoding.RAW);
+        assertTrue(second.flush(Duration.ofSeconds(10)));
+        assertEquals("ok", new String(Files.readAllBytes(dir.resolve("after-shutdown.txt")), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesQueuedArtifactsAndFlushesOnShutdown() throws Exception {
+        ArtifactWriter writer = new ArtifactWriter(4, 2, 0.8f);
+        byte[] screenshot = png(64, 48);
+        for (int i = 0; i < 20; i++) {
+            writer.submit(dir.resolve("shots/shot-" + i + ".png"), screenshot, ArtifactWriter.Encoding.RAW);
+        }
+        writer.shutdown();
+
+        for (int i = 0; i < 20; i++) {
+            assertArrayEquals(screenshot, Files.readAllBytes(dir.resolve("shots/shot-" + i + ".png")));
+        }
+        ArtifactWriter.Metrics metrics = writer.getMetrics();
+        assertEquals(20, metrics.getWritten());
+        assertEquals(0, metrics.getQueueDepth());
+        assertTrue(metrics.getMaxQueueDepth() <= 4);
+        assertThrows(IllegalStateException.class,
+                () -> writer.submit(dir.resolve("late.png"), screenshot, ArtifactWriter.Encoding.RAW));
+    }
+
+    @Test
+    void submitRacingShutdownIsEitherWrittenOrRejected() throws Exception {
+        ArtifactWriter writer = new ArtifactWriter(2, 1, 0.8f);
+        byte[] bytes = "artifact".getBytes(StandardCharsets.UTF_8);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            Thread submitter = new Thread(() -> {
+                try {
+                    go.await();
+                    for (int i = 0; i < 50; i++) {
+                        writer.submit(dir.resolve("race-" + thread + "-" + i + ".txt"), bytes, ArtifactWriter.Encoding.RAW);
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException | InterruptedException e) {
+                    // Rejected after shutdown
+                }
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+        go.countDown();
+        writer.shutdown();
+        for (Thread submitter : submitters) {
+            submitter.join(10_000);
+        }
+
+        assertEquals(accepted.get(), writer.getMetrics().getWritten(), "every accepted artifact is written");
+        assertTrue(writer.flush(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void encodesJpegAndGzip() throws Exception {
+        ArtifactWriter writer = new ArtifactWriter(4, 1, 0.5f);
+        byte[] html = "<html><body><div>same</div><div>same</div><div>same</div></body></html>"
+                .getBytes(StandardCharsets.UTF_8);
+        writer.submit(dir.resolve("page.jpg"), png(120, 80), ArtifactWriter.Encoding.JPEG);
+        writer.submit(dir.resolve("page.html.gz"), html, ArtifactWriter.Encoding.GZIP);
+        assertTrue(writer.flush(Duration.ofSeconds(10)));
+
+        BufferedImage jpeg = ImageIO.read(new ByteArrayInputStream(Files.readAllBytes(dir.resolve("page.jpg"))));
+        assertEquals(120, jpeg.getWidth());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(dir.resolve("page.html.gz")))) {
+            assertArrayEquals(html, in.readAllBytes());
+        }
+        writer.shutdown();
+    }
+
+    @Test
+    void failedWriteIsCountedAndDoesNotStallFlush() throws Exception {
+        ArtifactWriter writer = new ArtifactWriter(2, 1, 0.8f);
+        writer.submit(dir.resolve("broken.jpg"), "not an image".getBytes(StandardCharsets.UTF_8),
+                ArtifactWriter.Encoding.JPEG);
+
+        assertTrue(writer.flush(Duration.ofSeconds(10)));
+        assertEquals(1, writer.getMetrics().getFailed());
+        assertFalse(Files.exists(dir.resolve("broken.jpg")));
+        writer.shutdown();
+    }
+}
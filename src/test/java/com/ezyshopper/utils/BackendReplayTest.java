@@ -0,0 +1,115 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackendReplayTest {
+
+    private static final String BACKEND = "http://localhost:3001";
+    private static final String JEANS = "[{\"name\":\"Blue Jeans\",\"price\":49.99}]";
+
+    @TempDir
+    Path dir;
+
+    private static HttpHandler liveBackend(AtomicInteger calls, String body) {
+        return request -> {
+            calls.incrementAndGet();
+            return new HttpResponse()
+                    .setHeader("Content-Type", "application/json")
+                    .setHeader("Access-Control-Allow-Origin", "http://localhost:5173")
+                    .setHeader("Content-Length", String.valueOf(body.length()))
+                    .setContent(Contents.utf8String(body));
+        };
+    }
+
+    private static BackendReplay replay(BackendReplay.Mode mode, String backendUrl, Path store) {
+        return new BackendReplay(mode, backendUrl, Collections.singletonList("/api/products"), store);
+    }
+
+    @Test
+    void recordedResponsesAreReplayedWithoutTheNetwork() {
+        Path store = dir.resolve("backend.json.gz");
+        AtomicInteger liveCalls = new AtomicInteger();
+        HttpRequest request = new HttpRequest(HttpMethod.GET, BACKEND + "/api/products/category/jeans");
+
+        BackendReplay recorder = replay(BackendReplay.Mode.RECORD, BACKEND, store);
+        HttpResponse recorded = recorder.filter().apply(liveBackend(liveCalls, JEANS)).execute(request);
+        assertEquals(JEANS, Contents.string(recorded));
+        recorder.save();
+        assertTrue(Files.exists(store));
+
+        BackendReplay replayer = replay(BackendReplay.Mode.REPLAY, BACKEND, store);
+        HttpResponse replayed = replayer.filter().apply(liveBackend(liveCalls, "changed")).execute(request);
+
+        assertEquals(1, liveCalls.get());
+        assertEquals(200, replayed.getStatus());
+        assertEquals(JEANS, Contents.string(replayed));
+        assertEquals("http://localhost:5173", replayed.getHeader("Access-Control-Allow-Origin"));
+        assertNull(replayed.getHeader("Content-Length"));
+        assertEquals(1, replayer.getHits());
+    }
+
+    @Test
+    void perUserAndUnrecordedCallsGoToTheLiveBackend() {
+        AtomicInteger liveCalls = new AtomicInteger();
+        BackendReplay replayer = replay(BackendReplay.Mode.REPLAY, BACKEND, dir.resolve("missing.json.gz"));
+        HttpHandler handler = replayer.filter().apply(liveBackend(liveCalls, "{}"));
+
+        handler.execute(new HttpRequest(HttpMethod.GET, BACKEND + "/api/cart"));
+        handler.execute(new HttpRequest(HttpMethod.POST, BACKEND + "/api/products"));
+        handler.execute(new HttpRequest(HttpMethod.GET, BACKEND + "/api/products/featured"));
+        handler.execute(new HttpRequest(HttpMethod.GET, "http://localhost:5173/api/products"));
+
+        assertEquals(4, liveCalls.get());
+        assertEquals(1, replayer.getMisses());
+        assertEquals(0, replayer.getHits());
+    }
+
+    @Test
+    void routesMatchOnWholePathSegments() {
+        BackendReplay replay = replay(BackendReplay.Mode.REPLAY, BACKEND, dir.resolve("missing.json.gz"));
+
+        assertEquals("GET /api/products", replay.keyFor(new HttpRequest(HttpMethod.GET, BACKEND + "/api/products")));
+        assertEquals("GET /api/products?page=2",
+                replay.keyFor(new HttpRequest(HttpMethod.GET, BACKEND + "/api/products?page=2")));
+        assertEquals("GET /api/products/featured",
+                replay.keyFor(new HttpRequest(HttpMethod.GET, BACKEND + "/api/products/featured")));
+        assertNull(replay.keyFor(new HttpRequest(HttpMethod.GET, BACKEND + "/api/products-admin")));
+        assertNull(replay.keyFor(new HttpRequest(HttpMethod.GET, BACKEND + "1/api/products")));
+    }
+
+    @Test
+    void stalenessCheckComparesRecordingsWithLiveApi() throws Exception {
+        try (StubBackend backend = new StubBackend()) {
+            backend.route("/api/products/category/jeans", exchange -> StubBackend.respond(exchange, 200, JEANS));
+            backend.route("/api/products/category/shoes", exchange -> StubBackend.respond(exchange, 200, "[]"));
+            Path store = dir.resolve("backend.json.gz");
+            AtomicInteger liveCalls = new AtomicInteger();
+
+            BackendReplay recorder = replay(BackendReplay.Mode.RECORD, backend.getUrl(), store);
+            HttpHandler handler = recorder.filter().apply(liveBackend(liveCalls, JEANS));
+            handler.execute(new HttpRequest(HttpMethod.GET, backend.getUrl() + "/api/products/category/jeans"));
+            handler.execute(new HttpRequest(HttpMethod.GET, backend.getUrl() + "/api/products/category/shoes"));
+            recorder.save();
+
+            Map<String, String> stale = replay(BackendReplay.Mode.REPLAY, backend.getUrl(), store)
+                    .checkStaleness(Duration.ofDays(30));
+
+            assertEquals(Collections.singletonMap("GET /api/products/category/shoes", "body changed"), stale);
+        }
+    }
+}
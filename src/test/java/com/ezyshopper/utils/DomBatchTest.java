@@ -0,0 +1,79 @@
+package com.ezyshopper.utils;
+
+import com.ezyshopper.pages.CategoryPage;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomBatchTest {
+
+    private static Map<String, Object> element(String text, boolean visible) {
+        Map<String, Object> element = new HashMap<>();
+        element.put("text", text);
+        element.put("visible", visible);
+        element.put("attributes", Collections.singletonMap("href", "/category/" + text.toLowerCase()));
+        return element;
+    }
+
+    @Test
+    void runsAllLookupsInOneScriptCall() {
+        FakeWebDriver driver = new FakeWebDriver();
+        Map<String, Object> response = new HashMap<>();
+        response.put("links", Arrays.asList(element("Jeans", true), element("Shoes", false)));
+        response.put("title", Collections.emptyList());
+        driver.setScriptHandler(script -> response);
+
+        DomBatch.Result result = DomBatch.query(driver)
+                .all("links", By.cssSelector("a"), "href")
+                .first("title", By.xpath("//h1"))
+                .execute();
+
+        assertEquals(1, driver.getExecutedScripts().size());
+        assertEquals(Arrays.asList("Jeans", "Shoes"), result.texts("links"));
+        assertEquals("/category/shoes", result.get("links").get(1).getAttribute("href"));
+        assertTrue(result.isVisible("links"));
+        assertFalse(result.isPresent("title"));
+        assertEquals("", result.text("title"));
+    }
+
+    private static Map<String, Object> card(String name, String price) {
+        Map<String, Object> card = element("card", true);
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("name", name);
+        fields.put("price", price);
+        card.put("fields", fields);
+        return card;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void categorySnapshotReadsNameAndPricePerCard() {
+        FakeWebDriver driver = new FakeWebDriver();
+        Map<String, Object> response = new HashMap<>();
+        response.put("title", Collections.singletonList(element("Jeans", true)));
+        // The first card shows no price; the others must keep their own
+        response.put("cards", Arrays.asList(card("Slim Fit", null), card("Relaxed", "$55"), card("Bootcut", "$60")));
+        driver.setScriptHandler(script -> response);
+
+        CategoryPage.Snapshot snapshot = new CategoryPage(driver).snapshot();
+
+        List<CategoryPage.Product> products = snapshot.getProducts();
+        assertTrue(snapshot.isLoaded());
+        assertEquals(3, snapshot.getProductCount());
+        assertNull(products.get(0).getPrice());
+        assertEquals("Relaxed", products.get(1).getName());
+        assertEquals("$55", products.get(1).getPrice());
+        assertEquals("$60", products.get(2).getPrice());
+        assertEquals(1, driver.getExecutedScripts().size());
+        List<Map<String, Object>> specs = (List<Map<String, Object>>) driver.getLastScriptArguments()[0];
+        List<Map<String, Object>> fields = (List<Map<String, Object>>) specs.get(2).get("fields");
+        assertEquals(Arrays.asList("name", "price"), Arrays.asList(fields.get(0).get("name"), fields.get(1).get("name")));
+    }
+}
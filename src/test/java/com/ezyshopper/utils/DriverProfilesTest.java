@@ -0,0 +1,47 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DriverProfilesTest {
+
+    @SuppressWarnings("unchecked")
+    private static List<String> arguments(ChromeOptions options) {
+        Map<String, Object> chrome = (Map<String, Object>) options.asMap().get(ChromeOptions.CAPABILITY);
+        return (List<String>) chrome.get("args");
+    }
+
+    @Test
+    void fastTierIsHeadlessShellWithoutImagesAndEagerLoads() {
+        List<String> full = arguments(DriverProfiles.options(DriverTier.FULL));
+        ChromeOptions fastOptions = DriverProfiles.options(DriverTier.FAST);
+        List<String> fast = arguments(fastOptions);
+
+        assertTrue(full.contains("--window-size=1920,1080"));
+        assertTrue(full.contains("--headless=new"));
+        assertTrue(fast.contains("--window-size=" + TestConfig.FAST_WINDOW_SIZE));
+        assertTrue(fast.contains("--blink-settings=imagesEnabled=false"));
+        assertFalse(fast.contains("--headless=old"), "Chrome 132+ no longer has the old headless mode");
+        if (TestConfig.HEADLESS_SHELL_BINARY.isEmpty()) {
+            assertTrue(fast.contains("--headless=new"));
+        }
+        assertEquals(PageLoadStrategy.EAGER, fastOptions.getCapability("pageLoadStrategy"));
+    }
+
+    @Test
+    void startRecordsStartupTimePerTier() {
+        long before = DriverProfiles.getStats(DriverTier.FAST).getLaunches();
+
+        DriverProfiles.start(DriverTier.FAST, false, options -> new FakeWebDriver());
+        DriverProfiles.start(DriverTier.FULL, false, options -> new FakeWebDriver());
+
+        assertEquals(before + 1, DriverProfiles.getStats(DriverTier.FAST).getLaunches());
+        assertTrue(DriverProfiles.comparison().contains("FAST vs FULL: startup"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElementCacheTest {
+
+    private static final By CARDS = By.cssSelector("div.card");
+
+    private static WebElement element() {
+        return (WebElement) Proxy.newProxyInstance(ElementCacheTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> null);
+    }
+
+    /** Page whose tracker stamp is controlled by the test; counts how often the DOM is queried */
+    private static FakeWebDriver page(AtomicReference<String> stamp, AtomicInteger queries, List<WebElement> nodes) {
+        FakeWebDriver driver = new FakeWebDriver();
+        driver.setScriptHandler(script -> {
+            Object known = driver.getLastScriptArguments()[1];
+            if (stamp.get() != null && stamp.get().equals(known)) {
+                return Collections.singletonList(stamp.get());
+            }
+            queries.incrementAndGet();
+            return Arrays.asList(stamp.get(), nodes);
+        });
+        return driver;
+    }
+
+    @Test
+    void repeatedLookupsInTheSamePageStateReuseElements() {
+        AtomicReference<String> stamp = new AtomicReference<>("doc1:0");
+        AtomicInteger queries = new AtomicInteger();
+        List<WebElement> nodes = Arrays.asList(element(), element());
+        FakeWebDriver driver = page(stamp, queries, nodes);
+
+        List<WebElement> first = ElementCache.findAll(driver, CARDS);
+        List<WebElement> second = ElementCache.findAll(driver, CARDS);
+
+        assertEquals(2, first.size());
+        assertSame(nodes.get(0), first.get(0));
+        assertSame(first, second);
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void mutationOrNavigationInvalidatesTheCache() {
+        AtomicReference<String> stamp = new AtomicReference<>("doc1:0");
+        AtomicInteger queries = new AtomicInteger();
+        FakeWebDriver driver = page(stamp, queries, Collections.singletonList(element()));
+
+        ElementCache.findAll(driver, CARDS);
+        stamp.set("doc1:1");
+        ElementCache.findAll(driver, CARDS);
+        stamp.set("doc2:0");
+        ElementCache.findAll(driver, CARDS);
+
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    void pagesWithoutTheTrackerAreNeverCached() {
+        AtomicReference<String> stamp = new AtomicReference<>(null);
+        AtomicInteger queries = new AtomicInteger();
+        FakeWebDriver driver = page(stamp, queries, Collections.singletonList(element()));
+
+        ElementCache.findAll(driver, CARDS);
+        ElementCache.findAll(driver, CARDS);
+
+        assertEquals(2, queries.get());
+        assertNull(driver.getLastScriptArguments()[1]);
+    }
+}
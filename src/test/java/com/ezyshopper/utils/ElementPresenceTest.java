@@ -0,0 +1,74 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElementPresenceTest {
+
+    private static WebElement element() {
+        return (WebElement) Proxy.newProxyInstance(ElementPresenceTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> null);
+    }
+
+    @Test
+    void negativeCheckReturnsWithinPollWindowAndRestoresImplicitWait() {
+        FakeWebDriver driver = new FakeWebDriver();
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+
+        long start = System.nanoTime();
+        boolean present = ElementPresence.isPresent(driver, By.id("logout"), Duration.ofMillis(200));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(present);
+        assertTrue(elapsedMillis < 1000, "negative check took " + elapsedMillis + " ms");
+        assertEquals(Duration.ofSeconds(10), driver.getImplicitWait());
+    }
+
+    @Test
+    void findsElementThatAppearsDuringPollWindow() {
+        FakeWebDriver driver = new FakeWebDriver();
+        AtomicInteger lookups = new AtomicInteger();
+        driver.setElementHandler(by -> lookups.incrementAndGet() < 3
+                ? Collections.emptyList() : Collections.singletonList(element()));
+
+        assertTrue(ElementPresence.isPresent(driver, By.id("cart"), Duration.ofSeconds(2)));
+        assertEquals(3, lookups.get());
+    }
+
+    @Test
+    void recordsNegativeLookupTime() {
+        FakeWebDriver driver = new FakeWebDriver();
+        long before = ElementPresence.getMetrics().getNegativeCount();
+
+        ElementPresence.findAllNow(driver, By.id("missing"));
+
+        assertTrue(ElementPresence.getMetrics().getNegativeCount() > before);
+    }
+
+    @Test
+    void awaitWaitsPastThePresenceWindowForAnExpectedElement() {
+        FakeWebDriver driver = new FakeWebDriver();
+        long appearsAt = System.nanoTime() + Duration.ofMillis(TestConfig.PRESENCE_TIMEOUT_MILLIS + 300).toNanos();
+        driver.setElementHandler(by -> System.nanoTime() < appearsAt
+                ? Collections.emptyList() : Collections.singletonList(element()));
+
+        assertEquals(1, ElementPresence.awaitAll(driver, By.id("products"), Duration.ofSeconds(5)).size());
+    }
+
+    @Test
+    void awaitGivesEmptyListWhenNothingAppears() {
+        FakeWebDriver driver = new FakeWebDriver();
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+
+        assertTrue(ElementPresence.awaitAll(driver, By.id("missing"), Duration.ofMillis(200)).isEmpty());
+        assertEquals(Duration.ofSeconds(10), driver.getImplicitWait());
+    }
+}
@@ -0,0 +1,64 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FailureTrailTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void keepsOnlyTheLastActions() {
+        FailureTrail.clear();
+        for (int i = 0; i < TestConfig.FAILURE_TRAIL_SIZE + 5; i++) {
+            FailureTrail.recordLookup("findElement", By.id("item-" + i));
+        }
+
+        List<FailureTrail.Entry> entries = FailureTrail.getEntries();
+        assertEquals(TestConfig.FAILURE_TRAIL_SIZE, entries.size());
+        assertEquals("By.id: item-5", entries.get(0).getTarget());
+        assertEquals("By.id: item-" + (TestConfig.FAILURE_TRAIL_SIZE + 4),
+                entries.get(entries.size() - 1).getTarget());
+    }
+
+    @Test
+    @ResourceLock(ArtifactWriterTest.SHARED_WRITER)
+    void listenerRecordsNavigationWithDomStateAndLookups() throws Exception {
+        FailureTrail.clear();
+        FakeWebDriver fake = new FakeWebDriver();
+        fake.setScriptHandler(script -> script.equals(FailureTrail.STATE_SCRIPT)
+                ? Arrays.asList("http://localhost:5173/login", "k3x9q:12", 1920L, 1080L) : null);
+        WebDriver driver = new EventFiringDecorator<>(FailureTrail.listener()).decorate(fake);
+
+        driver.get("http://localhost:5173/login");
+        driver.findElements(By.id("email"));
+
+        List<FailureTrail.Entry> entries = FailureTrail.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("get", entries.get(0).getAction());
+        assertEquals("k3x9q:12", entries.get(0).getDomState());
+        assertEquals("http://localhost:5173/login", entries.get(0).getUrl());
+        assertFalse(entries.get(0).hasScreenshot());
+        assertEquals("findElements", entries.get(1).getAction());
+        assertNull(entries.get(1).getDomState());
+
+        FailureTrail.dump(dir, new AssertionError("Login page should be loaded"));
+        assertTrue(ArtifactWriter.shared().flush(Duration.ofSeconds(10)));
+        String json = new String(Files.readAllBytes(dir.resolve("trail.json")));
+        assertTrue(json.contains("Login page should be loaded"));
+        assertTrue(json.contains("k3x9q:12"));
+    }
+}
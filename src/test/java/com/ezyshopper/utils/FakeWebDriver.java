@@ -0,0 +1,205 @@
+package com.ezyshopper.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * In-memory WebDriver for unit tests of the framework utilities
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+
+    private final List<String> visitedUrls = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> executedScripts = Collections.synchronizedList(new ArrayList<>());
+    private volatile Object[] lastScriptArguments = new Object[0];
+    private volatile String currentUrl = "about:blank";
+    private volatile boolean quit;
+    private volatile boolean broken;
+    private volatile Function<String, Object> scriptHandler = script -> null;
+    private volatile Function<By, List<WebElement>> elementHandler = by -> Collections.emptyList();
+    private volatile int cookieClears;
+    private volatile Duration implicitWait = Duration.ZERO;
+    private final List<Cookie> cookies = Collections.synchronizedList(new ArrayList<>());
+
+    public List<String> getVisitedUrls() {
+        return visitedUrls;
+    }
+
+    public List<String> getExecutedScripts() {
+        return executedScripts;
+    }
+
+    /**
+     * Arguments of the most recent executeScript call, for script handlers that depend on them
+     */
+    public Object[] getLastScriptArguments() {
+        return lastScriptArguments;
+    }
+
+    public boolean isQuit() {
+        return quit;
+    }
+
+    public int getCookieClears() {
+        return cookieClears;
+    }
+
+    public Duration getImplicitWait() {
+        return implicitWait;
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    /**
+     * Make every subsequent call fail as if the browser had crashed
+     */
+    public void breakSession() {
+        broken = true;
+    }
+
+    public void setScriptHandler(Function<String, Object> scriptHandler) {
+        this.scriptHandler = scriptHandler;
+    }
+
+    public void setElementHandler(Function<By, List<WebElement>> elementHandler) {
+        this.elementHandler = elementHandler;
+    }
+
+    private void checkAlive() {
+        if (quit || broken) {
+            throw new WebDriverException("Session is not alive");
+        }
+    }
+
+    @Override
+    public void get(String url) {
+        checkAlive();
+        visitedUrls.add(url);
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        checkAlive();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        checkAlive();
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkAlive();
+        return elementHandler.apply(by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> elements = findElements(by);
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("No element for " + by);
+        }
+        return elements.get(0);
+    }
+
+    @Override
+    public String getPageSource() {
+        checkAlive();
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+        quit();
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Collections.singleton(getWindowHandle());
+    }
+
+    @Override
+    public String getWindowHandle() {
+        checkAlive();
+        return "fake-window";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("switchTo");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("navigate");
+    }
+
+    @Override
+    public Options manage() {
+        checkAlive();
+        return (Options) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Options.class},
+                (proxy, method, args) -> {
+                    if ("deleteAllCookies".equals(method.getName())) {
+                        cookieClears++;
+                        cookies.clear();
+                        return null;
+                    }
+                    if ("addCookie".equals(method.getName())) {
+                        cookies.add((Cookie) args[0]);
+                        return null;
+                    }
+                    if ("getCookies".equals(method.getName())) {
+                        return new HashSet<>(cookies);
+                    }
+                    if ("timeouts".equals(method.getName())) {
+                        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Timeouts.class},
+                                (timeouts, m, a) -> {
+                                    if ("implicitlyWait".equals(m.getName())) {
+                                        implicitWait = (Duration) a[0];
+                                    }
+                                    if ("getImplicitWaitTimeout".equals(m.getName())) {
+                                        return implicitWait;
+                                    }
+                                    return m.getReturnType() == Duration.class ? Duration.ZERO : timeouts;
+                                });
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        checkAlive();
+        executedScripts.add(script);
+        lastScriptArguments = args;
+        return scriptHandler.apply(script);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return executeScript(script, args);
+    }
+}
@@ -0,0 +1,153 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridSchedulerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static Map<String, Duration> history(Object... testAndMillis) {
+        Map<String, Duration> history = new HashMap<>();
+        for (int i = 0; i < testAndMillis.length; i += 2) {
+            history.put((String) testAndMillis[i], Duration.ofMillis((Integer) testAndMillis[i + 1]));
+        }
+        return history;
+    }
+
+    private static GridScheduler scheduler(Map<String, Duration> history, GridScheduler.Node... nodes) {
+        return new GridScheduler(Arrays.asList(nodes), history, Duration.ofSeconds(10), 2, 2.0);
+    }
+
+    @Test
+    void plansLongestTestsFirstOnTheLeastLoadedNode() {
+        GridScheduler grid = scheduler(history("a", 70, "b", 50, "c", 40, "d", 30, "e", 20),
+                new GridScheduler.Node("http://node1:4444", 1), new GridScheduler.Node("http://node2:4444", 1));
+
+        Map<String, String> plan = grid.plan(Arrays.asList("e", "d", "c", "b", "a"));
+
+        // a->1 (70), b->2 (50), c->2 (90), d->1 (100), e->2 (110)
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), new ArrayList<>(plan.keySet()));
+        assertEquals("http://node1:4444", plan.get("a"));
+        assertEquals("http://node2:4444", plan.get("b"));
+        assertEquals("http://node2:4444", plan.get("c"));
+        assertEquals("http://node1:4444", plan.get("d"));
+        assertEquals("http://node2:4444", plan.get("e"));
+    }
+
+    @Test
+    void neverRunsMoreThanANodesSlots() throws Exception {
+        GridScheduler.Node node = new GridScheduler.Node("http://node1:4444", 2);
+        GridScheduler grid = scheduler(new HashMap<>(), node);
+        List<String> tests = Arrays.asList("t1", "t2", "t3", "t4", "t5", "t6");
+        grid.plan(tests);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        ExecutorService workers = Executors.newFixedThreadPool(6);
+        List<Future<?>> futures = new ArrayList<>();
+        for (String test : tests) {
+            futures.add(workers.submit(() -> {
+                GridScheduler.Lease lease = grid.acquire(test, TIMEOUT);
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                grid.complete(lease, false);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        workers.shutdown();
+
+        assertEquals(2, maxRunning.get());
+        assertEquals(6, node.getCompleted());
+    }
+
+    @Test
+    void failingNodeIsDrainedAndItsTestsMove() {
+        GridScheduler.Node bad = new GridScheduler.Node("http://bad:4444", 1);
+        GridScheduler.Node good = new GridScheduler.Node("http://good:4444", 1);
+        GridScheduler grid = scheduler(history("a", 100, "b", 90, "c", 10), bad, good);
+        grid.plan(Arrays.asList("a", "b", "c"));
+
+        GridScheduler.Lease first = grid.acquire("a", TIMEOUT);
+        assertSame(bad, first.getNode());
+        grid.complete(first, true);
+        GridScheduler.Lease retry = grid.acquire("a", TIMEOUT);
+        assertSame(bad, retry.getNode());
+        grid.complete(retry, true);
+
+        assertFalse(bad.isHealthy());
+        for (String test : Arrays.asList("a", "b", "c")) {
+            GridScheduler.Lease lease = grid.acquire(test, TIMEOUT);
+            assertSame(good, lease.getNode());
+            grid.complete(lease, false);
+        }
+        assertTrue(grid.getMoved() > 0);
+    }
+
+    @Test
+    void slowNodeLosesItsQueuedWork() throws Exception {
+        GridScheduler.Node slow = new GridScheduler.Node("http://slow:4444", 1);
+        GridScheduler.Node fast = new GridScheduler.Node("http://fast:4444", 1);
+        GridScheduler grid = scheduler(history("t1", 10, "t2", 10, "t3", 10, "t4", 10, "t5", 5, "t6", 5), slow, fast);
+        Map<String, String> plan = grid.plan(Arrays.asList("t1", "t2", "t3", "t4", "t5", "t6"));
+        List<String> onSlow = new ArrayList<>();
+        List<String> onFast = new ArrayList<>();
+        plan.forEach((test, url) -> (url.equals(slow.getUrl()) ? onSlow : onFast).add(test));
+
+        // Each node completes two tests; the slow node takes 20x its estimate
+        for (int i = 0; i < 2; i++) {
+            GridScheduler.Lease a = grid.acquire(onSlow.get(i), TIMEOUT);
+            GridScheduler.Lease b = grid.acquire(onFast.get(i), TIMEOUT);
+            assertSame(slow, a.getNode());
+            grid.complete(b, false);
+            Thread.sleep(200);
+            grid.complete(a, false);
+        }
+
+        assertTrue(slow.isSlow());
+        assertSame(fast, grid.acquire(onSlow.get(2), TIMEOUT).getNode());
+    }
+
+    @Test
+    void drainingEveryNodeFailsFast() {
+        GridScheduler.Node only = new GridScheduler.Node("http://node1:4444", 1);
+        GridScheduler grid = new GridScheduler(Arrays.asList(only), new HashMap<>(), Duration.ofSeconds(1), 1, 2.0);
+        grid.plan(Arrays.asList("a"));
+
+        grid.complete(grid.acquire("a", TIMEOUT), true);
+
+        assertThrows(IllegalStateException.class, () -> grid.acquire("a", TIMEOUT));
+    }
+
+    @Test
+    void nodeSpecsParseAndObservedDurationsAreKept() {
+        GridScheduler.Node node = GridScheduler.Node.parse("http://node1:4444/wd/hub|3", 2);
+        assertEquals("http://node1:4444/wd/hub", node.getUrl());
+        assertEquals(3, node.getSlots());
+        assertEquals(2, GridScheduler.Node.parse("http://node2:4444", 2).getSlots());
+
+        GridScheduler grid = scheduler(history("old", 1234), node);
+        grid.plan(Arrays.asList("old", "new"));
+        grid.complete(grid.acquire("new", TIMEOUT), false);
+
+        assertEquals(Collections.singleton("new"), grid.getObservedDurations().keySet());
+    }
+}
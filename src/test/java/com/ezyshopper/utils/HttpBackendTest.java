@@ -0,0 +1,96 @@
+package com.ezyshopper.utils;
+
+import com.ezyshopper.pages.CartPage;
+import com.ezyshopper.pages.LoginPage;
+import com.ezyshopper.pages.SignUpPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpBackendTest {
+
+    private StubBackend stub;
+    private HttpBackend backend;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = new StubBackend();
+        stub.addUser("shopper@example.com", "Secret1!");
+        backend = new HttpBackend(stub.getUrl());
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void loginWithWrongPasswordShowsTheBackendError() {
+        LoginPage login = new LoginPage(backend);
+
+        login.login("shopper@example.com", "wrong");
+
+        assertTrue(login.isErrorMessageDisplayed());
+        assertTrue(login.isLoginPageLoaded(), "still on the login form");
+        assertEquals(1, stub.getRequestCount("/api/auth/login"));
+        assertTrue(backend.getCookies().isEmpty());
+    }
+
+    @Test
+    void validLoginStartsASessionAndLeavesTheForm() {
+        LoginPage login = new LoginPage(backend);
+
+        login.login("shopper@example.com", "Secret1!");
+
+        assertFalse(login.isErrorMessageDisplayed());
+        assertFalse(login.isLoginPageLoaded());
+        assertEquals(2, backend.getCookies().size());
+    }
+
+    @Test
+    void signUpChecksMatchingPasswordsBeforeCallingTheBackend() {
+        SignUpPage signUp = new SignUpPage(backend);
+
+        signUp.signUp("New Shopper", "new@example.com", "Secret1!", "Secret2!");
+        assertTrue(signUp.isErrorMessageDisplayed());
+        assertEquals(0, stub.getRequestCount("/api/auth/signup"));
+
+        signUp.signUp("New Shopper", "new@example.com", "Secret1!", "Secret1!");
+        assertFalse(signUp.isErrorMessageDisplayed());
+        assertEquals("Secret1!", stub.getUsers().get("new@example.com"));
+    }
+
+    @Test
+    void cartRedirectsWithoutASessionAndChecksOutWithOne() {
+        CartPage cart = new CartPage(backend);
+        assertFalse(cart.isCartPageLoaded(), "cart sends anonymous users to login");
+
+        AtomicReference<String> order = new AtomicReference<>();
+        stub.route(HttpBackend.CHECKOUT_PATH, exchange -> {
+            order.set(new String(exchange.getRequestBody().readAllBytes()));
+            StubBackend.respond(exchange, 200, "{\"id\":\"session-1\"}");
+        });
+        stub.addToCart("shopper@example.com", 2);
+        new LoginPage(backend).login("shopper@example.com", "Secret1!");
+
+        assertTrue(cart.isCartPageLoaded());
+        assertFalse(cart.isCartEmpty());
+        assertEquals(2, cart.getCartItemCount());
+        cart.clickCheckout();
+        assertTrue(order.get().contains("product-1"));
+    }
+
+    @Test
+    void browserOnlyActionsAreRejected() {
+        CartPage cart = new CartPage(backend);
+
+        assertThrows(UnsupportedOperationException.class, cart::getSubtotal);
+        assertThrows(UnsupportedOperationException.class, cart::snapshot);
+        assertThrows(UnsupportedOperationException.class, cart::clickRemoveFirstItem);
+    }
+}
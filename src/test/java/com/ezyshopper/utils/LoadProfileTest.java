@@ -0,0 +1,31 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadProfileTest {
+
+    @Test
+    void rampsLinearlyBetweenStages() {
+        LoadProfile profile = LoadProfile.parse("10s:10, 1m:10, 500ms:0");
+
+        assertEquals(0, profile.usersAt(Duration.ZERO));
+        assertEquals(5, profile.usersAt(Duration.ofSeconds(5)));
+        assertEquals(10, profile.usersAt(Duration.ofSeconds(10)));
+        assertEquals(10, profile.usersAt(Duration.ofSeconds(69)));
+        assertEquals(5, profile.usersAt(Duration.ofMillis(70_250)));
+        assertEquals(0, profile.usersAt(Duration.ofSeconds(71)));
+        assertEquals(Duration.ofMillis(70_500), profile.getDuration());
+        assertEquals(10, profile.getPeakUsers());
+    }
+
+    @Test
+    void rejectsMalformedStages() {
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("10:5"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("0s:5"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse(""));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadRunnerTest {
+
+    private final List<FakeWebDriver> launched = new CopyOnWriteArrayList<>();
+
+    private WebDriver launch() {
+        FakeWebDriver driver = new FakeWebDriver();
+        launched.add(driver);
+        return driver;
+    }
+
+    @Test
+    void followsTheRampAndAggregatesStepsPerJourney() throws InterruptedException {
+        LoadRunner runner = new LoadRunner(this::launch, user -> {
+            user.step("browse", () -> user.getDriver().get("http://localhost/category/jeans"));
+            user.step("checkout", () -> {
+                if (user.getIteration() % 2 == 0) {
+                    throw new IllegalStateException("checkout button missing");
+                }
+            });
+        }, LoadProfile.parse("100ms:3,400ms:3"), Duration.ofMillis(10), Duration.ofSeconds(10));
+
+        LoadStats stats = runner.run();
+
+        assertEquals(3, stats.getPeakUsers());
+        assertEquals(0, stats.getActiveUsers());
+        assertEquals(3, launched.size());
+        assertTrue(launched.stream().allMatch(FakeWebDriver::isQuit), "every browser is quit");
+        assertEquals(3, stats.getStep(LoadRunner.SESSION_STEP).getCount());
+
+        LoadStats.Step browse = stats.getStep("browse");
+        LoadStats.Step checkout = stats.getStep("checkout");
+        assertEquals(stats.getIterations(), browse.getCount());
+        assertEquals(0, browse.getErrors());
+        assertEquals(stats.getFailedIterations(), checkout.getErrors());
+        assertTrue(checkout.getErrors() > 0);
+        assertEquals("IllegalStateException: checkout button missing", checkout.getLastError());
+        assertTrue(stats.getErrorRate() > 0 && stats.getErrorRate() < 1);
+        assertTrue(stats.report().contains("checkout"));
+    }
+
+    @Test
+    void usersThatCannotStartABrowserAreCountedAsSessionErrors() throws InterruptedException {
+        LoadRunner runner = new LoadRunner(() -> {
+            throw new IllegalStateException("no chromedriver");
+        }, user -> fail("journey must not run without a browser"), LoadProfile.parse("50ms:2,100ms:2"),
+                Duration.ofMillis(10), Duration.ofSeconds(10));
+
+        LoadStats stats = runner.run();
+
+        assertEquals(0, stats.getIterations());
+        assertTrue(stats.getStep(LoadRunner.SESSION_STEP).getErrors() >= 2);
+    }
+
+    @Test
+    void backsOffReplacingUsersAndAbortsAfterTooManyStartFailures() {
+        AtomicInteger starts = new AtomicInteger();
+        LoadRunner runner = new LoadRunner(() -> {
+            starts.incrementAndGet();
+            throw new IllegalStateException("grid unreachable");
+        }, user -> fail("journey must not run without a browser"), LoadProfile.parse("1ms:1,10s:1"),
+                Duration.ofMillis(10), Duration.ofSeconds(10), 4);
+
+        long begin = System.nanoTime();
+        IllegalStateException aborted = assertThrows(IllegalStateException.class, runner::run);
+        long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+
+        assertTrue(aborted.getMessage().contains("grid unreachable"), aborted.getMessage());
+        assertEquals(4, starts.get());
+        // One tick, then 200 and 400 ms of backoff between the four attempts, instead of one attempt per tick
+        assertTrue(elapsedMillis >= 700 && elapsedMillis < 5_000, "aborted after " + elapsedMillis + " ms");
+        assertEquals(0, runner.getStats().getActiveUsers());
+    }
+}
@@ -0,0 +1,61 @@
+package com.ezyshopper.utils;
+
+import com.ezyshopper.pages.AdminPage;
+import com.ezyshopper.pages.CartPage;
+import com.ezyshopper.pages.CategoryPage;
+import com.ezyshopper.pages.HomePage;
+import com.ezyshopper.pages.LoginPage;
+import com.ezyshopper.pages.NavigationBar;
+import com.ezyshopper.pages.SignUpPage;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocatorsTest {
+
+    static class BrokenPage {
+        private static final By ok = Locators.xpath("//a[@href='/cart']");
+        private static final By broken = Locators.xpath("//div[contains(@class, 'broken']");
+    }
+
+    @Test
+    void simpleXPathsBecomeCssSelectors() {
+        assertEquals("button[type='submit']", Locators.toCss("//button[@type='submit']"));
+        assertEquals("div[class*='space-y-6'] > div", Locators.toCss("//div[contains(@class, 'space-y-6')]/div"));
+        assertEquals("a[href^='/category/']", Locators.toCss("//a[starts-with(@href, '/category/')]"));
+        assertEquals("a[href='/cart'] span[class*='bg-emerald-500']",
+                Locators.toCss("//a[@href='/cart']//span[contains(@class, 'bg-emerald-500')]"));
+        assertEquals(By.cssSelector("input[type='number']"), Locators.xpath("//input[@type='number']"));
+    }
+
+    @Test
+    void textMatchingStaysXPath() {
+        assertNull(Locators.toCss("//h1[contains(text(), 'Admin Dashboard')]"));
+        assertNull(Locators.toCss("//button[contains(., 'Create Product')][@type='submit']"));
+        assertEquals(By.xpath("//button[contains(., 'Remove')]"), Locators.xpath("//button[contains(., 'Remove')]"));
+    }
+
+    @Test
+    void templatesEscapeArgumentsAndReuseLocators() {
+        Locators.Template option = Locators.cssTemplate("option[value='%s']");
+
+        assertEquals(By.cssSelector("option[value='men\\'s']"), option.with("men's"));
+        assertSame(option.with("jeans"), option.with("jeans"));
+    }
+
+    @Test
+    void pageObjectLocatorsAreValid() {
+        assertDoesNotThrow(() -> Locators.validate(HomePage.class, LoginPage.class, SignUpPage.class,
+                CartPage.class, CategoryPage.class, AdminPage.class, NavigationBar.class));
+    }
+
+    @Test
+    void validationRejectsMalformedLocators() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> Locators.validate(BrokenPage.class));
+
+        assertTrue(e.getMessage().contains("BrokenPage.broken //div[contains(@class, 'broken']"));
+        assertFalse(e.getMessage().contains("BrokenPage.ok"));
+    }
+}
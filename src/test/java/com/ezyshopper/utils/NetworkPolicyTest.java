@@ -0,0 +1,90 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkPolicyTest {
+
+    @TempDir
+    Path dir;
+
+    private static Map<String, Object> requestWillBeSent(String id, String url, String type) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("requestId", id);
+        event.put("type", type);
+        event.put("request", Collections.singletonMap("url", url));
+        return event;
+    }
+
+    private static Map<String, Object> event(String id, String key, Object value) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("requestId", id);
+        event.put(key, value);
+        return event;
+    }
+
+    @Test
+    void wildcardPatternsMatchLikeCdp() {
+        NetworkPolicy policy = new NetworkPolicy(TestConfig.BLOCKED_URL_PATTERNS, 200 * 1024, null);
+
+        assertTrue(policy.matches("https://www.google-analytics.com/analytics.js"));
+        assertTrue(policy.matches("https://fonts.gstatic.com/s/inter/v12/font.woff2"));
+        assertTrue(policy.matches("http://localhost:5173/assets/icons.ttf"));
+        assertFalse(policy.matches("http://localhost:3001/api/products/category/jeans"));
+        assertFalse(policy.matches("http://localhost:5173/assets/index.js"));
+    }
+
+    @Test
+    void countsBlockedAndLoadedRequestsAndLearnsLargeImages() throws Exception {
+        Path catalog = dir.resolve("network-sizes.json");
+        NetworkPolicy first = new NetworkPolicy(Arrays.asList("*.woff2"), 100_000, catalog);
+        FakeWebDriver driver = new FakeWebDriver();
+        NetworkPolicy.Session session = first.new Session();
+
+        session.onRequestWillBeSent(requestWillBeSent("1", "http://cdn/hero.jpg", "Image"));
+        session.onLoadingFinished(event("1", "encodedDataLength", 350_000));
+        session.onRequestWillBeSent(requestWillBeSent("2", "http://cdn/logo.png", "Image"));
+        session.onLoadingFinished(event("2", "encodedDataLength", 4_000));
+        session.onRequestWillBeSent(requestWillBeSent("3", "http://cdn/inter.woff2", "Font"));
+        session.onLoadingFailed(event("3", "blockedReason", "inspector"));
+
+        assertEquals(2, session.stats.getLoadedRequests());
+        assertEquals(354_000, session.stats.getLoadedBytes());
+        assertEquals(1, session.stats.getBlockedRequests());
+        assertEquals(1, session.stats.getUnknownSizeBlocked());
+        first.exportReport(dir.resolve("network-policy.json"));
+        assertTrue(Files.exists(catalog));
+
+        // A later run blocks the large image by exact URL and knows what that saved
+        NetworkPolicy second = new NetworkPolicy(Arrays.asList("*.woff2"), 100_000, catalog);
+        List<String> blocked = second.getBlockedUrls();
+        assertEquals(Arrays.asList("*.woff2", "http://cdn/hero.jpg"), blocked);
+
+        NetworkPolicy.Session next = second.new Session();
+        next.onRequestWillBeSent(requestWillBeSent("9", "http://cdn/hero.jpg", "Image"));
+        next.onLoadingFailed(event("9", "blockedReason", "inspector"));
+        assertEquals(350_000, next.stats.getBytesSaved());
+        assertNull(second.endTest(driver, "not applied"));
+    }
+
+    @Test
+    void driversWithoutDevToolsAreLeftAlone() {
+        NetworkPolicy policy = new NetworkPolicy(TestConfig.BLOCKED_URL_PATTERNS, 200 * 1024, null);
+        FakeWebDriver driver = new FakeWebDriver();
+
+        policy.apply(driver);
+
+        assertNull(policy.sessionFor(driver));
+        assertTrue(driver.getExecutedScripts().isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Samples and budgets are global, so these tests must not interleave
+@Execution(ExecutionMode.SAME_THREAD)
+class PageMetricsTest {
+
+    private static FakeWebDriver driverReporting(double lcp) {
+        FakeWebDriver driver = new FakeWebDriver();
+        driver.setScriptHandler(script -> {
+            if (!script.equals(PageMetrics.COLLECT_SCRIPT)) {
+                return null;
+            }
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("url", "http://localhost:5173/category/jeans");
+            metrics.put("ttfb", 12.5);
+            metrics.put("fcp", 180L);
+            metrics.put("lcp", lcp);
+            metrics.put("cls", 0.01);
+            return metrics;
+        });
+        return driver;
+    }
+
+    @AfterEach
+    void clearBudgets() {
+        PageMetrics.setBudgets(Collections.emptyMap());
+        PageMetrics.reset();
+    }
+
+    @Test
+    void loadCheckCapturesSampleOnlyWhenLoaded() {
+        FakeWebDriver driver = driverReporting(900);
+
+        assertFalse(PageMetrics.recordLoad(driver, "CategoryPage", false));
+        assertTrue(PageMetrics.recordLoad(driver, "CategoryPage", true));
+
+        assertEquals(1, PageMetrics.getSamples().stream().filter(s -> s.getPage().equals("CategoryPage")).count());
+        PageMetrics.Sample sample = PageMetrics.getSamples().get(0);
+        assertEquals(900.0, sample.get("lcp"));
+        assertEquals(180.0, sample.get("fcp"));
+        assertNull(sample.get("load"));
+    }
+
+    @Test
+    void exceededBudgetFailsOnAssert() {
+        PageMetrics.setBudgets(Collections.singletonMap("default.lcp", 2500.0));
+        FakeWebDriver driver = driverReporting(3100);
+
+        PageMetrics.capture(driver, "HomePage");
+
+        AssertionError error = assertThrows(AssertionError.class, PageMetrics::assertWithinBudgets);
+        assertTrue(error.getMessage().contains("HomePage lcp=3100.0 > 2500.0"), error.getMessage());
+        assertDoesNotThrow(PageMetrics::assertWithinBudgets);
+    }
+
+    @Test
+    void pageBudgetOverridesDefault() {
+        Map<String, Double> budgets = new HashMap<>();
+        budgets.put("default.lcp", 2500.0);
+        budgets.put("AdminPage.lcp", 4000.0);
+        PageMetrics.setBudgets(budgets);
+
+        PageMetrics.capture(driverReporting(3100), "AdminPage");
+
+        assertDoesNotThrow(PageMetrics::assertWithinBudgets);
+    }
+
+    @Test
+    void listenerCapturesAfterGetKeyedByPath() {
+        FakeWebDriver fake = driverReporting(500);
+        WebDriver driver = new EventFiringDecorator<>(PageMetrics.listener()).decorate(fake);
+
+        driver.get("http://localhost:5173/category/jeans");
+        driver.get("about:blank");
+
+        assertEquals(1, PageMetrics.getSamples().size());
+        assertEquals("GET /category/jeans", PageMetrics.getSamples().get(0).getPage());
+    }
+
+    @Test
+    void routeChangeSampleIsSoftAndCarriesOnlyRouteTime() {
+        FakeWebDriver driver = new FakeWebDriver();
+        driver.setScriptHandler(script -> {
+            if (!script.equals(PageMetrics.COLLECT_SCRIPT)) {
+                return null;
+            }
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("url", "http://localhost:5173/cart");
+            metrics.put("vitals", true);
+            metrics.put("soft", true);
+            metrics.put("route", 240.0);
+            return metrics;
+        });
+
+        PageMetrics.Sample sample = PageMetrics.capture(driver, "CartPage");
+
+        assertTrue(sample.isSoft());
+        assertEquals(240.0, sample.get("route"));
+        assertNull(sample.get("ttfb"));
+        assertFalse(driver.getExecutedScripts().contains(PageMetrics.VITALS_SCRIPT), "observers already installed");
+    }
+}
@@ -0,0 +1,32 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageReadinessTest {
+
+    @Test
+    void eachPollIsOneStatusScriptCall() {
+        FakeWebDriver driver = new FakeWebDriver();
+        AtomicInteger polls = new AtomicInteger();
+        driver.setScriptHandler(script -> {
+            if (!script.equals(PageReadiness.STATUS_SCRIPT)) {
+                return null;
+            }
+            // Still loading for two polls, then idle and settled
+            return polls.incrementAndGet() < 3
+                    ? Arrays.asList(1L, 0L, 0L, "loading")
+                    : Arrays.asList(0L, 1000L, 1000L, "complete");
+        });
+
+        PageReadiness.waitForNetworkIdle(driver, Duration.ofMillis(500), Duration.ofSeconds(5));
+
+        assertEquals(3, polls.get());
+        assertEquals(3, driver.getExecutedScripts().size(), "no separate install or status calls");
+    }
+}
@@ -0,0 +1,67 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileDirPoolTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void profilesAreWarmLeasedOnceAndWipedOnRelease() throws Exception {
+        ProfileDirPool pool = new ProfileDirPool(root, 2);
+        assertEquals(2, pool.getMetrics().getIdle());
+
+        ProfileDirPool.Lease first = pool.lease();
+        ProfileDirPool.Lease second = pool.lease();
+        assertNotEquals(first.getPath(), second.getPath());
+        assertTrue(Files.exists(first.getPath().resolve("First Run")));
+
+        Files.write(first.getPath().resolve("Cookies"), new byte[4096]);
+        first.release();
+        first.release();
+
+        assertFalse(Files.exists(first.getPath().resolve("Cookies")));
+        assertTrue(Files.exists(first.getPath().resolve("Default").resolve("Preferences")));
+        assertEquals(1, pool.getMetrics().getWipes());
+        assertEquals(1, pool.getMetrics().getLeased());
+        assertSame(first.getPath(), pool.lease().getPath());
+        assertEquals(2, pool.getMetrics().getCreated());
+    }
+
+    @Test
+    void quittingTheDriverReturnsItsProfile() {
+        ProfileDirPool pool = new ProfileDirPool(root, 1);
+        ProfileDirPool.Lease lease = pool.lease();
+        WebDriver driver = ProfileDirPool.releaseOnQuit(new FakeWebDriver(), lease);
+
+        driver.quit();
+
+        assertEquals(0, pool.getMetrics().getLeased());
+        assertEquals(1, pool.getMetrics().getIdle());
+    }
+
+    @Test
+    void directoriesOfDeadJvmsAreRemovedAtStartup() throws Exception {
+        Path orphan = Files.createDirectories(root.resolve("profile-999999999-1"));
+        Files.write(orphan.resolve(".owner"), "999999999".getBytes(StandardCharsets.UTF_8));
+        Path unowned = Files.createDirectories(root.resolve("profile-unknown"));
+
+        ProfileDirPool pool = new ProfileDirPool(root, 0);
+
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(unowned));
+        assertTrue(pool.getMetrics().getStaleRemoved() >= 2);
+        assertTrue(pool.getMetrics().getDiskUsageBytes() > 0);
+        pool.shutdown();
+        assertEquals(0, ProfileDirPool.diskUsage(root));
+    }
+}
@@ -0,0 +1,75 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultStreamTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<Map<String, Object>> read(Path file) throws Exception {
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            events.add(new Json().toType(line, Json.MAP_TYPE));
+        }
+        return events;
+    }
+
+    @Test
+    void buffersLinesUntilFlush() throws Exception {
+        Path file = dir.resolve("results.jsonl");
+        ResultStream stream = new ResultStream(file, 64 * 1024, 60_000);
+
+        stream.write("testStart", "A#one", Collections.singletonMap("displayName", "one\nwith newline"));
+        stream.write("step", "A#one", Collections.singletonMap("action", "click"));
+        assertEquals(0, Files.size(file));
+
+        stream.flush();
+        List<Map<String, Object>> events = read(file);
+        assertEquals(2, events.size());
+        assertEquals("testStart", events.get(0).get("event"));
+        assertEquals("one\nwith newline", events.get(0).get("displayName"));
+        assertEquals("A#one", events.get(1).get("test"));
+        assertEquals(1, stream.getWrites());
+        stream.close();
+    }
+
+    @Test
+    void writesWhenBufferFillsAndKeepsLinesWholeAcrossThreads() throws Exception {
+        Path file = dir.resolve("parallel.jsonl");
+        ResultStream stream = new ResultStream(file, 512, 60_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            String test = "T#" + t;
+            executor.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    stream.write("step", test, Collections.singletonMap("index", i));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(stream.getWrites() > 1, "a full buffer should be written before the stream is flushed");
+        stream.close();
+
+        List<Map<String, Object>> events = read(file);
+        assertEquals(200, events.size());
+        assertEquals(200, stream.getEvents());
+        assertTrue(stream.getWrites() < 200);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Cookie;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionBootstrapperTest {
+
+    private StubBackend backend;
+
+    @BeforeEach
+    void startStubBackend() throws IOException {
+        backend = new StubBackend();
+    }
+
+    @AfterEach
+    void stopStubBackend() {
+        backend.close();
+    }
+
+    @Test
+    void registersUserWhenLoginIsRejected() {
+        SessionBootstrapper bootstrapper = new SessionBootstrapper(backend.getUrl());
+
+        List<HttpCookie> cookies = bootstrapper.loginOrSignUp("Test User", "new@test.com", "Test@123456");
+
+        assertTrue(backend.getUsers().containsKey("new@test.com"));
+        assertEquals("token-new@test.com", cookies.stream()
+                .filter(c -> c.getName().equals("accessToken")).findFirst().orElseThrow().getValue());
+    }
+
+    @Test
+    void logsInExistingUser() {
+        backend.addUser("existing@test.com", "Test@123456");
+        SessionBootstrapper bootstrapper = new SessionBootstrapper(backend.getUrl());
+
+        List<HttpCookie> cookies = bootstrapper.loginOrSignUp("Test User", "existing@test.com", "Test@123456");
+
+        assertEquals(2, cookies.size());
+        assertEquals(0, backend.getRequestCount(SessionBootstrapper.SIGNUP_PATH));
+    }
+
+    @Test
+    void injectsCookiesForBackendHost() {
+        FakeWebDriver driver = new FakeWebDriver();
+        SessionBootstrapper bootstrapper = new SessionBootstrapper(backend.getUrl());
+
+        bootstrapper.bootstrap(driver, "Test User", "cookie@test.com", "Test@123456");
+
+        assertEquals(backend.getUrl(), driver.getVisitedUrls().get(0));
+        assertEquals(2, driver.getCookies().size());
+        Cookie accessToken = driver.getCookies().get(0);
+        assertEquals("accessToken", accessToken.getName());
+        assertEquals("127.0.0.1", accessToken.getDomain());
+        assertTrue(accessToken.isHttpOnly());
+    }
+
+    @Test
+    void failsWhenBackendRejectsSignUp() {
+        backend.addUser("dup@test.com", "Test@123456");
+        SessionBootstrapper bootstrapper = new SessionBootstrapper(backend.getUrl());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> bootstrapper.signUp("Test User", "dup@test.com", "Test@123456"));
+        assertTrue(e.getMessage().contains("400"));
+    }
+}
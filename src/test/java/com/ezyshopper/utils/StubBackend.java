@@ -0,0 +1,155 @@
+package com.ezyshopper.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the EzyShopper backend auth and cart API
+ */
+public class StubBackend implements AutoCloseable {
+
+    private static final Pattern EMAIL = Pattern.compile("\"email\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern PASSWORD = Pattern.compile("\"password\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("accessToken=token-([^;\\s]+)");
+
+    private final HttpServer server;
+    private final Map<String, String> users = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> carts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+    public StubBackend() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        route("/api/auth/signup", this::signUp);
+        route("/api/auth/login", this::login);
+        route("/api/cart", this::cart);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void addUser(String email, String password) {
+        users.put(email, password);
+    }
+
+    public Map<String, String> getUsers() {
+        return users;
+    }
+
+    public int getCartSize(String email) {
+        AtomicInteger cart = carts.get(email);
+        return cart == null ? 0 : cart.get();
+    }
+
+    public void addToCart(String email, int items) {
+        carts.computeIfAbsent(email, k -> new AtomicInteger()).addAndGet(items);
+    }
+
+    public int getRequestCount(String path) {
+        AtomicInteger count = requestCounts.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Replace the handler for a path, e.g. to simulate backend errors
+     */
+    public void route(String path, HttpHandler handler) {
+        try {
+            server.removeContext(path);
+        } catch (IllegalArgumentException e) {
+            // No handler registered yet
+        }
+        server.createContext(path, exchange -> {
+            requestCounts.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+            handler.handle(exchange);
+        });
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    public static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+        exchange.close();
+    }
+
+    private void signUp(HttpExchange exchange) throws IOException {
+        String body = body(exchange);
+        String email = group(EMAIL, body);
+        if (users.putIfAbsent(email, group(PASSWORD, body)) != null) {
+            respond(exchange, 400, "{\"message\":\"User already exists\"}");
+            return;
+        }
+        setAuthCookies(exchange, email);
+        respond(exchange, 201, "{\"email\":\"" + email + "\"}");
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        String body = body(exchange);
+        String email = group(EMAIL, body);
+        String password = users.get(email);
+        if (password == null || !password.equals(group(PASSWORD, body))) {
+            respond(exchange, 400, "{\"message\":\"Invalid email or password\"}");
+            return;
+        }
+        setAuthCookies(exchange, email);
+        respond(exchange, 200, "{\"email\":\"" + email + "\"}");
+    }
+
+    private void cart(HttpExchange exchange) throws IOException {
+        String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+        Matcher token = ACCESS_TOKEN.matcher(cookie == null ? "" : cookie);
+        if (!token.find()) {
+            respond(exchange, 401, "{\"message\":\"Unauthorized\"}");
+            return;
+        }
+        String email = token.group(1);
+        if ("DELETE".equals(exchange.getRequestMethod())) {
+            carts.remove(email);
+            respond(exchange, 200, "[]");
+        } else {
+            StringBuilder items = new StringBuilder("[");
+            for (int i = 0; i < getCartSize(email); i++) {
+                items.append(i == 0 ? "" : ",").append("{\"_id\":\"product-").append(i).append("\",\"quantity\":1}");
+            }
+            respond(exchange, 200, items.append(']').toString());
+        }
+    }
+
+    private static void setAuthCookies(HttpExchange exchange, String email) {
+        exchange.getResponseHeaders().add("Set-Cookie", "accessToken=token-" + email + "; Path=/; HttpOnly");
+        exchange.getResponseHeaders().add("Set-Cookie", "refreshToken=refresh-" + email + "; Path=/; HttpOnly");
+    }
+
+    private static String body(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static String group(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        return matcher.find() ? matcher.group(1) : "";
+    }
+}
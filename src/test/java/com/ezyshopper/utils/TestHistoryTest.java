@@ -0,0 +1,59 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestHistoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void outcomesAndDurationsSurviveAcrossRuns() throws Exception {
+        Path file = dir.resolve("test-history.jsonl");
+        TestHistory first = new TestHistory(file, 10);
+        first.record("Suite#login", TestHistory.Outcome.PASSED, Duration.ofMillis(900));
+        first.record("Suite#login", TestHistory.Outcome.PASSED, Duration.ofMillis(1100));
+        first.record("Suite#login", TestHistory.Outcome.PASSED, Duration.ofMillis(1000));
+        first.record("Suite#cart", TestHistory.Outcome.FAILED, Duration.ofMillis(5000));
+        // A run killed mid-write leaves a partial line behind
+        Files.write(file, "{\"test\":\"Suite#ca".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        TestHistory next = new TestHistory(file, 10);
+
+        assertEquals(Duration.ofMillis(1000), next.getDurations().get("Suite#login"));
+        assertNull(next.getDurations().get("Suite#cart"));
+        assertEquals(1, next.getRecentFailures("Suite#cart"));
+        assertEquals(0, next.getRecentFailures("Suite#login"));
+        assertTrue(next.getLastFailure("Suite#cart") > 0);
+    }
+
+    @Test
+    void onlyTheWindowCountsAndTheFileIsCompacted() throws Exception {
+        Path file = dir.resolve("test-history.jsonl");
+        TestHistory writer = new TestHistory(file, 2);
+        writer.record("Suite#flaky", TestHistory.Outcome.FAILED, Duration.ofMillis(10));
+        for (int i = 0; i < 10; i++) {
+            writer.record("Suite#flaky", TestHistory.Outcome.PASSED, Duration.ofMillis(10));
+        }
+        assertEquals(0, writer.getRecentFailures("Suite#flaky"));
+        assertEquals(11, Files.readAllLines(file).size());
+
+        new TestHistory(file, 2).getDurations();
+
+        assertEquals(2, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void idsCombineClassAndMethod() {
+        assertEquals("com.ezyshopper.utils.TestHistoryTest#login", TestHistory.id(TestHistoryTest.class, "login"));
+    }
+}
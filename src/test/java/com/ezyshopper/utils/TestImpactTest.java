@@ -0,0 +1,97 @@
+package com.ezyshopper.utils;
+
+import com.ezyshopper.pages.CartPage;
+import com.ezyshopper.pages.HomePage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestImpactTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsPagesAndRoutesPerTestAndMergesAcrossRuns() {
+        Path file = dir.resolve("test-impact.json");
+        FakeWebDriver driver = new FakeWebDriver();
+        String test = "TestImpactTest#" + System.nanoTime();
+
+        TestImpact.begin(test);
+        new HomePage(driver);
+        new CartPage(driver);
+        TestImpact.listener(driver).afterGet(driver, "http://localhost:5173/category/jeans/?sort=price");
+        TestImpact.listener(driver).afterGet(driver, "http://localhost:5173");
+        TestImpact.end();
+        // Nothing is recorded outside a test
+        new HomePage(driver);
+        TestImpact.save(file);
+
+        TestImpact.Usage usage = TestImpact.load(file).get(test);
+        assertEquals(new TreeSet<>(Arrays.asList("CartPage", "HomePage")), usage.getPages());
+        assertEquals(new TreeSet<>(Arrays.asList("/", "/category/jeans")), usage.getRoutes());
+    }
+
+    @Test
+    void recordsRoutesReachedByClickingLinks() {
+        Path file = dir.resolve("test-impact.json");
+        FakeWebDriver driver = new FakeWebDriver();
+        WebDriver decorated = new EventFiringDecorator<>(TestImpact.listener(driver)).decorate(driver);
+        WebElement link = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                (proxy, method, args) -> {
+                    if ("click".equals(method.getName())) {
+                        driver.get("http://localhost:5173/category/shoes");
+                    }
+                    return null;
+                });
+        driver.setElementHandler(by -> Collections.singletonList(link));
+        String test = "TestImpactTest#" + System.nanoTime();
+
+        TestImpact.begin(test);
+        decorated.findElement(By.linkText("Shoes")).click();
+        TestImpact.end();
+        TestImpact.save(file);
+
+        TestImpact.Usage usage = TestImpact.load(file).get(test);
+        assertEquals(new TreeSet<>(Collections.singletonList("/category/shoes")), usage.getRoutes());
+        assertTrue(TestImpact.isAffected(usage, Collections.singletonList("/category/*"), Collections.emptyList()));
+    }
+
+    @Test
+    void testWithoutRecordedRoutesIsAlwaysAffected() {
+        TestImpact.Usage usage = new TestImpact.Usage();
+        usage.getPages().add("HomePage");
+
+        assertTrue(TestImpact.isAffected(usage, Collections.singletonList("/signup"), Collections.singletonList("Cart")));
+    }
+
+    @Test
+    void selectsTestsByChangedRouteOrComponent() {
+        Path file = dir.resolve("test-impact.json");
+        String test = "TestImpactTest#" + System.nanoTime();
+        TestImpact.begin(test);
+        TestImpact.usePage("LoginPage");
+        TestImpact.useRoute("http://localhost:5173/category/shoes");
+        TestImpact.end();
+        TestImpact.save(file);
+        Map<String, TestImpact.Usage> map = TestImpact.load(file);
+        TestImpact.Usage usage = map.get(test);
+
+        assertTrue(TestImpact.isAffected(usage, Collections.singletonList("/category/*"), Collections.emptyList()));
+        assertTrue(TestImpact.isAffected(usage, Collections.emptyList(), Collections.singletonList("login")));
+        assertFalse(TestImpact.isAffected(usage, Collections.singletonList("/cart"), Collections.singletonList("Cart")));
+        assertFalse(TestImpact.isAffected(usage, Collections.singletonList("/category"), Collections.emptyList()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.TimeoutException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestUserPoolTest {
+
+    private StubBackend backend;
+    private TestUserPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        backend = new StubBackend();
+        backend.addUser(TestConfig.ADMIN_EMAIL, TestConfig.ADMIN_PASSWORD);
+        pool = new TestUserPool(new SessionBootstrapper(backend.getUrl()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.close();
+    }
+
+    @Test
+    void seedsShoppersAndAdmin() {
+        pool.seed(3);
+
+        assertEquals(3, pool.available(TestUserPool.Role.SHOPPER));
+        assertEquals(1, pool.available(TestUserPool.Role.ADMIN));
+        assertEquals(4, backend.getUsers().size());
+    }
+
+    @Test
+    void laterRunsReuseTheSameShopperAccounts() {
+        pool.seed(3);
+        TestUserPool.TestUser leased = pool.lease(TestUserPool.Role.SHOPPER);
+        backend.addToCart(leased.getEmail(), 2);
+
+        TestUserPool nextRun = new TestUserPool(new SessionBootstrapper(backend.getUrl()));
+        nextRun.seed(3);
+
+        assertEquals(4, backend.getUsers().size());
+        assertEquals(TestUserPool.shopperEmail(1), nextRun.lease(TestUserPool.Role.SHOPPER).getEmail());
+        assertEquals(0, backend.getCartSize(leased.getEmail()));
+    }
+
+    @Test
+    void concurrentLeasesNeverShareAShopper() throws Exception {
+        pool.seed(2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<String> emails = ConcurrentHashMap.newKeySet();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            tasks.add(() -> {
+                TestUserPool.TestUser user = pool.lease(TestUserPool.Role.SHOPPER);
+                assertTrue(emails.add(user.getEmail()), "shopper leased twice: " + user);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(16, emails.size());
+    }
+
+    @Test
+    void releaseEmptiesTheCart() {
+        pool.seed(1);
+        TestUserPool.TestUser user = pool.lease(TestUserPool.Role.SHOPPER);
+        backend.addToCart(user.getEmail(), 3);
+
+        pool.release(user);
+
+        assertEquals(0, backend.getCartSize(user.getEmail()));
+        assertEquals(1, pool.available(TestUserPool.Role.SHOPPER));
+    }
+
+    @Test
+    void adminIsLeasedToOneTestAtATime() {
+        pool.seed(0);
+        TestUserPool.TestUser admin = pool.lease(TestUserPool.Role.ADMIN);
+
+        assertEquals(TestConfig.ADMIN_EMAIL, admin.getEmail());
+        assertFalse(admin.getCookies().isEmpty());
+        assertThrows(TimeoutException.class, () -> pool.lease(TestUserPool.Role.ADMIN, Duration.ofMillis(100)));
+
+        pool.release(admin);
+        assertSame(admin, pool.lease(TestUserPool.Role.ADMIN));
+    }
+}
@@ -0,0 +1,107 @@
+package com.ezyshopper.utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebDriverPoolTest {
+
+    private final List<FakeWebDriver> launched = new ArrayList<>();
+
+    private WebDriver launch() {
+        FakeWebDriver driver = new FakeWebDriver();
+        launched.add(driver);
+        return driver;
+    }
+
+    @Test
+    void reusesReleasedSessionAfterReset() {
+        WebDriverPool pool = new WebDriverPool(this::launch, 2, 10);
+
+        WebDriver first = pool.lease();
+        first.get("http://localhost/cart");
+        pool.release(first);
+        WebDriver second = pool.lease();
+
+        assertSame(first, second);
+        FakeWebDriver fake = (FakeWebDriver) second;
+        assertEquals("about:blank", fake.getCurrentUrl());
+        assertEquals(1, fake.getCookieClears());
+        assertTrue(fake.getExecutedScripts().get(0).contains("localStorage.clear()"));
+
+        WebDriverPool.Metrics metrics = pool.getMetrics();
+        assertEquals(1, metrics.getLaunchCount());
+        assertEquals(1, metrics.getReuseCount());
+        assertEquals(2, metrics.getLeaseCount());
+    }
+
+    @Test
+    void retiresSessionAfterMaxUses() {
+        WebDriverPool pool = new WebDriverPool(this::launch, 1, 2);
+
+        WebDriver driver = pool.lease();
+        pool.release(driver);
+        driver = pool.lease();
+        pool.release(driver);
+
+        assertTrue(((FakeWebDriver) driver).isQuit());
+        assertNotSame(driver, pool.lease());
+        assertEquals(2, pool.getMetrics().getLaunchCount());
+        assertEquals(1, pool.getMetrics().getRetireCount());
+    }
+
+    @Test
+    void replacesSessionThatFailsHealthCheck() {
+        WebDriverPool pool = new WebDriverPool(this::launch, 1, 10);
+
+        WebDriver driver = pool.lease();
+        pool.release(driver);
+        ((FakeWebDriver) driver).breakSession();
+
+        assertNotSame(driver, pool.lease());
+        assertEquals(1, pool.getMetrics().getHealthCheckFailures());
+    }
+
+    @Test
+    void leaseTimesOutWhenPoolIsExhausted() {
+        WebDriverPool pool = new WebDriverPool(this::launch, 1, 10);
+        pool.lease();
+
+        assertThrows(TimeoutException.class, () -> pool.lease(Duration.ofMillis(200)));
+        assertEquals(1, launched.size());
+    }
+
+    @Test
+    void shutdownQuitsIdleSessions() {
+        WebDriverPool pool = new WebDriverPool(this::launch, 2, 10);
+        WebDriver driver = pool.lease();
+        pool.release(driver);
+
+        pool.shutdown();
+
+        assertTrue(((FakeWebDriver) driver).isQuit());
+        assertThrows(IllegalStateException.class, pool::lease);
+    }
+
+    @Test
+    void poolsSharingABudgetQuitIdleSessionsOfEachOtherToStayWithinIt() {
+        WebDriverPool.Budget budget = new WebDriverPool.Budget(1);
+        WebDriverPool fast = new WebDriverPool(this::launch, budget, 10);
+        WebDriverPool full = new WebDriverPool(this::launch, budget, 10);
+
+        WebDriver fastDriver = fast.lease();
+        assertThrows(TimeoutException.class, () -> full.lease(Duration.ofMillis(200)));
+        fast.release(fastDriver);
+
+        WebDriver fullDriver = full.lease(Duration.ofMillis(200));
+        assertTrue(((FakeWebDriver) fastDriver).isQuit(), "idle session of the other pool makes room");
+        assertEquals(1, launched.stream().filter(driver -> !driver.isQuit()).count());
+        assertNotSame(fastDriver, fullDriver);
+    }
+}